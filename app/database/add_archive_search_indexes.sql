@@ -0,0 +1,22 @@
+-- Migration: Indexes for server-side archive search (OrderDAO.searchArchivedOrders)
+-- Names are matched with LIKE '%term%' and ranked with similarity(), both served by pg_trgm
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Customer and employee names both live in "User" (same expression as the order queries)
+CREATE INDEX IF NOT EXISTS "idx_user_full_name_trgm"
+ON "User" USING GIN ((LOWER("First_Name" || ' ' || COALESCE("Last_Name", ''))) gin_trgm_ops);
+
+-- Newest orders of a matched customer / employee
+CREATE INDEX IF NOT EXISTS "idx_orders_customer_id_desc" ON "Orders"("Customer_ID", "Order_ID" DESC);
+CREATE INDEX IF NOT EXISTS "idx_orders_employee_id_desc" ON "Orders"("Employee_ID", "Order_ID" DESC);
+
+-- Newest orders with a given status
+CREATE INDEX IF NOT EXISTS "idx_orders_status_id_desc" ON "Orders"("Order_Status", "Order_ID" DESC);
+
+-- Customer / Employee rows of a matched user
+CREATE INDEX IF NOT EXISTS "idx_customer_user_id" ON "Customer"("User_ID");
+CREATE INDEX IF NOT EXISTS "idx_employee_user_id" ON "Employee"("User_ID");
+
+-- Display success message
+SELECT 'Migration completed: archive search indexes created' AS status;
@@ -0,0 +1,17 @@
+-- Migration: Indexes for automatic order assignment (AutoAssignmentService)
+-- Unassigned orders are claimed oldest first with:
+--     WHERE "Employee_ID" IS NULL AND <active status> ORDER BY "Order_ID" LIMIT n FOR UPDATE SKIP LOCKED
+-- Employee loads are counted per "Employee_ID" over active orders
+
+-- Unassigned active orders (the assignment queue)
+CREATE INDEX IF NOT EXISTS "idx_orders_unassigned_id"
+ON "Orders"("Order_ID")
+WHERE "Employee_ID" IS NULL AND "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+-- Active orders per employee (open-order load)
+CREATE INDEX IF NOT EXISTS "idx_orders_active_employee"
+ON "Orders"("Employee_ID")
+WHERE "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+-- Display success message
+SELECT 'Migration completed: auto-assignment indexes created on Orders' AS status;
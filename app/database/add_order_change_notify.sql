@@ -0,0 +1,41 @@
+-- Migration: Push order changes to open order screens (LISTEN/NOTIFY)
+-- Every insert, delete, status change or reassignment of an order publishes on channel "order_changes":
+--     <operation>:<Order_ID>:<Customer_ID>:<Employee_ID or 0>:<Total_Amount>:<Order_Status>
+-- e.g. UPDATE:42:7:3:150.00:Processing
+-- Notifications are delivered when the writing transaction commits (and not at all if it rolls back).
+
+CREATE OR REPLACE FUNCTION orders_notify_change() RETURNS TRIGGER AS $$
+DECLARE
+    changed RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('order_changes',
+        TG_OP || ':' || changed."Order_ID" || ':' || changed."Customer_ID" || ':'
+              || COALESCE(changed."Employee_ID", 0) || ':' || COALESCE(changed."Total_Amount", 0) || ':'
+              || COALESCE(changed."Order_Status", ''));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "orders_notify_insert_delete" ON "Orders";
+CREATE TRIGGER "orders_notify_insert_delete"
+AFTER INSERT OR DELETE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_notify_change();
+
+-- Only changes an order screen shows (not e.g. "Payment")
+DROP TRIGGER IF EXISTS "orders_notify_update" ON "Orders";
+CREATE TRIGGER "orders_notify_update"
+AFTER UPDATE OF "Order_Status", "Employee_ID", "Total_Amount" ON "Orders"
+FOR EACH ROW
+WHEN (OLD."Order_Status" IS DISTINCT FROM NEW."Order_Status"
+      OR OLD."Employee_ID" IS DISTINCT FROM NEW."Employee_ID"
+      OR OLD."Total_Amount" IS DISTINCT FROM NEW."Total_Amount")
+EXECUTE FUNCTION orders_notify_change();
+
+-- Display success message
+SELECT 'Migration completed: order change notifications enabled' AS status;
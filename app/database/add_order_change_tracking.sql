@@ -0,0 +1,46 @@
+-- Migration: Change tracking for incremental ("changed since") order table refresh
+-- Every inserted/updated order records the ID of the transaction that wrote it, and every
+-- deleted order leaves a tombstone. Clients remember txid_snapshot_xmin() of their last read:
+-- anything committed after that read was written by a transaction with an ID >= that marker.
+
+-- Transaction that last inserted/updated the row
+ALTER TABLE "Orders"
+ADD COLUMN IF NOT EXISTS "Changed_Txid" BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS "idx_orders_changed_txid" ON "Orders"("Changed_Txid");
+
+CREATE OR REPLACE FUNCTION orders_set_changed_txid() RETURNS TRIGGER AS $$
+BEGIN
+    NEW."Changed_Txid" := txid_current();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "orders_changed_txid" ON "Orders";
+CREATE TRIGGER "orders_changed_txid"
+BEFORE INSERT OR UPDATE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_set_changed_txid();
+
+-- Tombstones of deleted orders (may be purged periodically, e.g. rows older than a day)
+CREATE TABLE IF NOT EXISTS "Orders_Deleted" (
+    "Order_ID" INTEGER NOT NULL,
+    "Deleted_Txid" BIGINT NOT NULL,
+    "Deleted_At" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS "idx_orders_deleted_txid" ON "Orders_Deleted"("Deleted_Txid");
+
+CREATE OR REPLACE FUNCTION orders_record_delete() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO "Orders_Deleted" ("Order_ID", "Deleted_Txid") VALUES (OLD."Order_ID", txid_current());
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "orders_record_delete" ON "Orders";
+CREATE TRIGGER "orders_record_delete"
+AFTER DELETE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_record_delete();
+
+-- Display success message
+SELECT 'Migration completed: change tracking added to Orders' AS status;
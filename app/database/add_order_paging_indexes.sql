@@ -0,0 +1,16 @@
+-- Migration: Indexes for keyset (seek) pagination of the order tables
+-- Pages are read with: WHERE <status filter> AND "Order_ID" < <last seen id> ORDER BY "Order_ID" DESC LIMIT n
+-- "Order_ID" DESC on all orders is already served by the primary key
+
+-- Active orders (Pending, Assigned, Processing) - Orders screen
+CREATE INDEX IF NOT EXISTS "idx_orders_active_id_desc"
+ON "Orders"("Order_ID" DESC)
+WHERE "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+-- Archived orders (Completed, Canceled) - Archive screen
+CREATE INDEX IF NOT EXISTS "idx_orders_archived_id_desc"
+ON "Orders"("Order_ID" DESC)
+WHERE "Order_Status" IN ('Completed', 'Canceled');
+
+-- Display success message
+SELECT 'Migration completed: keyset pagination indexes created on Orders' AS status;
@@ -0,0 +1,204 @@
+-- Migration: Denormalized order read model for the order list screens
+-- "Order_Summary" holds one row per order with everything a list row shows (display names
+-- and item count included), so list queries read one table instead of joining
+-- Orders -> Customer -> User -> Employee -> User. The covering indexes below let the
+-- screens' queries run as index-only scans.
+--
+-- The rows are kept current by triggers (same transaction as the write):
+-- - Orders insert/update/delete
+-- - Order_Details insert/update/delete (item count)
+-- - User name changes (display names)
+-- Requires partition_orders_by_month.sql (and the migrations it depends on).
+
+CREATE TABLE IF NOT EXISTS "Order_Summary" (
+    "Order_ID" INTEGER PRIMARY KEY,
+    "Customer_ID" INTEGER NOT NULL,
+    "Employee_ID" INTEGER,
+    "Order_Date" DATE NOT NULL,
+    "Order_Status" VARCHAR(15),
+    "Total_Amount" NUMERIC(10,2),
+    "Version" INTEGER NOT NULL DEFAULT 0,
+    "Customer_Name" TEXT NOT NULL DEFAULT '',
+    "Employee_Name" TEXT NOT NULL DEFAULT 'Unassigned',
+    "Item_Count" INTEGER NOT NULL DEFAULT 0,
+    -- Transaction that last changed the row (incremental refresh, see add_order_change_tracking.sql)
+    "Changed_Txid" BIGINT NOT NULL DEFAULT 0
+);
+
+-- Frequent small updates: keep the visibility map fresh for index-only scans
+ALTER TABLE "Order_Summary" SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
+
+-- ============================================
+-- Display names
+-- ============================================
+CREATE OR REPLACE FUNCTION order_summary_customer_name(customer_id INTEGER) RETURNS TEXT AS $$
+    SELECT u."First_Name" || ' ' || COALESCE(u."Last_Name", '')
+    FROM "Customer" c
+    JOIN "User" u ON u."User_ID" = c."User_ID"
+    WHERE c."Customer_ID" = customer_id;
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION order_summary_employee_name(employee_id INTEGER) RETURNS TEXT AS $$
+    SELECT COALESCE((SELECT u."First_Name" || ' ' || COALESCE(u."Last_Name", '')
+                     FROM "Employee" e
+                     JOIN "User" u ON u."User_ID" = e."User_ID"
+                     WHERE e."Employee_ID" = employee_id), 'Unassigned');
+$$ LANGUAGE sql STABLE;
+
+-- Total quantity of an order's lines (the date narrows the lookup to one partition)
+CREATE OR REPLACE FUNCTION order_summary_item_count(order_id INTEGER, order_date DATE) RETURNS INTEGER AS $$
+    SELECT COALESCE(SUM(d."Quantity"), 0)::INTEGER
+    FROM "Order_Details" d
+    WHERE d."Order_ID" = order_id AND d."Order_Date" = order_date;
+$$ LANGUAGE sql STABLE;
+
+-- ============================================
+-- Orders -> summary
+-- ============================================
+-- Item counts are recomputed (not incremented) by both triggers, so the result is the same
+-- whichever fires first when an order and its lines are written by one statement (checkout)
+CREATE OR REPLACE FUNCTION order_summary_sync_order() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        -- A date change moving the row to another partition is a delete plus an insert
+        IF NOT EXISTS (SELECT 1 FROM "Orders" WHERE "Order_ID" = OLD."Order_ID") THEN
+            DELETE FROM "Order_Summary" WHERE "Order_ID" = OLD."Order_ID";
+        END IF;
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO "Order_Summary"
+        ("Order_ID", "Customer_ID", "Employee_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+         "Customer_Name", "Employee_Name", "Item_Count", "Changed_Txid")
+    VALUES (NEW."Order_ID", NEW."Customer_ID", NEW."Employee_ID", NEW."Order_Date", NEW."Order_Status",
+            NEW."Total_Amount", NEW."Version",
+            COALESCE(order_summary_customer_name(NEW."Customer_ID"), ''),
+            order_summary_employee_name(NEW."Employee_ID"),
+            order_summary_item_count(NEW."Order_ID", NEW."Order_Date"), txid_current())
+    ON CONFLICT ("Order_ID") DO UPDATE
+    SET "Customer_ID" = EXCLUDED."Customer_ID",
+        "Employee_ID" = EXCLUDED."Employee_ID",
+        "Order_Date" = EXCLUDED."Order_Date",
+        "Order_Status" = EXCLUDED."Order_Status",
+        "Total_Amount" = EXCLUDED."Total_Amount",
+        "Version" = EXCLUDED."Version",
+        "Customer_Name" = EXCLUDED."Customer_Name",
+        "Employee_Name" = EXCLUDED."Employee_Name",
+        "Item_Count" = EXCLUDED."Item_Count",
+        "Changed_Txid" = EXCLUDED."Changed_Txid";
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "order_summary_sync_order" ON "Orders";
+CREATE TRIGGER "order_summary_sync_order"
+AFTER INSERT OR UPDATE OR DELETE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION order_summary_sync_order();
+
+-- ============================================
+-- Order_Details -> item count
+-- ============================================
+CREATE OR REPLACE FUNCTION order_summary_sync_items() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE "Order_Summary"
+        SET "Item_Count" = order_summary_item_count(OLD."Order_ID", OLD."Order_Date"), "Changed_Txid" = txid_current()
+        WHERE "Order_ID" = OLD."Order_ID";
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW."Order_ID" IS DISTINCT FROM OLD."Order_ID") THEN
+        UPDATE "Order_Summary"
+        SET "Item_Count" = order_summary_item_count(NEW."Order_ID", NEW."Order_Date"), "Changed_Txid" = txid_current()
+        WHERE "Order_ID" = NEW."Order_ID";
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "order_summary_sync_items" ON "Order_Details";
+CREATE TRIGGER "order_summary_sync_items"
+AFTER INSERT OR DELETE OR UPDATE OF "Order_ID", "Quantity" ON "Order_Details"
+FOR EACH ROW EXECUTE FUNCTION order_summary_sync_items();
+
+-- ============================================
+-- User names -> display names
+-- ============================================
+CREATE OR REPLACE FUNCTION order_summary_sync_names() RETURNS TRIGGER AS $$
+DECLARE
+    full_name TEXT := NEW."First_Name" || ' ' || COALESCE(NEW."Last_Name", '');
+BEGIN
+    UPDATE "Order_Summary" s
+    SET "Customer_Name" = full_name, "Changed_Txid" = txid_current()
+    FROM "Customer" c
+    WHERE c."User_ID" = NEW."User_ID" AND s."Customer_ID" = c."Customer_ID";
+
+    UPDATE "Order_Summary" s
+    SET "Employee_Name" = full_name, "Changed_Txid" = txid_current()
+    FROM "Employee" e
+    WHERE e."User_ID" = NEW."User_ID" AND s."Employee_ID" = e."Employee_ID";
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "order_summary_sync_names" ON "User";
+CREATE TRIGGER "order_summary_sync_names"
+AFTER UPDATE OF "First_Name", "Last_Name" ON "User"
+FOR EACH ROW
+WHEN (OLD."First_Name" IS DISTINCT FROM NEW."First_Name" OR OLD."Last_Name" IS DISTINCT FROM NEW."Last_Name")
+EXECUTE FUNCTION order_summary_sync_names();
+
+-- ============================================
+-- Backfill
+-- ============================================
+INSERT INTO "Order_Summary"
+    ("Order_ID", "Customer_ID", "Employee_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+     "Customer_Name", "Employee_Name", "Item_Count", "Changed_Txid")
+SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+       u."First_Name" || ' ' || COALESCE(u."Last_Name", ''),
+       COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned'),
+       COALESCE((SELECT SUM(d."Quantity") FROM "Order_Details" d WHERE d."Order_ID" = o."Order_ID"), 0),
+       o."Changed_Txid"
+FROM "Orders" o
+JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
+JOIN "User" u ON c."User_ID" = u."User_ID"
+LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
+LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+ON CONFLICT ("Order_ID") DO NOTHING;
+
+-- ============================================
+-- Covering indexes (index-only scans for each list screen)
+-- ============================================
+-- Orders screen (active orders, newest first)
+CREATE INDEX IF NOT EXISTS "idx_order_summary_active"
+ON "Order_Summary"("Order_ID" DESC)
+INCLUDE ("Customer_ID", "Employee_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+         "Customer_Name", "Employee_Name", "Item_Count")
+WHERE "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+-- Archive screen (newest first, within a date window)
+CREATE INDEX IF NOT EXISTS "idx_order_summary_archived"
+ON "Order_Summary"("Order_ID" DESC)
+INCLUDE ("Customer_ID", "Employee_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+         "Customer_Name", "Employee_Name", "Item_Count")
+WHERE "Order_Status" IN ('Completed', 'Canceled');
+
+-- Customer's and employee's order screens
+CREATE INDEX IF NOT EXISTS "idx_order_summary_customer"
+ON "Order_Summary"("Customer_ID", "Order_ID" DESC)
+INCLUDE ("Employee_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+         "Customer_Name", "Employee_Name", "Item_Count");
+
+CREATE INDEX IF NOT EXISTS "idx_order_summary_employee"
+ON "Order_Summary"("Employee_ID", "Order_ID" DESC)
+INCLUDE ("Customer_ID", "Order_Date", "Order_Status", "Total_Amount", "Version",
+         "Customer_Name", "Employee_Name", "Item_Count");
+
+-- Status filter and incremental refresh
+CREATE INDEX IF NOT EXISTS "idx_order_summary_status" ON "Order_Summary"("Order_Status", "Order_ID" DESC);
+-- Status prefix branch of the order searches (matched case-insensitively)
+CREATE INDEX IF NOT EXISTS "idx_order_summary_lower_status" ON "Order_Summary"(LOWER("Order_Status"), "Order_ID" DESC);
+CREATE INDEX IF NOT EXISTS "idx_order_summary_changed_txid" ON "Order_Summary"("Changed_Txid");
+
+VACUUM ANALYZE "Order_Summary";
+
+-- Display success message
+SELECT 'Migration completed: Order_Summary read model created' AS status;
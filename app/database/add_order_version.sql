@@ -0,0 +1,47 @@
+-- Migration: Optimistic concurrency for order status changes
+-- Every status change or reassignment bumps "Version". A status change is one conditional UPDATE:
+--     WHERE "Order_ID" = ? AND "Order_Status" = ANY(<statuses allowed to move to the new one>)
+--       AND "Version" = <version the user was looking at>
+-- so two employees changing the same order cannot overwrite each other.
+-- Requires add_order_change_notify.sql (the notification now carries the version as well).
+
+ALTER TABLE "Orders"
+ADD COLUMN IF NOT EXISTS "Version" INTEGER NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION orders_bump_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW."Version" := OLD."Version" + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "orders_bump_version" ON "Orders";
+CREATE TRIGGER "orders_bump_version"
+BEFORE UPDATE OF "Order_Status", "Employee_ID" ON "Orders"
+FOR EACH ROW
+WHEN (OLD."Order_Status" IS DISTINCT FROM NEW."Order_Status"
+      OR OLD."Employee_ID" IS DISTINCT FROM NEW."Employee_ID")
+EXECUTE FUNCTION orders_bump_version();
+
+-- Notification payload gains the version (before the status, which stays last):
+--     <operation>:<Order_ID>:<Customer_ID>:<Employee_ID or 0>:<Total_Amount>:<Version>:<Order_Status>
+CREATE OR REPLACE FUNCTION orders_notify_change() RETURNS TRIGGER AS $$
+DECLARE
+    changed RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('order_changes',
+        TG_OP || ':' || changed."Order_ID" || ':' || changed."Customer_ID" || ':'
+              || COALESCE(changed."Employee_ID", 0) || ':' || COALESCE(changed."Total_Amount", 0) || ':'
+              || changed."Version" || ':' || COALESCE(changed."Order_Status", ''));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Display success message
+SELECT 'Migration completed: version column added to Orders' AS status;
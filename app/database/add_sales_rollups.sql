@@ -0,0 +1,240 @@
+-- Migration: Pre-aggregated sales rollups for the dashboard KPIs and FinalReport.jrxml
+-- Instead of aggregating "Orders" / "Stone" on every dashboard refresh or report run:
+-- - "Daily_Sales" holds orders, revenue and items sold per order date and status
+-- - "Dashboard_Counters" holds the current KPI values (one row each)
+--
+-- Both are maintained by triggers, in the same transaction as the write:
+-- - Orders insert/update/delete (orders and revenue; booked items move with the order's status/date)
+-- - Order_Details insert/update/delete (items sold)
+-- - Stone stock/price changes (inventory value)
+-- - Employee/Customer insert/delete (head counts)
+-- sales_rollups_rebuild() recomputes everything from the base tables (used for the backfill).
+-- Requires partition_orders_by_month.sql.
+--
+-- Counter names:
+--   'orders', 'orders:<status>'    order counts (all / per "Order_Status")
+--   'revenue', 'revenue:<status>'  sum of "Total_Amount" (all / per "Order_Status")
+--   'inventory_value'              sum of "Quantity_In_Stock" * "Price_Per_Unit"
+--   'employees', 'customers'       head counts
+
+BEGIN;
+
+-- Keep writers out until the triggers and the backfill are in place
+LOCK TABLE "Orders", "Order_Details", "Stone", "Employee", "Customer" IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE TABLE IF NOT EXISTS "Daily_Sales" (
+    "Sales_Date" DATE NOT NULL,
+    "Order_Status" VARCHAR(15) NOT NULL,
+    "Order_Count" INTEGER NOT NULL DEFAULT 0,
+    "Revenue" NUMERIC(14,2) NOT NULL DEFAULT 0,
+    "Items_Sold" INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY ("Sales_Date", "Order_Status")
+);
+
+CREATE TABLE IF NOT EXISTS "Dashboard_Counters" (
+    "Counter_Name" VARCHAR(40) PRIMARY KEY,
+    "Value" NUMERIC(16,2) NOT NULL DEFAULT 0
+);
+
+-- Small, constantly updated tables
+ALTER TABLE "Daily_Sales" SET (autovacuum_vacuum_scale_factor = 0.05);
+ALTER TABLE "Dashboard_Counters" SET (fillfactor = 50, autovacuum_vacuum_scale_factor = 0.0,
+                                      autovacuum_vacuum_threshold = 200);
+
+-- ============================================
+-- Helpers
+-- ============================================
+CREATE OR REPLACE FUNCTION dashboard_counter_add(counter_name TEXT, delta NUMERIC) RETURNS VOID AS $$
+    INSERT INTO "Dashboard_Counters" ("Counter_Name", "Value")
+    VALUES (counter_name, delta)
+    ON CONFLICT ("Counter_Name") DO UPDATE
+    SET "Value" = "Dashboard_Counters"."Value" + EXCLUDED."Value";
+$$ LANGUAGE sql;
+
+-- Add (or with negative values, remove) orders/revenue/items to a day and status
+CREATE OR REPLACE FUNCTION sales_rollup_add(sales_date DATE, order_status TEXT,
+                                            order_count INTEGER, revenue NUMERIC, items_sold INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    IF sales_date IS NULL THEN
+        RETURN;
+    END IF;
+    order_status := COALESCE(order_status, '');
+
+    INSERT INTO "Daily_Sales" ("Sales_Date", "Order_Status", "Order_Count", "Revenue", "Items_Sold")
+    VALUES (sales_date, order_status, order_count, COALESCE(revenue, 0), items_sold)
+    ON CONFLICT ("Sales_Date", "Order_Status") DO UPDATE
+    SET "Order_Count" = "Daily_Sales"."Order_Count" + EXCLUDED."Order_Count",
+        "Revenue" = "Daily_Sales"."Revenue" + EXCLUDED."Revenue",
+        "Items_Sold" = "Daily_Sales"."Items_Sold" + EXCLUDED."Items_Sold";
+
+    IF order_count <> 0 OR COALESCE(revenue, 0) <> 0 THEN
+        PERFORM dashboard_counter_add('orders', order_count);
+        PERFORM dashboard_counter_add('orders:' || order_status, order_count);
+        PERFORM dashboard_counter_add('revenue', COALESCE(revenue, 0));
+        PERFORM dashboard_counter_add('revenue:' || order_status, COALESCE(revenue, 0));
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Items of an order (by ID only: stays correct while a date change moves the order and its lines)
+CREATE OR REPLACE FUNCTION sales_rollup_order_items(order_id INTEGER) RETURNS INTEGER AS $$
+    SELECT COALESCE(SUM(d."Quantity"), 0)::INTEGER
+    FROM "Order_Details" d
+    WHERE d."Order_ID" = order_id;
+$$ LANGUAGE sql STABLE;
+
+-- ============================================
+-- Orders -> orders, revenue (and the order's items follow its status/date)
+-- ============================================
+-- A new order has no lines yet: its items are booked by the Order_Details trigger (also when
+-- order and lines are written by one statement, as in checkout)
+CREATE OR REPLACE FUNCTION sales_rollup_sync_order() RETURNS TRIGGER AS $$
+DECLARE
+    items INTEGER;
+    moved RECORD;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM sales_rollup_add(NEW."Order_Date", NEW."Order_Status", 1, NEW."Total_Amount", 0);
+        RETURN NULL;
+    END IF;
+
+    items := sales_rollup_order_items(OLD."Order_ID");
+
+    IF TG_OP = 'DELETE' THEN
+        PERFORM sales_rollup_add(OLD."Order_Date", OLD."Order_Status", -1, -OLD."Total_Amount", -items);
+        -- A date change moving the row to another partition is a delete plus an insert:
+        -- the insert books the order again (without items), so move the items here
+        SELECT "Order_Date", "Order_Status" INTO moved FROM "Orders" WHERE "Order_ID" = OLD."Order_ID";
+        IF FOUND THEN
+            PERFORM sales_rollup_add(moved."Order_Date", moved."Order_Status", 0, 0, items);
+        END IF;
+        RETURN NULL;
+    END IF;
+
+    PERFORM sales_rollup_add(OLD."Order_Date", OLD."Order_Status", -1, -OLD."Total_Amount", -items);
+    PERFORM sales_rollup_add(NEW."Order_Date", NEW."Order_Status", 1, NEW."Total_Amount", items);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "sales_rollup_sync_order" ON "Orders";
+CREATE TRIGGER "sales_rollup_sync_order"
+AFTER INSERT OR DELETE OR UPDATE OF "Order_Status", "Order_Date", "Total_Amount" ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION sales_rollup_sync_order();
+
+-- ============================================
+-- Order_Details -> items sold (booked under the order's current date and status)
+-- ============================================
+CREATE OR REPLACE FUNCTION sales_rollup_sync_items() RETURNS TRIGGER AS $$
+DECLARE
+    order_row RECORD;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT "Order_Date", "Order_Status" INTO order_row FROM "Orders" WHERE "Order_ID" = OLD."Order_ID";
+        IF FOUND THEN
+            PERFORM sales_rollup_add(order_row."Order_Date", order_row."Order_Status", 0, 0, -OLD."Quantity");
+        END IF;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT "Order_Date", "Order_Status" INTO order_row FROM "Orders" WHERE "Order_ID" = NEW."Order_ID";
+        IF FOUND THEN
+            PERFORM sales_rollup_add(order_row."Order_Date", order_row."Order_Status", 0, 0, NEW."Quantity");
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "sales_rollup_sync_items" ON "Order_Details";
+CREATE TRIGGER "sales_rollup_sync_items"
+AFTER INSERT OR DELETE OR UPDATE OF "Order_ID", "Quantity" ON "Order_Details"
+FOR EACH ROW EXECUTE FUNCTION sales_rollup_sync_items();
+
+-- ============================================
+-- Stone -> inventory value
+-- ============================================
+CREATE OR REPLACE FUNCTION sales_rollup_sync_stone() RETURNS TRIGGER AS $$
+DECLARE
+    delta NUMERIC := 0;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        delta := delta - COALESCE(OLD."Quantity_In_Stock" * OLD."Price_Per_Unit", 0);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        delta := delta + COALESCE(NEW."Quantity_In_Stock" * NEW."Price_Per_Unit", 0);
+    END IF;
+    IF delta <> 0 THEN
+        PERFORM dashboard_counter_add('inventory_value', delta);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "sales_rollup_sync_stone" ON "Stone";
+CREATE TRIGGER "sales_rollup_sync_stone"
+AFTER INSERT OR DELETE OR UPDATE OF "Quantity_In_Stock", "Price_Per_Unit" ON "Stone"
+FOR EACH ROW EXECUTE FUNCTION sales_rollup_sync_stone();
+
+-- ============================================
+-- Employee / Customer -> head counts
+-- ============================================
+CREATE OR REPLACE FUNCTION sales_rollup_sync_head_count() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM dashboard_counter_add(TG_ARGV[0], CASE WHEN TG_OP = 'INSERT' THEN 1 ELSE -1 END);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS "sales_rollup_sync_employees" ON "Employee";
+CREATE TRIGGER "sales_rollup_sync_employees"
+AFTER INSERT OR DELETE ON "Employee"
+FOR EACH ROW EXECUTE FUNCTION sales_rollup_sync_head_count('employees');
+
+DROP TRIGGER IF EXISTS "sales_rollup_sync_customers" ON "Customer";
+CREATE TRIGGER "sales_rollup_sync_customers"
+AFTER INSERT OR DELETE ON "Customer"
+FOR EACH ROW EXECUTE FUNCTION sales_rollup_sync_head_count('customers');
+
+-- ============================================
+-- Rebuild (backfill / repair)
+-- ============================================
+-- Recompute both tables from the base tables; run it in a quiet moment (it locks out writers)
+CREATE OR REPLACE FUNCTION sales_rollups_rebuild() RETURNS VOID AS $$
+BEGIN
+    LOCK TABLE "Orders", "Order_Details", "Stone", "Employee", "Customer" IN SHARE ROW EXCLUSIVE MODE;
+    DELETE FROM "Daily_Sales";
+    DELETE FROM "Dashboard_Counters";
+
+    INSERT INTO "Daily_Sales" ("Sales_Date", "Order_Status", "Order_Count", "Revenue", "Items_Sold")
+    SELECT o."Order_Date", COALESCE(o."Order_Status", ''), COUNT(*), COALESCE(SUM(o."Total_Amount"), 0),
+           COALESCE(SUM(i.items), 0)
+    FROM "Orders" o
+    LEFT JOIN (SELECT d."Order_ID", SUM(d."Quantity") AS items
+               FROM "Order_Details" d
+               GROUP BY d."Order_ID") i ON i."Order_ID" = o."Order_ID"
+    GROUP BY o."Order_Date", COALESCE(o."Order_Status", '');
+
+    INSERT INTO "Dashboard_Counters" ("Counter_Name", "Value")
+    SELECT 'orders', COALESCE(SUM("Order_Count"), 0) FROM "Daily_Sales"
+    UNION ALL
+    SELECT 'revenue', COALESCE(SUM("Revenue"), 0) FROM "Daily_Sales"
+    UNION ALL
+    SELECT 'orders:' || "Order_Status", SUM("Order_Count") FROM "Daily_Sales" GROUP BY "Order_Status"
+    UNION ALL
+    SELECT 'revenue:' || "Order_Status", SUM("Revenue") FROM "Daily_Sales" GROUP BY "Order_Status"
+    UNION ALL
+    SELECT 'inventory_value', COALESCE(SUM("Quantity_In_Stock" * "Price_Per_Unit"), 0) FROM "Stone"
+    UNION ALL
+    SELECT 'employees', COUNT(*) FROM "Employee"
+    UNION ALL
+    SELECT 'customers', COUNT(*) FROM "Customer";
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT sales_rollups_rebuild();
+
+COMMIT;
+
+-- Display success message
+SELECT 'Migration completed: Daily_Sales and Dashboard_Counters rollups created' AS status;
@@ -0,0 +1,206 @@
+-- Migration: Monthly range partitioning of "Orders" and "Order_Details" by "Order_Date"
+-- Queries with a date window (e.g. the Archive screen: last few months) only touch the partitions
+-- of that window, and vacuum/index maintenance works on small monthly tables.
+--
+-- Requires PostgreSQL 13+ and the earlier Orders migrations (change tracking, change notify,
+-- version, paging/search/auto-assign indexes); their indexes and triggers are re-created here.
+--
+-- Notes:
+-- - The primary keys become ("Order_ID", "Order_Date") and ("Order_Detail_ID", "Order_Date")
+--   (a partitioned table can only enforce keys that include the partition column).
+--   IDs still come from the same sequences, so they stay unique.
+-- - "Order_Details" gets an "Order_Date" column (copy of its order's date) to be partitioned
+--   the same way; it follows the order through ON UPDATE CASCADE.
+-- - "Custom_Orders"."Order_ID" can no longer be a foreign key; ON DELETE SET NULL is kept by a trigger.
+-- - Orders without a date are given the migration date.
+-- - New months are added by orders_create_month_partitions() (the application calls it at start-up
+--   for the next months); rows outside every monthly partition go to the DEFAULT partitions.
+
+BEGIN;
+
+-- ============================================
+-- 1) Move the current tables aside
+-- ============================================
+ALTER TABLE "Custom_Orders" DROP CONSTRAINT IF EXISTS "CustomOrders_Order_FK";
+ALTER TABLE "Order_Details" RENAME TO "Order_Details_Unpartitioned";
+ALTER TABLE "Orders" RENAME TO "Orders_Unpartitioned";
+
+UPDATE "Orders_Unpartitioned" SET "Order_Date" = CURRENT_DATE WHERE "Order_Date" IS NULL;
+
+-- ============================================
+-- 2) Partitioned tables (same columns, defaults and NOT NULLs)
+-- ============================================
+CREATE TABLE "Orders" (LIKE "Orders_Unpartitioned" INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+PARTITION BY RANGE ("Order_Date");
+
+ALTER TABLE "Orders" ALTER COLUMN "Order_Date" SET NOT NULL;
+ALTER TABLE "Orders" ALTER COLUMN "Order_Date" SET DEFAULT CURRENT_DATE;
+ALTER TABLE "Orders" ADD PRIMARY KEY ("Order_ID", "Order_Date");
+
+CREATE TABLE "Order_Details" (LIKE "Order_Details_Unpartitioned" INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+PARTITION BY RANGE ("Order_Date");
+
+ALTER TABLE "Order_Details" ADD COLUMN "Order_Date" DATE NOT NULL;
+ALTER TABLE "Order_Details" ADD PRIMARY KEY ("Order_Detail_ID", "Order_Date");
+
+-- The ID sequences now belong to the new tables (the old ones are dropped below)
+DO $$
+BEGIN
+    EXECUTE format('ALTER SEQUENCE %s OWNED BY "Orders"."Order_ID"',
+                   pg_get_serial_sequence('"Orders_Unpartitioned"', 'Order_ID'));
+    EXECUTE format('ALTER SEQUENCE %s OWNED BY "Order_Details"."Order_Detail_ID"',
+                   pg_get_serial_sequence('"Order_Details_Unpartitioned"', 'Order_Detail_ID'));
+END;
+$$;
+
+-- ============================================
+-- 3) Monthly partitions
+-- ============================================
+CREATE TABLE "Orders_Default" PARTITION OF "Orders" DEFAULT;
+CREATE TABLE "Order_Details_Default" PARTITION OF "Order_Details" DEFAULT;
+
+-- Create the partitions of every month from first_month to last_month that do not exist yet
+-- (a month that already has rows in a DEFAULT partition is skipped with a notice)
+-- Returns the number of months created
+CREATE OR REPLACE FUNCTION orders_create_month_partitions(first_month DATE, last_month DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', first_month)::DATE;
+    month_end DATE;
+    suffix TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        suffix := to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass(format('%I', 'Orders_' || suffix)) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM "Orders_Default"
+                       WHERE "Order_Date" >= month_start AND "Order_Date" < month_end) THEN
+                RAISE NOTICE 'Orders of % are in the default partition - partition not created', suffix;
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF "Orders" FOR VALUES FROM (%L) TO (%L)',
+                               'Orders_' || suffix, month_start, month_end);
+                EXECUTE format('CREATE TABLE %I PARTITION OF "Order_Details" FOR VALUES FROM (%L) TO (%L)',
+                               'Order_Details_' || suffix, month_start, month_end);
+                created := created + 1;
+            END IF;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT orders_create_month_partitions(
+    COALESCE((SELECT MIN("Order_Date") FROM "Orders_Unpartitioned"), CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+-- ============================================
+-- 4) Copy the data (before the triggers exist: no notifications, tombstones or version bumps)
+-- ============================================
+INSERT INTO "Orders" SELECT * FROM "Orders_Unpartitioned";
+
+INSERT INTO "Order_Details"
+SELECT d.*, o."Order_Date"
+FROM "Order_Details_Unpartitioned" d
+JOIN "Orders_Unpartitioned" o ON o."Order_ID" = d."Order_ID";
+
+DROP TABLE "Order_Details_Unpartitioned";
+DROP TABLE "Orders_Unpartitioned";
+
+-- ============================================
+-- 5) Foreign keys
+-- ============================================
+ALTER TABLE "Orders"
+ADD FOREIGN KEY ("Customer_ID") REFERENCES "Customer"("Customer_ID");
+
+ALTER TABLE "Orders"
+ADD FOREIGN KEY ("Employee_ID") REFERENCES "Employee"("Employee_ID");
+
+ALTER TABLE "Order_Details"
+ADD FOREIGN KEY ("Order_ID", "Order_Date") REFERENCES "Orders"("Order_ID", "Order_Date")
+ON UPDATE CASCADE;
+
+ALTER TABLE "Order_Details"
+ADD FOREIGN KEY ("Stone_ID") REFERENCES "Stone"("Stone_ID");
+
+-- ============================================
+-- 6) Indexes (created on every partition, present and future)
+-- ============================================
+CREATE INDEX IF NOT EXISTS "idx_order_details_order_id" ON "Order_Details"("Order_ID");
+CREATE INDEX IF NOT EXISTS "idx_order_details_stone_id" ON "Order_Details"("Stone_ID");
+
+-- add_order_paging_indexes.sql
+CREATE INDEX IF NOT EXISTS "idx_orders_active_id_desc"
+ON "Orders"("Order_ID" DESC)
+WHERE "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+CREATE INDEX IF NOT EXISTS "idx_orders_archived_id_desc"
+ON "Orders"("Order_ID" DESC)
+WHERE "Order_Status" IN ('Completed', 'Canceled');
+
+-- add_archive_search_indexes.sql
+CREATE INDEX IF NOT EXISTS "idx_orders_customer_id_desc" ON "Orders"("Customer_ID", "Order_ID" DESC);
+CREATE INDEX IF NOT EXISTS "idx_orders_employee_id_desc" ON "Orders"("Employee_ID", "Order_ID" DESC);
+CREATE INDEX IF NOT EXISTS "idx_orders_status_id_desc" ON "Orders"("Order_Status", "Order_ID" DESC);
+
+-- add_order_change_tracking.sql
+CREATE INDEX IF NOT EXISTS "idx_orders_changed_txid" ON "Orders"("Changed_Txid");
+
+-- add_auto_assign_indexes.sql
+CREATE INDEX IF NOT EXISTS "idx_orders_unassigned_id"
+ON "Orders"("Order_ID")
+WHERE "Employee_ID" IS NULL AND "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+CREATE INDEX IF NOT EXISTS "idx_orders_active_employee"
+ON "Orders"("Employee_ID")
+WHERE "Order_Status" IN ('Pending', 'Assigned', 'Processing');
+
+-- ============================================
+-- 7) Triggers
+-- ============================================
+-- A date change moves the row to another partition (a delete plus an insert):
+-- only leave a tombstone / unlink custom orders if the order is really gone
+CREATE OR REPLACE FUNCTION orders_record_delete() RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM "Orders" WHERE "Order_ID" = OLD."Order_ID") THEN
+        INSERT INTO "Orders_Deleted" ("Order_ID", "Deleted_Txid") VALUES (OLD."Order_ID", txid_current());
+        UPDATE "Custom_Orders" SET "Order_ID" = NULL WHERE "Order_ID" = OLD."Order_ID";
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER "orders_changed_txid"
+BEFORE INSERT OR UPDATE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_set_changed_txid();
+
+CREATE TRIGGER "orders_record_delete"
+AFTER DELETE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_record_delete();
+
+CREATE TRIGGER "orders_bump_version"
+BEFORE UPDATE OF "Order_Status", "Employee_ID" ON "Orders"
+FOR EACH ROW
+WHEN (OLD."Order_Status" IS DISTINCT FROM NEW."Order_Status"
+      OR OLD."Employee_ID" IS DISTINCT FROM NEW."Employee_ID")
+EXECUTE FUNCTION orders_bump_version();
+
+CREATE TRIGGER "orders_notify_insert_delete"
+AFTER INSERT OR DELETE ON "Orders"
+FOR EACH ROW EXECUTE FUNCTION orders_notify_change();
+
+CREATE TRIGGER "orders_notify_update"
+AFTER UPDATE OF "Order_Status", "Employee_ID", "Total_Amount" ON "Orders"
+FOR EACH ROW
+WHEN (OLD."Order_Status" IS DISTINCT FROM NEW."Order_Status"
+      OR OLD."Employee_ID" IS DISTINCT FROM NEW."Employee_ID"
+      OR OLD."Total_Amount" IS DISTINCT FROM NEW."Total_Amount")
+EXECUTE FUNCTION orders_notify_change();
+
+COMMIT;
+
+-- Display success message
+SELECT 'Migration completed: Orders and Order_Details partitioned by month' AS status;
@@ -1,5 +1,10 @@
 package com.DB.databaseproject;
 
+import com.DB.databaseproject.service.AutoAssignmentService;
+import com.DB.databaseproject.service.OrderService;
+import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.ImageLoader;
+import com.DB.databaseproject.util.LookupExecutor;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -48,6 +53,14 @@ public class App extends Application {
             });
             
             System.out.println("Application started at exact screen size with title bar");
+            
+            // Keep the coming months' order partitions ready (off the FX thread)
+            Thread partitions = new Thread(OrderService.getInstance()::createUpcomingOrderPartitions, "OrderPartitions");
+            partitions.setDaemon(true);
+            partitions.start();
+            
+            // Periodic auto-assignment of new orders (off unless -Dorders.autoAssign.periodSeconds is set)
+            AutoAssignmentService.getInstance().startSchedule(AutoAssignmentService.DEFAULT_PERIOD_SECONDS);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -55,6 +68,17 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Stop background work and release pooled database connections when the application exits
+     */
+    @Override
+    public void stop() {
+        AutoAssignmentService.getInstance().stopSchedule();
+        LookupExecutor.shutdown();
+        ImageLoader.shutdown();
+        DBConnection.shutdown();
+    }
+
     /**
      * Main method - Entry point of the application
      */
@@ -62,4 +86,4 @@ public class App extends Application {
         launch(args);
     }
 }
-
+
@@ -24,8 +24,14 @@ import java.io.InputStream;
 import java.io.FileInputStream;
 import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -35,6 +41,9 @@ import net.sf.jasperreports.engine.xml.JRXmlLoader;
 import net.sf.jasperreports.view.JasperViewer;
 
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.LookupCache.Source;
+import com.DB.databaseproject.util.LookupExecutor;
 
 /**
  * Controller for the Admin Dashboard
@@ -42,6 +51,17 @@ import com.DB.databaseproject.util.DBConnection;
  */
 public class DashboardController {
 
+    // Quick Lookup results (shared by every dashboard instance, emptied by the services' writes)
+    private static final LookupCache<Integer, OrderLookupResult> ORDER_LOOKUPS =
+            LookupCache.create("Order lookup", Source.ORDERS, Source.CUSTOMERS, Source.EMPLOYEES, Source.STONES);
+    private static final LookupCache<String, EmployeeLookupResult> EMPLOYEE_LOOKUPS =
+            LookupCache.create("Employee lookup", Source.EMPLOYEES, Source.ORDERS, Source.CUSTOMERS);
+    private static final LookupCache<String, StoneLookupResult> STONE_LOOKUPS =
+            LookupCache.create("Stone lookup", Source.STONES, Source.ORDERS, Source.CUSTOMERS);
+
+    // Quick Lookup in flight (only touched on the FX thread)
+    private LookupExecutor.Scope currentLookup;
+
     @FXML
     private StackPane contentArea;
 
@@ -69,6 +89,9 @@ public class DashboardController {
     @FXML
     private Button archiveBtn;
 
+    @FXML
+    private Button queryMetricsBtn;
+
     @FXML
     private Button generateReportBtn;
 
@@ -198,6 +221,16 @@ public class DashboardController {
         loadView("/fxml/archive_view.fxml");
     }
 
+    /**
+     * Show Query Metrics View (READ-ONLY)
+     * Per-DAO-method latency percentiles and call/error/row counts
+     */
+    @FXML
+    private void showQueryMetrics() {
+        setActiveButton(queryMetricsBtn);
+        loadView("/fxml/query_metrics_view.fxml");
+    }
+
     /**
      * Handle Generate Report - Generate and display JasperReport
      */
@@ -451,6 +484,7 @@ public class DashboardController {
         ordersBtn.getStyleClass().remove("selected");
         customOrdersBtn.getStyleClass().remove("selected");
         archiveBtn.getStyleClass().remove("selected");
+        queryMetricsBtn.getStyleClass().remove("selected");
         // generateReportBtn is not a navigation button, so don't reset it
 
         // Add selected class to active button
@@ -504,11 +538,7 @@ public class DashboardController {
             return;
         }
         
-        // Disable buttons during search
-        searchBtn.setDisable(true);
-        clearBtn.setDisable(true);
-        
-        // Run search based on mode
+        // Run search (a new search cancels the one in flight) based on mode
         switch (mode) {
             case "Order":
                 try {
@@ -516,8 +546,6 @@ public class DashboardController {
                     runOrderLookup(orderId);
                 } catch (NumberFormatException e) {
                     showAlert(Alert.AlertType.ERROR, "Invalid Order ID", "Order ID must be a number");
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
                 }
                 break;
             case "Employee":
@@ -534,6 +562,7 @@ public class DashboardController {
      */
     @FXML
     private void handleClear() {
+        cancelLookup();
         searchField.clear();
         searchModeCombo.setValue(null);
         clearResults();
@@ -558,107 +587,144 @@ public class DashboardController {
     }
     
     /**
-     * Run Order Lookup by Order ID
+     * Cancel the lookup in flight (if any) and start a new one
      */
-    private void runOrderLookup(int orderId) {
-        Task<OrderLookupResult> task = new Task<OrderLookupResult>() {
-            @Override
-            protected OrderLookupResult call() throws Exception {
-                Connection conn = null;
-                try {
-                    conn = DBConnection.getConnection();
-                    OrderLookupResult result = new OrderLookupResult();
-                    
-                    // Query main order info
-                    String orderQuery = "SELECT o.\"Order_ID\" AS order_id, o.\"Order_Date\" AS order_date, " +
-                            "o.\"Order_Status\" AS order_status, o.\"Total_Amount\" AS total_amount, " +
-                            "c.\"Customer_ID\" AS customer_id, (c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
-                            "c.\"Phone_Number\" AS customer_phone, c.\"Address\" AS customer_address, " +
-                            "e.\"Employee_ID\" AS employee_id, (e.\"First_Name\" || ' ' || e.\"Last_Name\") AS employee_name " +
-                            "FROM \"Orders\" o " +
-                            "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
-                            "LEFT JOIN \"Employee\" e ON o.\"Employee_ID\" = e.\"Employee_ID\" " +
-                            "WHERE o.\"Order_ID\" = ?";
-                    
-                    try (PreparedStatement pstmt = conn.prepareStatement(orderQuery)) {
-                        pstmt.setInt(1, orderId);
-                        ResultSet rs = pstmt.executeQuery();
-                        
-                        if (rs.next()) {
-                            result.orderId = rs.getInt("order_id");
-                            result.orderDate = rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null;
-                            result.orderStatus = rs.getString("order_status");
-                            result.totalAmount = rs.getBigDecimal("total_amount");
-                            result.customerId = rs.getInt("customer_id");
-                            result.customerName = rs.getString("customer_name");
-                            result.customerPhone = rs.getString("customer_phone");
-                            result.customerAddress = rs.getString("customer_address");
-                            result.employeeId = rs.getInt("employee_id");
-                            result.employeeName = rs.getString("employee_name");
-                        } else {
-                            return null; // Order not found
-                        }
-                    }
-                    
-                    // Query order items
-                    String itemsQuery = "SELECT od.\"Stone_ID\" AS stone_id, s.\"Name\" AS stone_name, " +
-                            "od.\"Quantity\" AS quantity, od.\"Unit_Price\" AS unit_price, " +
-                            "(od.\"Quantity\" * od.\"Unit_Price\") AS subtotal " +
-                            "FROM \"Order_Details\" od " +
-                            "JOIN \"Stone\" s ON od.\"Stone_ID\" = s.\"Stone_ID\" " +
-                            "WHERE od.\"Order_ID\" = ? " +
-                            "ORDER BY od.\"Order_Detail_ID\"";
-                    
-                    try (PreparedStatement pstmt = conn.prepareStatement(itemsQuery)) {
-                        pstmt.setInt(1, orderId);
-                        ResultSet rs = pstmt.executeQuery();
-                        
-                        while (rs.next()) {
-                            OrderItemRow item = new OrderItemRow(
-                                rs.getInt("stone_id"),
-                                rs.getString("stone_name"),
-                                rs.getInt("quantity"),
-                                rs.getBigDecimal("unit_price"),
-                                rs.getBigDecimal("subtotal")
-                            );
-                            result.items.add(item);
-                        }
-                    }
-                    
-                    return result;
-                    
-                } finally {
-                    if (conn != null) DBConnection.closeConnection(conn);
-                }
+    private LookupExecutor.Scope startLookup() {
+        cancelLookup();
+        currentLookup = LookupExecutor.openScope();
+        return currentLookup;
+    }
+    
+    /**
+     * Cancel the lookup in flight (its running statements are canceled on the server)
+     */
+    private void cancelLookup() {
+        if (currentLookup != null) {
+            currentLookup.cancel();
+            currentLookup = null;
+        }
+    }
+    
+    /**
+     * Show the outcome of a lookup (ignored if a newer search or Clear replaced it)
+     */
+    private <T> void finishLookup(LookupExecutor.Scope scope, T result, Throwable error,
+                                  String notFoundMessage, Consumer<T> display) {
+        Platform.runLater(() -> {
+            if (scope != currentLookup) {
+                return;
             }
+            currentLookup = null;
             
-            @Override
-            protected void succeeded() {
-                Platform.runLater(() -> {
-                    OrderLookupResult result = getValue();
-                    if (result == null) {
-                        showAlert(Alert.AlertType.INFORMATION, "No Results", "Order not found");
-                    } else {
-                        displayOrderResult(result);
-                    }
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
-                });
+            if (error != null) {
+                Throwable cause = scope.getFailure() != null ? scope.getFailure() : LookupExecutor.unwrap(error);
+                if (!(cause instanceof CancellationException)) {
+                    showAlert(Alert.AlertType.ERROR, "Search Failed", cause.getMessage());
+                }
+            } else if (result == null) {
+                showAlert(Alert.AlertType.INFORMATION, "No Results", notFoundMessage);
+            } else {
+                display.accept(result);
             }
+        });
+    }
+    
+    
+    /**
+     * Run Order Lookup by Order ID
+     * Order row and order items are queried in parallel
+     */
+    private void runOrderLookup(int orderId) {
+        OrderLookupResult cached = ORDER_LOOKUPS.get(orderId);
+        if (cached != null) {
+            cancelLookup();
+            displayOrderResult(cached);
+            return;
+        }
+        
+        long cacheGeneration = ORDER_LOOKUPS.generation();
+        LookupExecutor.Scope scope = startLookup();
+        
+        CompletableFuture<OrderLookupResult> order = scope.fork(st -> queryOrder(st, orderId));
+        CompletableFuture<List<OrderItemRow>> items = scope.fork(st -> queryOrderItems(st, orderId));
+        
+        order.thenCombine(items, (result, rows) -> {
+            if (result != null) {
+                result.items.addAll(rows);
+                ORDER_LOOKUPS.put(orderId, result, cacheGeneration);
+            }
+            return result;
+        }).whenComplete((result, error) ->
+                finishLookup(scope, result, error, "Order not found", this::displayOrderResult));
+    }
+    
+    /**
+     * Main order info (null if the order does not exist)
+     */
+    private static OrderLookupResult queryOrder(LookupExecutor.Statements st, int orderId) throws SQLException {
+        String orderQuery = "SELECT o.\"Order_ID\" AS order_id, o.\"Order_Date\" AS order_date, " +
+                "o.\"Order_Status\" AS order_status, o.\"Total_Amount\" AS total_amount, " +
+                "c.\"Customer_ID\" AS customer_id, (c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
+                "c.\"Phone_Number\" AS customer_phone, c.\"Address\" AS customer_address, " +
+                "e.\"Employee_ID\" AS employee_id, (e.\"First_Name\" || ' ' || e.\"Last_Name\") AS employee_name " +
+                "FROM \"Orders\" o " +
+                "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
+                "LEFT JOIN \"Employee\" e ON o.\"Employee_ID\" = e.\"Employee_ID\" " +
+                "WHERE o.\"Order_ID\" = ?";
+        
+        try (PreparedStatement pstmt = st.prepare(orderQuery)) {
+            pstmt.setInt(1, orderId);
+            ResultSet rs = pstmt.executeQuery();
             
-            @Override
-            protected void failed() {
-                Platform.runLater(() -> {
-                    showAlert(Alert.AlertType.ERROR, "Search Failed", getException().getMessage());
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
-                });
+            if (!rs.next()) {
+                return null; // Order not found
             }
-        };
+            OrderLookupResult result = new OrderLookupResult();
+            result.orderId = rs.getInt("order_id");
+            result.orderDate = rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null;
+            result.orderStatus = rs.getString("order_status");
+            result.totalAmount = rs.getBigDecimal("total_amount");
+            result.customerId = rs.getInt("customer_id");
+            result.customerName = rs.getString("customer_name");
+            result.customerPhone = rs.getString("customer_phone");
+            result.customerAddress = rs.getString("customer_address");
+            result.employeeId = rs.getInt("employee_id");
+            result.employeeName = rs.getString("employee_name");
+            return result;
+        }
+    }
+    
+    /**
+     * Order items
+     */
+    private static List<OrderItemRow> queryOrderItems(LookupExecutor.Statements st, int orderId) throws SQLException {
+        String itemsQuery = "SELECT od.\"Stone_ID\" AS stone_id, s.\"Name\" AS stone_name, " +
+                "od.\"Quantity\" AS quantity, od.\"Unit_Price\" AS unit_price, " +
+                "(od.\"Quantity\" * od.\"Unit_Price\") AS subtotal " +
+                "FROM \"Order_Details\" od " +
+                "JOIN \"Stone\" s ON od.\"Stone_ID\" = s.\"Stone_ID\" " +
+                "WHERE od.\"Order_ID\" = ? " +
+                "ORDER BY od.\"Order_Detail_ID\"";
+        List<OrderItemRow> items = new ArrayList<>();
         
-        new Thread(task).start();
+        try (PreparedStatement pstmt = st.prepare(itemsQuery)) {
+            pstmt.setInt(1, orderId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                items.add(new OrderItemRow(
+                    rs.getInt("stone_id"),
+                    rs.getString("stone_name"),
+                    rs.getInt("quantity"),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getBigDecimal("subtotal")
+                ));
+            }
+        }
+        return items;
     }
     
+    
     /**
      * Display Order Lookup Result
      */
@@ -731,145 +797,157 @@ public class DashboardController {
     
     /**
      * Run Employee Lookup by ID or Name
+     * By ID, the employee row and the assigned orders are queried in parallel;
+     * by name, the assigned orders are queried once the search found a single employee
      */
     private void runEmployeeLookup(String input) {
-        Task<EmployeeLookupResult> task = new Task<EmployeeLookupResult>() {
-            @Override
-            protected EmployeeLookupResult call() throws Exception {
-                Connection conn = null;
-                try {
-                    conn = DBConnection.getConnection();
-                    EmployeeLookupResult result = new EmployeeLookupResult();
-                    
-                    // Check if input is numeric (Employee ID)
-                    boolean isNumeric = input.matches("\\d+");
-                    
-                    if (isNumeric) {
-                        // Search by Employee ID
-                        int employeeId = Integer.parseInt(input);
-                        String query = "SELECT e.\"Employee_ID\", e.\"First_Name\", e.\"Middle_Name\", e.\"Last_Name\", " +
-                                "e.\"Phone_Number\", e.\"Address\" " +
-                                "FROM \"Employee\" e WHERE e.\"Employee_ID\" = ?";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                            pstmt.setInt(1, employeeId);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            if (rs.next()) {
-                                result.employeeId = rs.getInt("Employee_ID");
-                                result.firstName = rs.getString("First_Name");
-                                result.middleName = rs.getString("Middle_Name");
-                                result.lastName = rs.getString("Last_Name");
-                                result.phone = rs.getString("Phone_Number");
-                                result.address = rs.getString("Address");
-                                result.singleResult = true;
-                            } else {
-                                return null;
-                            }
-                        }
-                    } else {
-                        // Search by name using ILIKE
-                        String namePattern = "%" + input + "%";
-                        String query = "SELECT e.\"Employee_ID\", " +
-                                "(e.\"First_Name\" || ' ' || COALESCE(e.\"Middle_Name\", '') || ' ' || e.\"Last_Name\") AS full_name, " +
-                                "e.\"Phone_Number\", e.\"Address\" " +
-                                "FROM \"Employee\" e " +
-                                "WHERE (e.\"First_Name\" ILIKE ? OR COALESCE(e.\"Middle_Name\", '') ILIKE ? OR e.\"Last_Name\" ILIKE ?) " +
-                                "ORDER BY e.\"Employee_ID\" LIMIT 20";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                            pstmt.setString(1, namePattern);
-                            pstmt.setString(2, namePattern);
-                            pstmt.setString(3, namePattern);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            while (rs.next()) {
-                                EmployeeSearchRow emp = new EmployeeSearchRow(
-                                    rs.getInt("Employee_ID"),
-                                    rs.getString("full_name"),
-                                    rs.getString("Phone_Number"),
-                                    rs.getString("Address")
-                                );
-                                result.employees.add(emp);
-                            }
-                            
-                            if (result.employees.isEmpty()) {
-                                return null;
-                            }
-                            
-                            if (result.employees.size() == 1) {
-                                // Auto-select single result
-                                result.singleResult = true;
-                                result.employeeId = result.employees.get(0).getEmployeeId();
-                                result.firstName = result.employees.get(0).getFullName();
-                            } else {
-                                result.singleResult = false;
-                            }
-                        }
-                    }
-                    
-                    // If single employee, get assigned orders
-                    if (result.singleResult && result.employeeId > 0) {
-                        String ordersQuery = "SELECT o.\"Order_ID\" AS order_id, " +
-                                "(c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
-                                "o.\"Order_Status\" AS status, o.\"Order_Date\" AS order_date, " +
-                                "o.\"Total_Amount\" AS total_amount " +
-                                "FROM \"Orders\" o " +
-                                "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
-                                "WHERE o.\"Employee_ID\" = ? " +
-                                "ORDER BY o.\"Order_Date\" DESC";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(ordersQuery)) {
-                            pstmt.setInt(1, result.employeeId);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            while (rs.next()) {
-                                AssignedOrderRow order = new AssignedOrderRow(
-                                    rs.getInt("order_id"),
-                                    rs.getString("customer_name"),
-                                    rs.getString("status"),
-                                    rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null,
-                                    rs.getBigDecimal("total_amount")
-                                );
-                                result.assignedOrders.add(order);
-                            }
-                        }
-                    }
-                    
-                    return result;
-                    
-                } finally {
-                    if (conn != null) DBConnection.closeConnection(conn);
+        String cacheKey = input.toLowerCase(Locale.ROOT);
+        EmployeeLookupResult cached = EMPLOYEE_LOOKUPS.get(cacheKey);
+        if (cached != null) {
+            cancelLookup();
+            displayEmployeeResult(cached);
+            return;
+        }
+        
+        long cacheGeneration = EMPLOYEE_LOOKUPS.generation();
+        LookupExecutor.Scope scope = startLookup();
+        
+        CompletableFuture<EmployeeLookupResult> lookup;
+        if (input.matches("\\d+")) {
+            // Search by Employee ID
+            int employeeId = Integer.parseInt(input);
+            CompletableFuture<EmployeeLookupResult> employee = scope.fork(st -> queryEmployeeById(st, employeeId));
+            CompletableFuture<List<AssignedOrderRow>> orders = scope.fork(st -> queryAssignedOrders(st, employeeId));
+            lookup = employee.thenCombine(orders, (result, rows) -> {
+                if (result != null) {
+                    result.assignedOrders.addAll(rows);
                 }
-            }
-            
-            @Override
-            protected void succeeded() {
-                Platform.runLater(() -> {
-                    EmployeeLookupResult result = getValue();
-                    if (result == null) {
-                        showAlert(Alert.AlertType.INFORMATION, "No Results", "Employee not found");
-                    } else {
-                        displayEmployeeResult(result);
-                    }
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
+                return result;
+            });
+        } else {
+            // Search by name; if single employee, get assigned orders
+            lookup = scope.fork(st -> queryEmployeesByName(st, input)).thenCompose(result -> {
+                if (result == null || !result.singleResult || result.employeeId <= 0) {
+                    return CompletableFuture.completedFuture(result);
+                }
+                return scope.fork(st -> queryAssignedOrders(st, result.employeeId)).thenApply(rows -> {
+                    result.assignedOrders.addAll(rows);
+                    return result;
                 });
-            }
+            });
+        }
+        
+        lookup.thenApply(result -> {
+            EMPLOYEE_LOOKUPS.put(cacheKey, result, cacheGeneration);
+            return result;
+        }).whenComplete((result, error) ->
+                finishLookup(scope, result, error, "Employee not found", this::displayEmployeeResult));
+    }
+    
+    /**
+     * Employee by ID (null if not found)
+     */
+    private static EmployeeLookupResult queryEmployeeById(LookupExecutor.Statements st, int employeeId) throws SQLException {
+        String query = "SELECT e.\"Employee_ID\", e.\"First_Name\", e.\"Middle_Name\", e.\"Last_Name\", " +
+                "e.\"Phone_Number\", e.\"Address\" " +
+                "FROM \"Employee\" e WHERE e.\"Employee_ID\" = ?";
+        
+        try (PreparedStatement pstmt = st.prepare(query)) {
+            pstmt.setInt(1, employeeId);
+            ResultSet rs = pstmt.executeQuery();
             
-            @Override
-            protected void failed() {
-                Platform.runLater(() -> {
-                    showAlert(Alert.AlertType.ERROR, "Search Failed", getException().getMessage());
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
-                });
+            if (!rs.next()) {
+                return null;
             }
-        };
+            EmployeeLookupResult result = new EmployeeLookupResult();
+            result.employeeId = rs.getInt("Employee_ID");
+            result.firstName = rs.getString("First_Name");
+            result.middleName = rs.getString("Middle_Name");
+            result.lastName = rs.getString("Last_Name");
+            result.phone = rs.getString("Phone_Number");
+            result.address = rs.getString("Address");
+            result.singleResult = true;
+            return result;
+        }
+    }
+    
+    /**
+     * Employees by name using ILIKE (null if none found)
+     */
+    private static EmployeeLookupResult queryEmployeesByName(LookupExecutor.Statements st, String input) throws SQLException {
+        String namePattern = "%" + input + "%";
+        String query = "SELECT e.\"Employee_ID\", " +
+                "(e.\"First_Name\" || ' ' || COALESCE(e.\"Middle_Name\", '') || ' ' || e.\"Last_Name\") AS full_name, " +
+                "e.\"Phone_Number\", e.\"Address\" " +
+                "FROM \"Employee\" e " +
+                "WHERE (e.\"First_Name\" ILIKE ? OR COALESCE(e.\"Middle_Name\", '') ILIKE ? OR e.\"Last_Name\" ILIKE ?) " +
+                "ORDER BY e.\"Employee_ID\" LIMIT 20";
+        EmployeeLookupResult result = new EmployeeLookupResult();
+        
+        try (PreparedStatement pstmt = st.prepare(query)) {
+            pstmt.setString(1, namePattern);
+            pstmt.setString(2, namePattern);
+            pstmt.setString(3, namePattern);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                EmployeeSearchRow emp = new EmployeeSearchRow(
+                    rs.getInt("Employee_ID"),
+                    rs.getString("full_name"),
+                    rs.getString("Phone_Number"),
+                    rs.getString("Address")
+                );
+                result.employees.add(emp);
+            }
+        }
+        
+        if (result.employees.isEmpty()) {
+            return null;
+        }
+        
+        if (result.employees.size() == 1) {
+            // Auto-select single result
+            result.singleResult = true;
+            result.employeeId = result.employees.get(0).getEmployeeId();
+            result.firstName = result.employees.get(0).getFullName();
+        } else {
+            result.singleResult = false;
+        }
+        return result;
+    }
+    
+    /**
+     * Orders assigned to an employee
+     */
+    private static List<AssignedOrderRow> queryAssignedOrders(LookupExecutor.Statements st, int employeeId) throws SQLException {
+        String ordersQuery = "SELECT o.\"Order_ID\" AS order_id, " +
+                "(c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
+                "o.\"Order_Status\" AS status, o.\"Order_Date\" AS order_date, " +
+                "o.\"Total_Amount\" AS total_amount " +
+                "FROM \"Orders\" o " +
+                "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
+                "WHERE o.\"Employee_ID\" = ? " +
+                "ORDER BY o.\"Order_Date\" DESC";
+        List<AssignedOrderRow> orders = new ArrayList<>();
         
-        new Thread(task).start();
+        try (PreparedStatement pstmt = st.prepare(ordersQuery)) {
+            pstmt.setInt(1, employeeId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                orders.add(new AssignedOrderRow(
+                    rs.getInt("order_id"),
+                    rs.getString("customer_name"),
+                    rs.getString("status"),
+                    rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null,
+                    rs.getBigDecimal("total_amount")
+                ));
+            }
+        }
+        return orders;
     }
     
+    
     /**
      * Display Employee Lookup Result
      */
@@ -965,168 +1043,196 @@ public class DashboardController {
     
     /**
      * Run Stone Lookup by ID or Name
+     * By ID, the stone row, its stats and its recent usage are queried in parallel;
+     * by name, stats and usage are queried (in parallel) once the search found a single stone
      */
     private void runStoneLookup(String input) {
-        Task<StoneLookupResult> task = new Task<StoneLookupResult>() {
-            @Override
-            protected StoneLookupResult call() throws Exception {
-                Connection conn = null;
-                try {
-                    conn = DBConnection.getConnection();
-                    StoneLookupResult result = new StoneLookupResult();
-                    
-                    // Check if input is numeric (Stone ID)
-                    boolean isNumeric = input.matches("\\d+");
-                    
-                    if (isNumeric) {
-                        // Search by Stone ID
-                        int stoneId = Integer.parseInt(input);
-                        String query = "SELECT s.\"Stone_ID\", s.\"Name\", s.\"Type\", s.\"Size\", " +
-                                "s.\"Price_Per_Unit\", s.\"Quantity_In_Stock\" " +
-                                "FROM \"Stone\" s WHERE s.\"Stone_ID\" = ?";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                            pstmt.setInt(1, stoneId);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            if (rs.next()) {
-                                result.stoneId = rs.getInt("Stone_ID");
-                                result.stoneName = rs.getString("Name");
-                                result.stoneType = rs.getString("Type");
-                                result.stoneSize = rs.getString("Size");
-                                result.price = rs.getBigDecimal("Price_Per_Unit");
-                                result.quantity = rs.getInt("Quantity_In_Stock");
-                                result.singleResult = true;
-                            } else {
-                                return null;
-                            }
-                        }
-                    } else {
-                        // Search by name using ILIKE
-                        String namePattern = "%" + input + "%";
-                        String query = "SELECT s.\"Stone_ID\", s.\"Name\", s.\"Type\", s.\"Size\", " +
-                                "s.\"Price_Per_Unit\", s.\"Quantity_In_Stock\" " +
-                                "FROM \"Stone\" s " +
-                                "WHERE s.\"Name\" ILIKE ? " +
-                                "ORDER BY s.\"Stone_ID\" LIMIT 20";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                            pstmt.setString(1, namePattern);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            while (rs.next()) {
-                                StoneSearchRow stone = new StoneSearchRow(
-                                    rs.getInt("Stone_ID"),
-                                    rs.getString("Name"),
-                                    rs.getString("Type"),
-                                    rs.getString("Size"),
-                                    rs.getBigDecimal("Price_Per_Unit"),
-                                    rs.getInt("Quantity_In_Stock")
-                                );
-                                result.stones.add(stone);
-                            }
-                            
-                            if (result.stones.isEmpty()) {
-                                return null;
-                            }
-                            
-                            if (result.stones.size() == 1) {
-                                // Auto-select single result
-                                result.singleResult = true;
-                                StoneSearchRow stone = result.stones.get(0);
-                                result.stoneId = stone.getStoneId();
-                                result.stoneName = stone.getStoneName();
-                                result.stoneType = stone.getStoneType();
-                                result.stoneSize = stone.getStoneSize();
-                                result.price = stone.getPrice();
-                                result.quantity = stone.getQuantity();
-                            } else {
-                                result.singleResult = false;
-                            }
-                        }
-                    }
-                    
-                    // If single stone, get stats and recent usage
-                    if (result.singleResult && result.stoneId > 0) {
-                        // Get stats
-                        String statsQuery = "SELECT COUNT(DISTINCT od.\"Order_ID\") AS orders_count, " +
-                                "COALESCE(SUM(od.\"Quantity\"),0) AS total_quantity_sold " +
-                                "FROM \"Order_Details\" od " +
-                                "WHERE od.\"Stone_ID\" = ?";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(statsQuery)) {
-                            pstmt.setInt(1, result.stoneId);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            if (rs.next()) {
-                                result.ordersCount = rs.getInt("orders_count");
-                                result.totalQuantitySold = rs.getInt("total_quantity_sold");
-                            }
-                        }
-                        
-                        // Get recent usage
-                        String usageQuery = "SELECT o.\"Order_ID\" AS order_id, " +
-                                "(c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
-                                "od.\"Quantity\" AS quantity, od.\"Unit_Price\" AS unit_price, " +
-                                "o.\"Order_Date\" AS order_date, o.\"Order_Status\" AS status " +
-                                "FROM \"Order_Details\" od " +
-                                "JOIN \"Orders\" o ON od.\"Order_ID\" = o.\"Order_ID\" " +
-                                "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
-                                "WHERE od.\"Stone_ID\" = ? " +
-                                "ORDER BY o.\"Order_Date\" DESC LIMIT 20";
-                        
-                        try (PreparedStatement pstmt = conn.prepareStatement(usageQuery)) {
-                            pstmt.setInt(1, result.stoneId);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            while (rs.next()) {
-                                StoneOrderRow order = new StoneOrderRow(
-                                    rs.getInt("order_id"),
-                                    rs.getString("customer_name"),
-                                    rs.getInt("quantity"),
-                                    rs.getBigDecimal("unit_price"),
-                                    rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null,
-                                    rs.getString("status")
-                                );
-                                result.recentOrders.add(order);
-                            }
-                        }
-                    }
-                    
-                    return result;
-                    
-                } finally {
-                    if (conn != null) DBConnection.closeConnection(conn);
+        String cacheKey = input.toLowerCase(Locale.ROOT);
+        StoneLookupResult cached = STONE_LOOKUPS.get(cacheKey);
+        if (cached != null) {
+            cancelLookup();
+            displayStoneResult(cached);
+            return;
+        }
+        
+        long cacheGeneration = STONE_LOOKUPS.generation();
+        LookupExecutor.Scope scope = startLookup();
+        
+        CompletableFuture<StoneLookupResult> lookup;
+        if (input.matches("\\d+")) {
+            // Search by Stone ID
+            int stoneId = Integer.parseInt(input);
+            lookup = withStoneUsage(scope, scope.fork(st -> queryStoneById(st, stoneId)), stoneId);
+        } else {
+            // Search by name; if single stone, get stats and recent usage
+            lookup = scope.fork(st -> queryStonesByName(st, input)).thenCompose(result -> {
+                if (result == null || !result.singleResult || result.stoneId <= 0) {
+                    return CompletableFuture.completedFuture(result);
                 }
+                return withStoneUsage(scope, CompletableFuture.completedFuture(result), result.stoneId);
+            });
+        }
+        
+        lookup.thenApply(result -> {
+            STONE_LOOKUPS.put(cacheKey, result, cacheGeneration);
+            return result;
+        }).whenComplete((result, error) ->
+                finishLookup(scope, result, error, "Stone not found", this::displayStoneResult));
+    }
+    
+    /**
+     * Query a stone's stats and recent usage (in parallel) and add them to the stone's result
+     */
+    private static CompletableFuture<StoneLookupResult> withStoneUsage(LookupExecutor.Scope scope,
+                                                                       CompletableFuture<StoneLookupResult> stone,
+                                                                       int stoneId) {
+        CompletableFuture<int[]> stats = scope.fork(st -> queryStoneStats(st, stoneId));
+        CompletableFuture<List<StoneOrderRow>> usage = scope.fork(st -> queryStoneUsage(st, stoneId));
+        
+        return stone.thenCombine(stats, (result, counts) -> {
+            if (result != null) {
+                result.ordersCount = counts[0];
+                result.totalQuantitySold = counts[1];
+            }
+            return result;
+        }).thenCombine(usage, (result, rows) -> {
+            if (result != null) {
+                result.recentOrders.addAll(rows);
             }
+            return result;
+        });
+    }
+    
+    /**
+     * Stone by ID (null if not found)
+     */
+    private static StoneLookupResult queryStoneById(LookupExecutor.Statements st, int stoneId) throws SQLException {
+        String query = "SELECT s.\"Stone_ID\", s.\"Name\", s.\"Type\", s.\"Size\", " +
+                "s.\"Price_Per_Unit\", s.\"Quantity_In_Stock\" " +
+                "FROM \"Stone\" s WHERE s.\"Stone_ID\" = ?";
+        
+        try (PreparedStatement pstmt = st.prepare(query)) {
+            pstmt.setInt(1, stoneId);
+            ResultSet rs = pstmt.executeQuery();
             
-            @Override
-            protected void succeeded() {
-                Platform.runLater(() -> {
-                    StoneLookupResult result = getValue();
-                    if (result == null) {
-                        showAlert(Alert.AlertType.INFORMATION, "No Results", "Stone not found");
-                    } else {
-                        displayStoneResult(result);
-                    }
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
-                });
+            if (!rs.next()) {
+                return null;
             }
+            StoneLookupResult result = new StoneLookupResult();
+            result.stoneId = rs.getInt("Stone_ID");
+            result.stoneName = rs.getString("Name");
+            result.stoneType = rs.getString("Type");
+            result.stoneSize = rs.getString("Size");
+            result.price = rs.getBigDecimal("Price_Per_Unit");
+            result.quantity = rs.getInt("Quantity_In_Stock");
+            result.singleResult = true;
+            return result;
+        }
+    }
+    
+    /**
+     * Stones by name using ILIKE (null if none found)
+     */
+    private static StoneLookupResult queryStonesByName(LookupExecutor.Statements st, String input) throws SQLException {
+        String namePattern = "%" + input + "%";
+        String query = "SELECT s.\"Stone_ID\", s.\"Name\", s.\"Type\", s.\"Size\", " +
+                "s.\"Price_Per_Unit\", s.\"Quantity_In_Stock\" " +
+                "FROM \"Stone\" s " +
+                "WHERE s.\"Name\" ILIKE ? " +
+                "ORDER BY s.\"Stone_ID\" LIMIT 20";
+        StoneLookupResult result = new StoneLookupResult();
+        
+        try (PreparedStatement pstmt = st.prepare(query)) {
+            pstmt.setString(1, namePattern);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                StoneSearchRow stone = new StoneSearchRow(
+                    rs.getInt("Stone_ID"),
+                    rs.getString("Name"),
+                    rs.getString("Type"),
+                    rs.getString("Size"),
+                    rs.getBigDecimal("Price_Per_Unit"),
+                    rs.getInt("Quantity_In_Stock")
+                );
+                result.stones.add(stone);
+            }
+        }
+        
+        if (result.stones.isEmpty()) {
+            return null;
+        }
+        
+        if (result.stones.size() == 1) {
+            // Auto-select single result
+            result.singleResult = true;
+            StoneSearchRow stone = result.stones.get(0);
+            result.stoneId = stone.getStoneId();
+            result.stoneName = stone.getStoneName();
+            result.stoneType = stone.getStoneType();
+            result.stoneSize = stone.getStoneSize();
+            result.price = stone.getPrice();
+            result.quantity = stone.getQuantity();
+        } else {
+            result.singleResult = false;
+        }
+        return result;
+    }
+    
+    /**
+     * Number of orders using a stone and total quantity sold ({orders, quantity})
+     */
+    private static int[] queryStoneStats(LookupExecutor.Statements st, int stoneId) throws SQLException {
+        String statsQuery = "SELECT COUNT(DISTINCT od.\"Order_ID\") AS orders_count, " +
+                "COALESCE(SUM(od.\"Quantity\"),0) AS total_quantity_sold " +
+                "FROM \"Order_Details\" od " +
+                "WHERE od.\"Stone_ID\" = ?";
+        
+        try (PreparedStatement pstmt = st.prepare(statsQuery)) {
+            pstmt.setInt(1, stoneId);
+            ResultSet rs = pstmt.executeQuery();
             
-            @Override
-            protected void failed() {
-                Platform.runLater(() -> {
-                    showAlert(Alert.AlertType.ERROR, "Search Failed", getException().getMessage());
-                    searchBtn.setDisable(false);
-                    clearBtn.setDisable(false);
-                });
+            if (rs.next()) {
+                return new int[] {rs.getInt("orders_count"), rs.getInt("total_quantity_sold")};
             }
-        };
+            return new int[] {0, 0};
+        }
+    }
+    
+    /**
+     * Most recent orders using a stone
+     */
+    private static List<StoneOrderRow> queryStoneUsage(LookupExecutor.Statements st, int stoneId) throws SQLException {
+        String usageQuery = "SELECT o.\"Order_ID\" AS order_id, " +
+                "(c.\"First_Name\" || ' ' || c.\"Last_Name\") AS customer_name, " +
+                "od.\"Quantity\" AS quantity, od.\"Unit_Price\" AS unit_price, " +
+                "o.\"Order_Date\" AS order_date, o.\"Order_Status\" AS status " +
+                "FROM \"Order_Details\" od " +
+                "JOIN \"Orders\" o ON od.\"Order_ID\" = o.\"Order_ID\" " +
+                "JOIN \"Customer\" c ON o.\"Customer_ID\" = c.\"Customer_ID\" " +
+                "WHERE od.\"Stone_ID\" = ? " +
+                "ORDER BY o.\"Order_Date\" DESC LIMIT 20";
+        List<StoneOrderRow> orders = new ArrayList<>();
         
-        new Thread(task).start();
+        try (PreparedStatement pstmt = st.prepare(usageQuery)) {
+            pstmt.setInt(1, stoneId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                orders.add(new StoneOrderRow(
+                    rs.getInt("order_id"),
+                    rs.getString("customer_name"),
+                    rs.getInt("quantity"),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getDate("order_date") != null ? rs.getDate("order_date").toLocalDate() : null,
+                    rs.getString("status")
+                ));
+            }
+        }
+        return orders;
     }
     
+    
     /**
      * Display Stone Lookup Result
      */
@@ -2,6 +2,7 @@ package com.DB.databaseproject.controller;
 
 import com.DB.databaseproject.model.Order;
 import com.DB.databaseproject.service.OrderService;
+import com.DB.databaseproject.util.PagedTableLoader;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -19,6 +20,17 @@ public class ArchiveController {
     
     private final OrderService orderService = OrderService.getInstance();
 
+    // Keyset paging: rows per page and pages kept in memory while scrolling
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    // Maximum number of search results shown
+    private static final int SEARCH_LIMIT = 200;
+
+    // Months of archive shown at first, and added by each "Show Older Orders" click
+    // (only the monthly partitions of the window are read)
+    private static final int WINDOW_MONTHS = 3;
+
     @FXML
     private TextField searchField;
 
@@ -43,8 +55,16 @@ public class ArchiveController {
     @FXML
     private TableColumn<Order, String> statusColumn;
 
+    @FXML
+    private Button olderOrdersButton;
+
     private ObservableList<Order> archiveList;
 
+    private PagedTableLoader<Order> archivePager;
+
+    // First Order_Date shown
+    private LocalDate windowStart = LocalDate.now().withDayOfMonth(1).minusMonths(WINDOW_MONTHS - 1);
+
     /**
      * Initialize method - called automatically after FXML is loaded
      */
@@ -58,11 +78,11 @@ public class ArchiveController {
         // Configure table columns
         setupTableColumns();
 
-        // Load archived orders
-        loadArchivedOrders();
+        // Set the data to the table (the pager loads pages into archiveList as the user scrolls)
+        archivePager = new PagedTableLoader<>(archiveTable, archiveList, Order::getOrderId, PAGE_SIZE, MAX_PAGES);
 
-        // Set the data to the table
-        archiveTable.setItems(archiveList);
+        // Load first page of archived orders
+        loadArchivedOrders();
 
         // Placeholder message when table is empty
         archiveTable.setPlaceholder(new Label("No archived orders"));
@@ -145,12 +165,38 @@ public class ArchiveController {
     }
 
     /**
-     * Load archived orders (Completed, Canceled)
+     * Load archived orders (Completed, Canceled) of the current date window, one page at a time
      */
     private void loadArchivedOrders() {
-        archiveList.clear();
-        archiveList.addAll(orderService.getArchivedOrders());
-        System.out.println("Archived orders loaded from database: " + archiveList.size());
+        LocalDate since = windowStart;
+        archivePager.load((lastSeen, stop, pageSize) ->
+                orderService.getArchivedOrdersPage(lastSeen, stop, pageSize, since));
+        updateOlderOrdersButton();
+        System.out.println("Archived orders since " + since + " loaded from database (first page): " + archiveList.size());
+    }
+
+    /**
+     * Handle Show Older Orders button click
+     * Extends the date window by WINDOW_MONTHS and reloads
+     */
+    @FXML
+    private void onShowOlderOrders() {
+        windowStart = windowStart.minusMonths(WINDOW_MONTHS);
+        if (searchField.getText().isEmpty()) {
+            loadArchivedOrders();
+        } else {
+            searchField.clear(); // the search listener reloads the window
+        }
+    }
+
+    /**
+     * Offer the previous window only while there are archived orders before the current one
+     */
+    private void updateOlderOrdersButton() {
+        if (olderOrdersButton != null) {
+            olderOrdersButton.setText("Show Orders Before " + windowStart);
+            olderOrdersButton.setDisable(!orderService.hasArchivedOrdersBefore(windowStart));
+        }
     }
 
     /**
@@ -168,23 +214,16 @@ public class ArchiveController {
         
         System.out.println("Searching archived orders for: " + searchText);
         
-        // Get all archived orders
-        var allArchivedOrders = orderService.getArchivedOrders();
+        // Search on the server (ID, customer/employee name, status) - best matches first
+        var foundOrders = orderService.searchArchivedOrders(searchText, SEARCH_LIMIT);
         
-        // Filter orders based on search text
-        var filteredOrders = allArchivedOrders.stream()
-            .filter(order -> 
-                String.valueOf(order.getOrderId()).contains(searchText) ||
-                order.getCustomerName().toLowerCase().contains(searchText) ||
-                order.getEmployeeName().toLowerCase().contains(searchText) ||
-                order.getStatus().toLowerCase().contains(searchText)
-            )
-            .toList();
-        
-        // Update table
-        archiveList.clear();
-        archiveList.addAll(filteredOrders);
+        // Update table (paging is off while a search is shown; search covers the whole archive)
+        archivePager.detach();
+        if (olderOrdersButton != null) {
+            olderOrdersButton.setDisable(true);
+        }
+        archiveList.setAll(foundOrders);
         
-        System.out.println("Search results: " + filteredOrders.size() + " archived orders found");
+        System.out.println("Search results: " + foundOrders.size() + " archived orders found");
     }
 }
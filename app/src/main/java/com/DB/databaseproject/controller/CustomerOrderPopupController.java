@@ -1,16 +1,17 @@
 package com.DB.databaseproject.controller;
 
+import com.DB.databaseproject.model.CheckoutResult;
 import com.DB.databaseproject.model.OrderDetails;
 import com.DB.databaseproject.model.Stone;
 import com.DB.databaseproject.service.AuthenticationService;
 import com.DB.databaseproject.service.OrderService;
+import com.DB.databaseproject.util.ImageLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
@@ -71,15 +72,8 @@ public class CustomerOrderPopupController {
     public void setStone(Stone stone) {
         this.selectedStone = stone;
 
-        // Set stone image
-        try {
-            var imageStream = getClass().getResourceAsStream(stone.getImagePath());
-            if (imageStream != null) {
-                stoneImageView.setImage(new Image(imageStream));
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading stone image: " + e.getMessage());
-        }
+        // Set stone image (shared image cache; decoded in the background on first use)
+        ImageLoader.load(stoneImageView, stone.getImagePath(), ImageLoader.POPUP_IMAGE);
 
         // Set stone details
         stoneNameLabel.setText(stone.getName());
@@ -202,9 +196,10 @@ public class CustomerOrderPopupController {
         // Create order in database
         // REQUIREMENT: Customer orders are created with Status='Completed' and Employee_ID=NULL
         int customerId = authService.getCurrentCustomer().getCustomerId();
-        int orderId = orderService.createCustomerOrder(customerId, orderDetailsList);
+        CheckoutResult result = orderService.checkout(customerId, orderDetailsList);
+        int orderId = result.getOrderId();
 
-        if (orderId > 0) {
+        if (result.isSuccess()) {
             // REQUIREMENT: Order created successfully - all DB operations complete
             System.out.println("✅ Customer order placed successfully!");
             System.out.println("Order ID: " + orderId);
@@ -232,6 +227,12 @@ public class CustomerOrderPopupController {
             orderConfirmed = true;
             // REQUIREMENT: Close the popup
             closePopup();
+        } else if (result.isInsufficientStock()) {
+            // Stock ran out between opening the popup and confirming - nothing was written
+            System.err.println("❌ Order rejected - insufficient stock");
+            showError("Order Failed", "Not Enough Stock", 
+                     "Sorry, " + selectedStone.getName() + " no longer has " + quantity + 
+                     " units in stock.\nPlease refresh the shop and try a smaller quantity.");
         } else {
             // Order failed
             System.err.println("❌ Failed to place order");
@@ -1,6 +1,9 @@
 package com.DB.databaseproject.controller;
 
+import com.DB.databaseproject.model.CancellationResult;
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.OrderChange;
+import com.DB.databaseproject.model.OrderDelta;
 import com.DB.databaseproject.service.AuthenticationService;
 import com.DB.databaseproject.service.OrderService;
 import javafx.collections.FXCollections;
@@ -10,6 +13,7 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Controller for Customer Orders View
@@ -46,6 +50,9 @@ public class CustomerOrdersController {
 
     private ObservableList<Order> ordersList;
 
+    // Change marker of the rows on screen (for in-place refresh)
+    private long changeMarker = -1;
+
     /**
      * Initialize method - called automatically after FXML is loaded
      */
@@ -65,6 +72,9 @@ public class CustomerOrdersController {
         // Set the data to the table
         ordersTable.setItems(ordersList);
 
+        // Apply order changes pushed from other workstations until this view is closed
+        setupChangeSubscription();
+
         // Placeholder message when table is empty
         ordersTable.setPlaceholder(new Label("No orders yet"));
 
@@ -211,15 +221,17 @@ public class CustomerOrdersController {
             // Get customer ID from authentication service
             int customerId = authService.getCurrentCustomer().getCustomerId();
             
-            // Call service to cancel order
-            boolean success = orderService.cancelOrder(order.getOrderId(), customerId);
+            // Call service to cancel order (stock is restored in the same transaction)
+            CancellationResult result = orderService.cancelOrder(order.getOrderId(), customerId);
             
-            if (success) {
+            if (result.isCanceled()) {
+                System.out.println("✓ Order canceled - " + result.getUnitsRestored() + " item(s) returned to stock");
+                
                 // Show success message
                 showSuccessDialog("Order canceled successfully");
                 
-                // Refresh the orders table
-                loadSampleData();
+                // Refresh the orders table (only the changed rows)
+                refreshOrders();
             } else {
                 // Show error message
                 showErrorDialog("Failed to cancel order", 
@@ -442,10 +454,57 @@ public class CustomerOrdersController {
         
         if (authService.getCurrentCustomer() != null) {
             int customerId = authService.getCurrentCustomer().getCustomerId();
+            changeMarker = orderService.getOrderChangeMarker();
             ordersList.addAll(orderService.getOrdersByCustomer(customerId));
             System.out.println("Customer orders loaded from database: " + ordersList.size());
         } else {
             System.err.println("⚠️ No customer logged in");
         }
     }
+
+    /**
+     * Subscribe to pushed order changes; unsubscribe when the view leaves the scene
+     */
+    private void setupChangeSubscription() {
+        var subscription = orderService.subscribeOrderChanges(this::onOrderChanges);
+        ordersTable.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                subscription.close();
+            }
+        });
+    }
+
+    /**
+     * Patch the affected rows from the pushed values (e.g. an order moving to Processing/Completed)
+     */
+    private void onOrderChanges(List<OrderChange> changes) {
+        if (authService.getCurrentCustomer() == null) {
+            return;
+        }
+        int customerId = authService.getCurrentCustomer().getCustomerId();
+        if (!OrderChange.applyTo(changes, ordersList, order -> order.getCustomerId() == customerId)) {
+            refreshOrders();
+        }
+    }
+
+    /**
+     * Refresh the table with only the orders changed since the last load/refresh
+     */
+    private void refreshOrders() {
+        if (authService.getCurrentCustomer() == null) {
+            loadSampleData();
+            return;
+        }
+        
+        OrderDelta delta = orderService.getOrderChangesSince(changeMarker);
+        if (delta == null) {
+            loadSampleData();
+            return;
+        }
+        
+        int customerId = authService.getCurrentCustomer().getCustomerId();
+        changeMarker = delta.getMarker();
+        int touched = delta.applyTo(ordersList, order -> order.getCustomerId() == customerId, orderId -> true);
+        System.out.println("Customer orders refreshed in place: " + touched + " row(s) changed");
+    }
 }
@@ -2,18 +2,19 @@ package com.DB.databaseproject.controller;
 
 import com.DB.databaseproject.model.Stone;
 import com.DB.databaseproject.service.StoneService;
+import com.DB.databaseproject.util.ImageLoader;
+import com.DB.databaseproject.util.VirtualGrid;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
@@ -31,10 +32,7 @@ public class CustomerShopController {
     private TextField searchField;
 
     @FXML
-    private ScrollPane scrollPane;
-
-    @FXML
-    private FlowPane stonesFlowPane;
+    private VirtualGrid<Stone> stonesGrid;
 
     private ObservableList<Stone> stonesList;
     private ObservableList<Stone> filteredList;
@@ -50,6 +48,9 @@ public class CustomerShopController {
         stonesList = FXCollections.observableArrayList();
         filteredList = FXCollections.observableArrayList();
 
+        // Cards are created only for the rows on screen and reused while scrolling
+        stonesGrid.setCardFactory(StoneCard::new);
+
         // Load sample stones
         loadSampleStones();
 
@@ -103,99 +104,96 @@ public class CustomerShopController {
     }
 
     /**
-     * Display stones in grid
+     * Display stones in grid (cards on screen are updated in place)
      */
     private void displayStones(ObservableList<Stone> stones) {
-        stonesFlowPane.getChildren().clear();
-
-        for (Stone stone : stones) {
-            VBox stoneCard = createStoneCard(stone);
-            stonesFlowPane.getChildren().add(stoneCard);
-        }
+        stonesGrid.setGridItems(stones);
     }
 
     /**
-     * Create a stone card with image, name, type, size, price, and Buy Now button
+     * Stone card with image, name, type, size, price, and Buy Now button
+     * Built once per visible grid slot and refilled by show() for whichever stone it displays
      */
-    private VBox createStoneCard(Stone stone) {
-        VBox card = new VBox(10);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.getStyleClass().add("stone-card");
-        card.setPrefWidth(220);
-        card.setPadding(new Insets(15));
-
-        // Stone Image (150-200px as requested)
-        ImageView imageView = new ImageView();
-        imageView.setFitWidth(180);
-        imageView.setFitHeight(180);
-        imageView.setPreserveRatio(true);
-        imageView.setSmooth(true);
-        imageView.getStyleClass().add("stone-card-image");
-        
-        // Use the already-loaded image from Stone object
-        Image stoneImage = stone.getImage();
-        if (stoneImage != null) {
-            imageView.setImage(stoneImage);
-            System.out.println("✅ Image loaded for stone: " + stone.getName());
-        } else {
-            System.err.println("⚠️ No image found for stone: " + stone.getName() + " (path: " + stone.getImagePath() + ")");
-            // Set a placeholder or leave empty
+    private final class StoneCard implements VirtualGrid.Card<Stone> {
+        private final VBox card = new VBox(10);
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label typeLabel = new Label();
+        private final Label sizeLabel = new Label();
+        private final Label priceLabel = new Label();
+        private final Button buyButton = new Button();
+        private Stone stone;
+
+        StoneCard() {
+            card.setAlignment(Pos.TOP_CENTER);
+            card.getStyleClass().add("stone-card");
+            // Same width the grid uses to work out its column count
+            card.setPrefWidth(stonesGrid.getCardWidth());
+            card.setPadding(new Insets(15));
+
+            // Stone Image (150-200px as requested)
+            imageView.setFitWidth(180);
+            imageView.setFitHeight(180);
+            imageView.setPreserveRatio(true);
+            imageView.setSmooth(true);
+            imageView.getStyleClass().add("stone-card-image");
+
+            nameLabel.getStyleClass().add("stone-card-name");
+            nameLabel.setWrapText(true);
+            nameLabel.setMaxWidth(180);
+            typeLabel.getStyleClass().add("stone-card-type");
+            sizeLabel.getStyleClass().add("stone-card-size");
+            priceLabel.getStyleClass().add("stone-card-price");
+
+            buyButton.getStyleClass().add("btn-buy-now");
+            buyButton.setMaxWidth(Double.MAX_VALUE);
+            buyButton.setOnAction(e -> handleBuyNow(stone));
+
+            card.getChildren().addAll(imageView, nameLabel, typeLabel, sizeLabel, priceLabel, buyButton);
         }
 
-        // Stone Name
-        Label nameLabel = new Label(stone.getName());
-        nameLabel.getStyleClass().add("stone-card-name");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(180);
-
-        // Stone Type
-        Label typeLabel = new Label("Type: " + stone.getType());
-        typeLabel.getStyleClass().add("stone-card-type");
-
-        // Stone Size
-        Label sizeLabel = new Label("Size: " + stone.getSize());
-        sizeLabel.getStyleClass().add("stone-card-size");
-
-        // Price
-        Label priceLabel = new Label(String.format("$%.2f / unit", stone.getPricePerUnit()));
-        priceLabel.getStyleClass().add("stone-card-price");
-
-        // Buy Now Button
-        // REQUIREMENT: If stock = 0, disable the Buy button for that stone
-        Button buyButton = new Button("Buy Now");
-        buyButton.getStyleClass().add("btn-buy-now");
-        buyButton.setMaxWidth(Double.MAX_VALUE);
-        buyButton.setOnAction(e -> handleBuyNow(stone));
-        
-        // Disable button if out of stock
-        if (stone.getQuantityInStock() <= 0) {
-            buyButton.setDisable(true);
-            buyButton.setText("Out of Stock");
-            buyButton.setStyle("-fx-opacity: 0.5; -fx-cursor: default;");
+        @Override
+        public Node getNode() {
+            return card;
         }
 
-        card.getChildren().addAll(imageView, nameLabel, typeLabel, sizeLabel, priceLabel, buyButton);
-        
-        return card;
+        @Override
+        public void show(Stone stone) {
+            this.stone = stone;
+
+            // Card-sized thumbnail, decoded in the background (placeholder until ready)
+            ImageLoader.load(imageView, stone.getImagePath(), ImageLoader.CARD_THUMBNAIL);
+
+            nameLabel.setText(stone.getName());
+            typeLabel.setText("Type: " + stone.getType());
+            sizeLabel.setText("Size: " + stone.getSize());
+            priceLabel.setText(String.format("$%.2f / unit", stone.getPricePerUnit()));
+
+            // REQUIREMENT: If stock = 0, disable the Buy button for that stone
+            boolean outOfStock = stone.getQuantityInStock() <= 0;
+            buyButton.setDisable(outOfStock);
+            buyButton.setText(outOfStock ? "Out of Stock" : "Buy Now");
+            buyButton.setStyle(outOfStock ? "-fx-opacity: 0.5; -fx-cursor: default;" : "");
+        }
     }
 
     /**
      * Handle search
-     * FIXED: Reloads from database and filters properly to ensure Buy Now buttons remain visible
+     * Filters the in-stock catalog (served from StoneService's in-memory snapshot) so Buy Now buttons remain visible
      */
     @FXML
     private void onSearchStone() {
         String searchText = searchField.getText().toLowerCase().trim();
 
         if (searchText.isEmpty()) {
-            // Clear search - reload all stones from database
-            System.out.println("🔄 Search cleared - reloading all stones from database...");
+            // Clear search - show all stones in stock
+            System.out.println("🔄 Search cleared - showing all stones in stock...");
             stonesList.clear();
             stonesList.addAll(stoneService.getStonesInStock());
             displayStones(stonesList);
             System.out.println("✅ Showing all stones: " + stonesList.size());
         } else {
-            // Filter stones from database
+            // Filter stones in stock
             ObservableList<Stone> allStones = FXCollections.observableArrayList(stoneService.getStonesInStock());
             filteredList.clear();
 
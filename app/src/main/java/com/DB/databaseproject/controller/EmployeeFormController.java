@@ -4,6 +4,7 @@ import com.DB.databaseproject.dao.EmployeeDAO;
 import com.DB.databaseproject.dao.UserDAO;
 import com.DB.databaseproject.model.Employee;
 import com.DB.databaseproject.model.User;
+import com.DB.databaseproject.util.LookupCache;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
@@ -442,6 +443,7 @@ public class EmployeeFormController {
                 return;
             }
             
+            invalidateLookups();
             System.out.println("\n✅ ✅ STEP 1 SUCCESSFUL! ✅ ✅");
             System.out.println("   User created with ID: " + userId);
             
@@ -477,6 +479,7 @@ public class EmployeeFormController {
                 return;
             }
             
+            invalidateLookups();
             System.out.println("\n✅ ✅ STEP 2 SUCCESSFUL! ✅ ✅");
             System.out.println("   Employee created with ID: " + employeeId);
             System.out.println("✅ Employee created successfully with ID: " + employeeId);
@@ -513,6 +516,15 @@ public class EmployeeFormController {
         }
     }
 
+    /**
+     * Drop cached Quick Lookup results after a committed User/Employee write
+     * (the form writes through the DAOs, so EmployeeService does not do it here)
+     */
+    private void invalidateLookups() {
+        LookupCache.invalidate(LookupCache.Source.EMPLOYEES);
+        LookupCache.invalidate(LookupCache.Source.ORDERS);
+    }
+
     /**
      * Update existing employee (EDIT mode)
      */
@@ -549,6 +561,7 @@ public class EmployeeFormController {
                 return;
             }
             
+            invalidateLookups();
             System.out.println("✅ User updated successfully");
             
             // Step 2: Update Employee table
@@ -573,6 +586,7 @@ public class EmployeeFormController {
                 return;
             }
             
+            invalidateLookups();
             System.out.println("✅ Employee updated successfully");
             System.out.println("\n✅ ✅ ✅ UPDATE EMPLOYEE SUCCESSFUL! ✅ ✅ ✅");
             System.out.println("   Employee_ID: " + editEmployeeId);
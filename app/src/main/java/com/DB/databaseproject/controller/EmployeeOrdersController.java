@@ -1,8 +1,12 @@
 package com.DB.databaseproject.controller;
 
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.OrderChange;
+import com.DB.databaseproject.model.OrderDelta;
+import com.DB.databaseproject.model.OrderDetails;
 import com.DB.databaseproject.service.AuthenticationService;
 import com.DB.databaseproject.service.OrderService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -19,6 +23,7 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -53,6 +58,9 @@ public class EmployeeOrdersController {
 
     private ObservableList<Order> ordersList;
 
+    // Change marker of the rows on screen (for in-place refresh)
+    private long changeMarker = -1;
+
     /**
      * Initialize method - called automatically after FXML is loaded
      */
@@ -72,6 +80,9 @@ public class EmployeeOrdersController {
         // Set the data to the table
         ordersTable.setItems(ordersList);
 
+        // Apply order changes pushed from other workstations until this view is closed
+        setupChangeSubscription();
+
         // Placeholder message when table is empty
         ordersTable.setPlaceholder(new Label("No assigned orders yet"));
 
@@ -216,6 +227,7 @@ public class EmployeeOrdersController {
         
         if (authService.getCurrentEmployee() != null) {
             int employeeId = authService.getCurrentEmployee().getEmployeeId();
+            changeMarker = orderService.getOrderChangeMarker();
             ordersList.addAll(orderService.getOrdersByEmployee(employeeId));
             System.out.println("Employee orders loaded from database: " + ordersList.size());
         } else {
@@ -223,6 +235,54 @@ public class EmployeeOrdersController {
         }
     }
 
+    /**
+     * Subscribe to pushed order changes; unsubscribe when the view leaves the scene
+     */
+    private void setupChangeSubscription() {
+        var subscription = orderService.subscribeOrderChanges(this::onOrderChanges);
+        ordersTable.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                subscription.close();
+            }
+        });
+    }
+
+    /**
+     * Patch the affected rows from the pushed values; fetch a delta only when they are not enough
+     * (e.g. an order newly assigned to this employee)
+     */
+    private void onOrderChanges(List<OrderChange> changes) {
+        if (authService.getCurrentEmployee() == null) {
+            return;
+        }
+        int employeeId = authService.getCurrentEmployee().getEmployeeId();
+        if (!OrderChange.applyTo(changes, ordersList, order -> order.getEmployeeId() == employeeId)) {
+            refreshOrders();
+        }
+    }
+
+    /**
+     * Refresh the table with only the orders changed since the last load/refresh
+     * (orders reassigned to someone else disappear, newly assigned ones appear)
+     */
+    private void refreshOrders() {
+        if (authService.getCurrentEmployee() == null) {
+            loadSampleData();
+            return;
+        }
+        
+        OrderDelta delta = orderService.getOrderChangesSince(changeMarker);
+        if (delta == null) {
+            loadSampleData();
+            return;
+        }
+        
+        int employeeId = authService.getCurrentEmployee().getEmployeeId();
+        changeMarker = delta.getMarker();
+        int touched = delta.applyTo(ordersList, order -> order.getEmployeeId() == employeeId, orderId -> true);
+        System.out.println("Employee orders refreshed in place: " + touched + " row(s) changed");
+    }
+
     /**
      * Handle View Details button click
      * @param order The order to view
@@ -265,15 +325,36 @@ public class EmployeeOrdersController {
         );
 
         // Separator
-        Label itemsLabel = new Label("Order Items (Sample):");
+        Label itemsLabel = new Label("Order Items:");
         itemsLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #C2B280;");
 
-        // Sample items table (placeholder)
+        // Items are loaded in the background (batched with other detail requests)
         VBox itemsList = new VBox(5);
-        itemsList.getChildren().addAll(
-            createItemRow("Jerusalem Stone (40x40)", "4 units", "$55.00", "$220.00"),
-            createItemRow("Marble Tile (30x30)", "2 units", "$50.00", "$100.00")
-        );
+        Label loadingLabel = new Label("Loading items...");
+        loadingLabel.setStyle("-fx-text-fill: #888888;");
+        itemsList.getChildren().add(loadingLabel);
+        orderService.loadOrderDetails(order.getOrderId()).whenComplete((lines, error) -> Platform.runLater(() -> {
+            itemsList.getChildren().clear();
+            if (error != null) {
+                loadingLabel.setText("Could not load the order items. Please try again.");
+                loadingLabel.setStyle("-fx-text-fill: #F44336;");
+                itemsList.getChildren().add(loadingLabel);
+                return;
+            }
+            if (lines.isEmpty()) {
+                loadingLabel.setText("No items found");
+                itemsList.getChildren().add(loadingLabel);
+                return;
+            }
+            for (OrderDetails line : lines) {
+                itemsList.getChildren().add(createItemRow(
+                    line.getStoneName(),
+                    line.getQuantity() + " units",
+                    String.format("$%.2f", line.getUnitPrice()),
+                    String.format("$%.2f", line.getSubtotal())
+                ));
+            }
+        }));
 
         // Separator line
         Label separator = new Label("─".repeat(50));
@@ -363,8 +444,8 @@ public class EmployeeOrdersController {
             // Set callback to refresh table when update is successful
             controller.setOnUpdateCallback(success -> {
                 if (success) {
-                    // Reload all orders from database to show updated status
-                    loadSampleData();
+                    // Apply the changed orders to the table to show updated status
+                    refreshOrders();
                     System.out.println("✅ Orders table reloaded after status update");
                 }
             });
@@ -1,7 +1,14 @@
 package com.DB.databaseproject.controller;
 
+import com.DB.databaseproject.model.BulkUpdateResult;
+import com.DB.databaseproject.model.CancellationResult;
+import com.DB.databaseproject.model.Employee;
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.OrderChange;
+import com.DB.databaseproject.model.OrderDelta;
+import com.DB.databaseproject.service.AutoAssignmentService;
 import com.DB.databaseproject.service.OrderService;
+import com.DB.databaseproject.util.PagedTableLoader;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -11,7 +18,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Controller for Orders Management View
@@ -21,6 +32,16 @@ public class OrdersController {
     
     private final OrderService orderService = OrderService.getInstance();
 
+    // Keyset paging: rows per page and pages kept in memory while scrolling
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    // Maximum number of search results shown
+    private static final int SEARCH_LIMIT = 200;
+
+    // Default age (days) offered by Cancel Stale
+    private static final int STALE_ORDER_DAYS = 30;
+
     @FXML
     private TextField searchField;
 
@@ -50,6 +71,12 @@ public class OrdersController {
 
     private ObservableList<Order> ordersList;
 
+    private PagedTableLoader<Order> ordersPager;
+
+    // Change marker of the rows on screen and the orders this view shows (for in-place refresh)
+    private long changeMarker = -1;
+    private Predicate<Order> viewFilter = Order::isActive;
+
     /**
      * Initialize method - called automatically after FXML is loaded
      */
@@ -63,21 +90,56 @@ public class OrdersController {
         // Configure table columns
         setupTableColumns();
 
-        // Load sample data
-        loadSampleData();
-
         // Set the data to the table ONCE - we never change this reference
-        ordersTable.setItems(ordersList);
+        // (the pager loads pages into ordersList as the user scrolls)
+        ordersPager = new PagedTableLoader<>(ordersTable, ordersList, Order::getOrderId, PAGE_SIZE, MAX_PAGES);
+
+        // Load first page of active orders
+        loadSampleData();
 
         // Placeholder message when table is empty
         ordersTable.setPlaceholder(new Label("No orders found"));
 
+        // Several orders can be selected for bulk status update / assignment
+        ordersTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
         // Make table responsive - columns auto-resize to fill available width
         ordersTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         ordersTable.setPrefWidth(Double.MAX_VALUE);
         
         // Setup search field listener for real-time filtering
         setupSearchListener();
+        
+        // Apply order changes pushed from other workstations until this view is closed
+        setupChangeSubscription();
+    }
+    
+    /**
+     * Subscribe to pushed order changes; unsubscribe when the view leaves the scene
+     */
+    private void setupChangeSubscription() {
+        var subscription = orderService.subscribeOrderChanges(this::onOrderChanges);
+        ordersTable.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                subscription.close();
+            }
+        });
+    }
+    
+    /**
+     * Patch the affected rows from the pushed values; fetch a delta only when they are not enough
+     * (new orders, reassignments, missed notifications)
+     */
+    private void onOrderChanges(List<OrderChange> changes) {
+        boolean searching = searchField != null && !searchField.getText().trim().isEmpty();
+        if (searching) {
+            // Search results: only keep the rows already shown up to date
+            OrderChange.applyTo(changes, ordersList, order -> true);
+            return;
+        }
+        if (!OrderChange.applyTo(changes, ordersList, viewFilter)) {
+            refreshOrderTable();
+        }
     }
     
     /**
@@ -342,25 +404,34 @@ public class OrdersController {
     private void loadSampleData() {
         // Load only active orders from database (Pending, Assigned, Processing)
         // Completed and Canceled orders are in Archive
-        ordersList.clear();
-        ordersList.addAll(orderService.getActiveOrders());
+        changeMarker = orderService.getOrderChangeMarker();
+        viewFilter = Order::isActive;
+        ordersPager.load(orderService::getActiveOrdersPage);
         
-        System.out.println("Active orders loaded from database: " + ordersList.size());
+        System.out.println("Active orders loaded from database (first page): " + ordersList.size());
     }
     
     /**
-     * Refresh the order table by reloading data from database
+     * Refresh the order table with only the orders changed since the last load/refresh
+     * (falls back to a full reload if the changes cannot be read)
      */
     private void refreshOrderTable() {
-        System.out.println("\n🔄 Refreshing active orders table from database...");
-        ordersList.clear();
-        ordersList.addAll(orderService.getActiveOrders());
-        System.out.println("✅ Table refreshed: " + ordersList.size() + " active orders loaded\n");
-        
         // Re-apply search filter if search field has text
         if (searchField != null && !searchField.getText().trim().isEmpty()) {
             onSearchOrder();
+            return;
         }
+        
+        OrderDelta delta = orderService.getOrderChangesSince(changeMarker);
+        if (delta == null) {
+            System.out.println("\n🔄 Refreshing active orders table from database...");
+            loadSampleData();
+            return;
+        }
+        
+        changeMarker = delta.getMarker();
+        int touched = delta.applyTo(ordersList, viewFilter, ordersPager::isInWindow);
+        System.out.println("✅ Table refreshed in place: " + touched + " row(s) changed");
     }
 
     /**
@@ -375,22 +446,16 @@ public class OrdersController {
         if (searchText.isEmpty()) {
             // Clear search - reload all orders from database and show them
             System.out.println("🔄 Search cleared - reloading all orders from database...");
-            ordersList.clear();
-            ordersList.addAll(orderService.getAllOrders());
-            System.out.println("✅ Showing all orders: " + ordersList.size());
+            changeMarker = orderService.getOrderChangeMarker();
+            viewFilter = order -> true;
+            ordersPager.load(orderService::getAllOrdersPage);
+            System.out.println("✅ Showing all orders (first page): " + ordersList.size());
         } else {
-            // Filter orders from the current list
-            ObservableList<Order> allOrders = FXCollections.observableArrayList(orderService.getAllOrders());
-            ordersList.clear();
-            
-            for (Order order : allOrders) {
-                if (order.getCustomerName().toLowerCase().contains(searchText.toLowerCase()) ||
-                    order.getEmployeeName().toLowerCase().contains(searchText.toLowerCase()) ||
-                    order.getStatus().toLowerCase().contains(searchText.toLowerCase()) ||
-                    String.valueOf(order.getOrderId()).contains(searchText)) {
-                    ordersList.add(order);
-                }
-            }
+            // Search on the server (ID, customer/employee name, status) - best matches first
+            // (paging is off while a search is shown)
+            List<Order> foundOrders = orderService.searchOrders(searchText, SEARCH_LIMIT);
+            ordersPager.detach();
+            ordersList.setAll(foundOrders);
             
             System.out.println("✅ Found " + ordersList.size() + " orders matching: " + searchText);
         }
@@ -399,6 +464,196 @@ public class OrdersController {
         ordersTable.refresh();
     }
 
+    /**
+     * Handle Update Selected Status button click
+     * All selected orders are updated in one statement; invalid transitions are reported per order
+     */
+    @FXML
+    private void onBulkUpdateStatus() {
+        List<Integer> orderIds = selectedOrderIds();
+        if (orderIds.isEmpty()) {
+            showInfo("No Orders Selected", "Select one or more orders first (Ctrl/Shift + click).");
+            return;
+        }
+        
+        ChoiceDialog<String> dialog = new ChoiceDialog<>("Processing", "Pending", "Processing", "Completed", "Cancelled");
+        dialog.setTitle("Update Selected Orders");
+        dialog.setHeaderText("Update status of " + orderIds.size() + " order(s)");
+        dialog.setContentText("New status:");
+        Optional<String> newStatus = dialog.showAndWait();
+        if (newStatus.isEmpty()) {
+            return;
+        }
+        
+        BulkUpdateResult result = orderService.bulkUpdateOrderStatus(orderIds, newStatus.get());
+        showBulkResult("Status Update", result, orderIds.size());
+        refreshOrderTable();
+    }
+
+    /**
+     * Handle Assign Selected button click
+     * All selected orders are assigned in one statement; Completed orders are reported per order
+     */
+    @FXML
+    private void onBulkAssignEmployee() {
+        List<Integer> orderIds = selectedOrderIds();
+        if (orderIds.isEmpty()) {
+            showInfo("No Orders Selected", "Select one or more orders first (Ctrl/Shift + click).");
+            return;
+        }
+        
+        List<Employee> employees = orderService.getAllEmployees();
+        if (employees.isEmpty()) {
+            showInfo("No Employees", "There are no employees to assign orders to.");
+            return;
+        }
+        
+        // Choice label -> Employee ID
+        Map<String, Integer> choices = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            choices.put(employee.getFullName() + " (#" + employee.getEmployeeId() + ")", employee.getEmployeeId());
+        }
+        
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(choices.keySet().iterator().next(), choices.keySet());
+        dialog.setTitle("Assign Selected Orders");
+        dialog.setHeaderText("Assign " + orderIds.size() + " order(s) to an employee");
+        dialog.setContentText("Employee:");
+        Optional<String> choice = dialog.showAndWait();
+        if (choice.isEmpty()) {
+            return;
+        }
+        
+        BulkUpdateResult result = orderService.bulkAssignEmployee(orderIds, choices.get(choice.get()));
+        showBulkResult("Employee Assignment", result, orderIds.size());
+        refreshOrderTable();
+    }
+
+    /**
+     * Handle Auto-Assign button click
+     * Assigns every unassigned open order to the least loaded employee
+     */
+    @FXML
+    private void onAutoAssign() {
+        int assigned = AutoAssignmentService.getInstance().assignUnassignedOrders();
+        if (assigned == AutoAssignmentService.NO_EMPLOYEES) {
+            showInfo("No Employees", "There are unassigned orders, but no employees to assign them to.");
+            return;
+        }
+        if (assigned < 0) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText("Auto-Assignment Failed");
+            alert.setContentText("No orders were assigned. Please try again.");
+            alert.showAndWait();
+            return;
+        }
+        
+        System.out.println("✓ Auto-assigned " + assigned + " order(s)");
+        showInfo("Auto-Assignment Finished", assigned == 0
+            ? "There are no unassigned orders."
+            : assigned + " order(s) assigned to the least busy employees.");
+        refreshOrderTable();
+    }
+
+    /**
+     * Handle Cancel Stale button click
+     * Cancels every Pending order older than the entered number of days and returns its stock
+     */
+    @FXML
+    private void onCancelStaleOrders() {
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(STALE_ORDER_DAYS));
+        dialog.setTitle("Cancel Stale Orders");
+        dialog.setHeaderText("Cancel Pending orders that were never processed");
+        dialog.setContentText("Older than (days):");
+        Optional<String> input = dialog.showAndWait();
+        if (input.isEmpty()) {
+            return;
+        }
+        
+        int days;
+        try {
+            days = Integer.parseInt(input.get().trim());
+        } catch (NumberFormatException e) {
+            showInfo("Invalid Number", "Please enter the number of days as a whole number.");
+            return;
+        }
+        if (days < 1) {
+            showInfo("Invalid Number", "Please enter at least 1 day.");
+            return;
+        }
+        
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Cancel Stale Orders");
+        confirm.setHeaderText("Cancel all Pending orders older than " + days + " day(s)?");
+        confirm.setContentText("Their stock will be returned to inventory. This cannot be undone.");
+        if (confirm.showAndWait().filter(ButtonType.OK::equals).isEmpty()) {
+            return;
+        }
+        
+        CancellationResult result = orderService.cancelStalePendingOrders(days);
+        if (result.isFailed()) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText("Cancellation Failed");
+            alert.setContentText("No orders were canceled. Please try again.");
+            alert.showAndWait();
+            return;
+        }
+        
+        System.out.println("✓ Canceled " + result.getCanceledCount() + " stale order(s)");
+        showInfo("Stale Orders Canceled", result.getCanceledCount() == 0
+            ? "There are no Pending orders older than " + days + " day(s)."
+            : result.getCanceledCount() + " order(s) canceled.\n"
+                + result.getUnitsRestored() + " item(s) of " + result.getStonesRestored() + " stone(s) returned to stock.");
+        refreshOrderTable();
+    }
+
+    private List<Integer> selectedOrderIds() {
+        return ordersTable.getSelectionModel().getSelectedItems().stream()
+            .map(Order::getOrderId)
+            .toList();
+    }
+
+    /**
+     * Summary of a bulk operation: how many orders were updated and why the others were not
+     */
+    private void showBulkResult(String title, BulkUpdateResult result, int requested) {
+        if (result.getOutcomes().isEmpty()) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(title + " Failed");
+            alert.setContentText("No orders were changed. Please try again.");
+            alert.showAndWait();
+            return;
+        }
+        
+        List<BulkUpdateResult.Outcome> rejected = result.getRejected();
+        StringBuilder details = new StringBuilder();
+        details.append(result.getUpdatedCount()).append(" of ").append(requested).append(" order(s) updated.");
+        if (!rejected.isEmpty()) {
+            details.append("\n\nNot updated:");
+            rejected.stream().limit(10).forEach(outcome ->
+                details.append("\n• Order #").append(outcome.getOrderId()).append(": ").append(outcome.getReason()));
+            if (rejected.size() > 10) {
+                details.append("\n• ... and ").append(rejected.size() - 10).append(" more");
+            }
+        }
+        
+        Alert alert = new Alert(rejected.isEmpty() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+        alert.setTitle(title);
+        alert.setHeaderText(title + " Finished");
+        alert.setContentText(details.toString());
+        alert.showAndWait();
+    }
+
+    private void showInfo(String header, String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Orders");
+        alert.setHeaderText(header);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
     /**
      * Handle Assign Employee button click
      * @param order The order to assign employee to
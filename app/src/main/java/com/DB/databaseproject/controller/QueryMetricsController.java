@@ -0,0 +1,167 @@
+package com.DB.databaseproject.controller;
+
+import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.ImageLoader;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.QueryMetrics;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Controller for Query Metrics View (Admin, READ-ONLY)
+ * Shows per-DAO-method latency percentiles, call/error/row counts, pool usage and lookup cache hit rates
+ * Stone Sales Management System - Stone Premium Dark Theme
+ */
+public class QueryMetricsController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @FXML
+    private Label poolStatsLabel;
+
+    @FXML
+    private Label cacheStatsLabel;
+
+    @FXML
+    private TableView<QueryMetrics.Snapshot> metricsTable;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, String> methodColumn;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> executionsColumn;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> errorsColumn;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> rowsColumn;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> p50Column;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> p95Column;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> p99Column;
+
+    @FXML
+    private TableColumn<QueryMetrics.Snapshot, Long> maxColumn;
+
+    private final ObservableList<QueryMetrics.Snapshot> metricsList = FXCollections.observableArrayList();
+
+    /**
+     * Initialize method - called automatically after FXML is loaded
+     */
+    @FXML
+    public void initialize() {
+        setupTableColumns();
+
+        metricsTable.setItems(metricsList);
+        metricsTable.setPlaceholder(new Label("No queries recorded yet"));
+        metricsTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+
+        onRefresh();
+    }
+
+    /**
+     * Setup table columns with cell value factories
+     */
+    private void setupTableColumns() {
+        methodColumn.setCellValueFactory(new PropertyValueFactory<>("method"));
+        executionsColumn.setCellValueFactory(new PropertyValueFactory<>("executions"));
+        errorsColumn.setCellValueFactory(new PropertyValueFactory<>("errors"));
+        rowsColumn.setCellValueFactory(new PropertyValueFactory<>("rows"));
+
+        p50Column.setCellValueFactory(new PropertyValueFactory<>("p50Micros"));
+        p95Column.setCellValueFactory(new PropertyValueFactory<>("p95Micros"));
+        p99Column.setCellValueFactory(new PropertyValueFactory<>("p99Micros"));
+        maxColumn.setCellValueFactory(new PropertyValueFactory<>("maxMicros"));
+
+        p50Column.setCellFactory(column -> millisCell());
+        p95Column.setCellFactory(column -> millisCell());
+        p99Column.setCellFactory(column -> millisCell());
+        maxColumn.setCellFactory(column -> millisCell());
+    }
+
+    /**
+     * Cell showing a microsecond value in milliseconds
+     */
+    private TableCell<QueryMetrics.Snapshot, Long> millisCell() {
+        return new TableCell<>() {
+            @Override
+            protected void updateItem(Long micros, boolean empty) {
+                super.updateItem(micros, empty);
+                if (empty || micros == null) {
+                    setText(null);
+                } else {
+                    setText(String.format("%.2f", micros / 1000.0));
+                }
+            }
+        };
+    }
+
+    /**
+     * Reload the current metrics
+     */
+    @FXML
+    private void onRefresh() {
+        metricsList.setAll(QueryMetrics.snapshot());
+        poolStatsLabel.setText(DBConnection.getPoolStats().toString());
+
+        StringBuilder cacheStats = new StringBuilder();
+        for (LookupCache.Stats stats : LookupCache.stats()) {
+            if (cacheStats.length() > 0) {
+                cacheStats.append('\n');
+            }
+            cacheStats.append(stats);
+        }
+        if (cacheStats.length() == 0) {
+            cacheStats.append("No lookup caches in use yet");
+        }
+        cacheStats.append('\n').append(ImageLoader.cacheStats());
+        cacheStatsLabel.setText(cacheStats.toString());
+    }
+
+    /**
+     * Clear all counters
+     */
+    @FXML
+    private void onReset() {
+        QueryMetrics.reset();
+        LookupCache.resetStats();
+        onRefresh();
+    }
+
+    /**
+     * Write the current metrics to logs/query-metrics-<timestamp>.txt
+     */
+    @FXML
+    private void onDump() {
+        Path file = Paths.get("logs", "query-metrics-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".txt");
+        try {
+            QueryMetrics.dump(file);
+            showAlert(Alert.AlertType.INFORMATION, "Query Metrics", "Metrics written to:\n" + file.toAbsolutePath());
+        } catch (IOException e) {
+            showAlert(Alert.AlertType.ERROR, "Query Metrics", "Could not write metrics file:\n" + e.getMessage());
+        }
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -3,6 +3,8 @@ package com.DB.databaseproject.controller;
 import com.DB.databaseproject.model.Stone;
 import com.DB.databaseproject.service.StoneService;
 import com.DB.databaseproject.util.CustomDialogs;
+import com.DB.databaseproject.util.ImageLoader;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -53,7 +55,7 @@ public class StonesController {
     private TableColumn<Stone, Integer> quantityColumn;
 
     @FXML
-    private TableColumn<Stone, Image> imageColumn;
+    private TableColumn<Stone, String> imageColumn;
 
     @FXML
     private TableColumn<Stone, Void> actionsColumn;
@@ -168,14 +170,14 @@ public class StonesController {
 
     /**
      * Setup the Image column with ImageView and click-to-preview functionality
-     * Displays small thumbnail (50x50) in table
+     * Displays small thumbnail (50x50) in table, decoded in the background (placeholder until ready)
      * Click on image opens large preview popup with dark theme styling
      * Hand cursor indicates the image is clickable
      */
     private void setupImageColumn() {
         System.out.println("📸 Setting up image column with click handlers...");
-        imageColumn.setCellValueFactory(new PropertyValueFactory<>("image"));
-        imageColumn.setCellFactory(column -> new TableCell<Stone, Image>() {
+        imageColumn.setCellValueFactory(new PropertyValueFactory<>("imagePath"));
+        imageColumn.setCellFactory(column -> new TableCell<Stone, String>() {
             private final ImageView imageView = new ImageView();
             private final HBox container = new HBox(imageView);
 
@@ -195,10 +197,12 @@ public class StonesController {
                 // Add mouse pressed handler (more reliable than clicked for TableCell)
                 imageView.setOnMousePressed(event -> {
                     System.out.println("🖱️ Image mouse pressed in table!");
-                    Image image = imageView.getImage();
-                    if (image != null) {
+                    String imagePath = getItem();
+                    if (imagePath != null && !imagePath.isEmpty()) {
                         System.out.println("✅ Image found, opening preview...");
-                        showLargeImage(image);
+                        // Preview shows the original resolution (decoded in the background)
+                        ImageLoader.load(imagePath, ImageLoader.FULL_SIZE).thenAccept(image ->
+                                Platform.runLater(() -> showLargeImage(image)));
                         event.consume(); // Prevent event from propagating to table
                     } else {
                         System.out.println("⚠️ Image is null, cannot show preview");
@@ -230,13 +234,13 @@ public class StonesController {
             }
 
             @Override
-            protected void updateItem(Image image, boolean empty) {
-                super.updateItem(image, empty);
-                if (empty || image == null) {
+            protected void updateItem(String imagePath, boolean empty) {
+                super.updateItem(imagePath, empty);
+                if (empty || imagePath == null || imagePath.isEmpty()) {
                     setGraphic(null);
                     setText(null);
                 } else {
-                    imageView.setImage(image);
+                    ImageLoader.load(imageView, imagePath, ImageLoader.TABLE_THUMBNAIL);
                     setGraphic(container);
                     setText(null);
                 }
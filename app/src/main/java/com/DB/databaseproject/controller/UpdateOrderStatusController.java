@@ -1,6 +1,7 @@
 package com.DB.databaseproject.controller;
 
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.StatusTransitionResult;
 import com.DB.databaseproject.service.OrderService;
 import com.DB.databaseproject.util.CustomDialogs;
 import javafx.fxml.FXML;
@@ -165,16 +166,19 @@ public class UpdateOrderStatusController {
             return;
         }
 
-        // Update status in database
+        // Update status in database (rejected if someone changed the order since it was loaded)
         String oldStatus = currentOrder.getStatus();
-        boolean success = orderService.updateOrderStatus(currentOrder.getOrderId(), newStatus);
+        StatusTransitionResult result = orderService.transitionOrderStatus(
+            currentOrder.getOrderId(), newStatus, currentOrder.getVersion());
 
-        if (success) {
+        if (result.isUpdated()) {
             System.out.println("✅ Order status updated successfully!");
             System.out.println("╚════════════════════════════════════════════════════════════╝\n");
             
             // Update order object
-            currentOrder.setStatus(newStatus);
+            oldStatus = result.getPreviousStatus();
+            currentOrder.setStatus(result.getNewStatus());
+            currentOrder.setVersion(result.getVersion());
             
             // Show success dialog
             Stage ownerStage = (Stage) updateButton.getScene().getWindow();
@@ -193,6 +197,30 @@ public class UpdateOrderStatusController {
             // Close dialog
             handleCancel();
             
+        } else if (result.getOutcome() == StatusTransitionResult.Outcome.CONFLICT) {
+            System.err.println("❌ Order was changed by someone else (now " + result.getNewStatus() + ")");
+            System.err.println("╚════════════════════════════════════════════════════════════╝\n");
+            
+            // Show the order as it is now
+            currentOrder.setStatus(result.getNewStatus());
+            currentOrder.setVersion(result.getVersion());
+            setOrder(currentOrder);
+            if (onUpdateCallback != null) {
+                onUpdateCallback.accept(true);
+            }
+            
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Update Failed");
+            alert.setHeaderText("Order Was Changed");
+            alert.setContentText(
+                "Order #" + currentOrder.getOrderId() + " was changed by someone else while this dialog was open.\n\n" +
+                "Its status is now '" + result.getNewStatus() + "'. Please review it and try again."
+            );
+            
+            applyDarkThemeToAlert(alert);
+            
+            alert.showAndWait();
+            
         } else {
             System.err.println("❌ Failed to update order status");
             System.err.println("╚════════════════════════════════════════════════════════════╝\n");
@@ -2,6 +2,7 @@ package com.DB.databaseproject.dao;
 
 import com.DB.databaseproject.model.Customer;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -14,6 +15,8 @@ import java.util.List;
  */
 public class CustomerDAO {
 
+    private static final Log LOG = Log.get(CustomerDAO.class);
+
     /**
      * Insert a new customer
      */
@@ -31,15 +34,10 @@ public class CustomerDAO {
         String middleName = names.length > 2 ? names[1] : "";
         String lastName = names.length > 1 ? names[names.length - 1] : "";
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.insert() - Executing INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Parameters:");
-        System.out.println("   User_ID: " + userId);
-        System.out.println("   First_Name: " + firstName);
-        System.out.println("   Middle_Name: " + middleName);
-        System.out.println("   Last_Name: " + lastName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("insert: User_ID={}, First_Name={}, Middle_Name={}, Last_Name={}",
+                    userId, firstName, middleName, lastName);
+        }
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -52,24 +50,19 @@ public class CustomerDAO {
             pstmt.setString(6, customer.getAddress());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
+            LOG.debug("insert: rows affected: {}", rowsAffected);
             
             if (rowsAffected > 0) {
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     int customerId = rs.getInt(1);
-                    System.out.println("✅ Customer created with ID: " + customerId);
-                    System.out.println("═══════════════════════════════════════════════");
+                    LOG.debug("insert: customer created with ID: {}", customerId);
                     return customerId;
                 }
             }
-            System.out.println("═══════════════════════════════════════════════");
             return -1;
         } catch (SQLException e) {
-            System.err.println("❌ INSERT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("insert failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -91,11 +84,7 @@ public class CustomerDAO {
         String middleName = names.length > 2 ? names[1] : "";
         String lastName = names.length > 1 ? names[names.length - 1] : "";
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.update() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Customer_ID: " + customer.getCustomerId());
+        LOG.debug("update: Customer_ID={}", customer.getCustomerId());
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -108,14 +97,10 @@ public class CustomerDAO {
             pstmt.setInt(6, customer.getCustomerId());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("update: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("update failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -129,11 +114,7 @@ public class CustomerDAO {
             WHERE "Customer_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.delete() - Executing DELETE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Customer_ID: " + customerId);
+        LOG.debug("delete: Customer_ID={}", customerId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -141,14 +122,10 @@ public class CustomerDAO {
             pstmt.setInt(1, customerId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("delete: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ DELETE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("delete failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -162,11 +139,7 @@ public class CustomerDAO {
             WHERE "Customer_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.getById() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Customer_ID: " + customerId);
+        LOG.debug("getById: Customer_ID={}", customerId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -176,19 +149,14 @@ public class CustomerDAO {
             
             if (rs.next()) {
                 Customer customer = extractCustomerFromResultSet(rs);
-                System.out.println("✅ Customer found");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: customer found");
                 return customer;
             } else {
-                System.out.println("❌ No customer found with ID: " + customerId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: no customer found with ID: {}", customerId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getById failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -202,11 +170,7 @@ public class CustomerDAO {
             WHERE "User_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.getByUserId() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_ID: " + userId);
+        LOG.debug("getByUserId: User_ID={}", userId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -216,19 +180,14 @@ public class CustomerDAO {
             
             if (rs.next()) {
                 Customer customer = extractCustomerFromResultSet(rs);
-                System.out.println("✅ Customer found");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getByUserId: customer found");
                 return customer;
             } else {
-                System.out.println("❌ No customer found with User_ID: " + userId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getByUserId: no customer found with User_ID: {}", userId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.error("getByUserId failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -242,11 +201,6 @@ public class CustomerDAO {
             ORDER BY "Customer_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.getAll() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        
         List<Customer> customers = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -257,14 +211,10 @@ public class CustomerDAO {
                 customers.add(extractCustomerFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + customers.size() + " customers");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getAll: retrieved {} customers", customers.size());
             return customers;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getAll failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -279,11 +229,7 @@ public class CustomerDAO {
             ORDER BY "Customer_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 CustomerDAO.searchByName() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Search term: " + searchTerm);
+        LOG.debug("searchByName: searchTerm={}", searchTerm);
         
         List<Customer> customers = new ArrayList<>();
         
@@ -297,14 +243,10 @@ public class CustomerDAO {
                 customers.add(extractCustomerFromResultSet(rs));
             }
             
-            System.out.println("✅ Found " + customers.size() + " customers");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("searchByName: found {} customers", customers.size());
             return customers;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("searchByName failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
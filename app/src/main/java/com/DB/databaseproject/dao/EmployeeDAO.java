@@ -2,6 +2,7 @@ package com.DB.databaseproject.dao;
 
 import com.DB.databaseproject.model.Employee;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -15,6 +16,8 @@ import java.util.List;
  */
 public class EmployeeDAO {
 
+    private static final Log LOG = Log.get(EmployeeDAO.class);
+
     /**
      * Insert a new employee
      */
@@ -32,16 +35,10 @@ public class EmployeeDAO {
         String middleName = names.length > 2 ? names[1] : "";
         String lastName = names.length > 1 ? names[names.length - 1] : "";
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.insert() - Executing INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Parameters:");
-        System.out.println("   User_ID: " + userId);
-        System.out.println("   Salary: " + employee.getSalary());
-        System.out.println("   First_Name: " + firstName);
-        System.out.println("   Middle_Name: " + middleName);
-        System.out.println("   Last_Name: " + lastName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("insert: User_ID={}, Salary={}, First_Name={}, Middle_Name={}, Last_Name={}",
+                    userId, employee.getSalary(), firstName, middleName, lastName);
+        }
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -56,24 +53,19 @@ public class EmployeeDAO {
             pstmt.setDate(8, Date.valueOf(employee.getDateHired()));
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
+            LOG.debug("insert: rows affected: {}", rowsAffected);
             
             if (rowsAffected > 0) {
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     int employeeId = rs.getInt(1);
-                    System.out.println("✅ Employee created with ID: " + employeeId);
-                    System.out.println("═══════════════════════════════════════════════");
+                    LOG.debug("insert: employee created with ID: {}", employeeId);
                     return employeeId;
                 }
             }
-            System.out.println("═══════════════════════════════════════════════");
             return -1;
         } catch (SQLException e) {
-            System.err.println("❌ INSERT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("insert failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -95,11 +87,7 @@ public class EmployeeDAO {
         String middleName = names.length > 2 ? names[1] : "";
         String lastName = names.length > 1 ? names[names.length - 1] : "";
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.update() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Employee_ID: " + employee.getEmployeeId());
+        LOG.debug("update: Employee_ID={}", employee.getEmployeeId());
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -114,14 +102,10 @@ public class EmployeeDAO {
             pstmt.setInt(8, employee.getEmployeeId());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("update: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("update failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -132,10 +116,7 @@ public class EmployeeDAO {
      * Since the DB has ON DELETE SET NULL, the orders will be automatically unassigned
      */
     public boolean deleteEmployeeById(int employeeId) throws SQLException {
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.deleteEmployeeById() - Executing DELETE with Order handling");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📝 Employee_ID: " + employeeId);
+        LOG.debug("deleteEmployeeById: Employee_ID={}", employeeId);
         
         Connection conn = null;
         try {
@@ -145,8 +126,6 @@ public class EmployeeDAO {
             // Disable auto-commit for transaction
             conn.setAutoCommit(false);
             
-            System.out.println("🔄 Transaction started (auto-commit disabled)");
-            
             // Step 1: Check how many orders are assigned to this employee
             String checkOrdersSql = """
                 SELECT COUNT(*) FROM "Orders"
@@ -162,7 +141,7 @@ public class EmployeeDAO {
                 }
             }
             
-            System.out.println("📊 Found " + orderCount + " orders assigned to this employee");
+            LOG.debug("deleteEmployeeById: found {} orders assigned to this employee", orderCount);
             
             if (orderCount > 0) {
                 // Step 2: Set all orders to NULL (unassign them)
@@ -172,16 +151,13 @@ public class EmployeeDAO {
                     WHERE "Employee_ID" = ?
                     """;
                 
-                System.out.println("📋 Step 1: Unassigning orders...");
-                System.out.println("   SQL: " + unassignOrdersSql);
-                
                 try (PreparedStatement unassignStmt = conn.prepareStatement(unassignOrdersSql)) {
                     unassignStmt.setInt(1, employeeId);
                     int rowsUpdated = unassignStmt.executeUpdate();
-                    System.out.println("✅ Unassigned " + rowsUpdated + " orders (set Employee_ID to NULL)");
+                    LOG.debug("deleteEmployeeById: unassigned {} orders (set Employee_ID to NULL)", rowsUpdated);
                 }
             } else {
-                System.out.println("✅ No orders assigned to this employee - skipping unassignment step");
+                LOG.debug("deleteEmployeeById: no orders assigned to this employee - skipping unassignment step");
             }
             
             // Step 3: Delete the employee
@@ -190,9 +166,6 @@ public class EmployeeDAO {
                 WHERE "Employee_ID" = ?
                 """;
             
-            System.out.println("\n📋 Step 2: Deleting employee record...");
-            System.out.println("   SQL: " + deleteEmployeeSql);
-            
             int rowsDeleted;
             try (PreparedStatement deleteStmt = conn.prepareStatement(deleteEmployeeSql)) {
                 deleteStmt.setInt(1, employeeId);
@@ -200,38 +173,30 @@ public class EmployeeDAO {
             }
             
             if (rowsDeleted > 0) {
-                System.out.println("✅ Employee record deleted successfully!");
-                
                 // Commit the transaction
                 conn.commit();
-                System.out.println("✅ Transaction committed successfully!");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("deleteEmployeeById: employee {} deleted, transaction committed", employeeId);
                 return true;
             } else {
-                System.err.println("❌ Failed to delete employee - no rows affected");
+                LOG.error("deleteEmployeeById: failed to delete employee - no rows affected");
                 conn.rollback();
-                System.out.println("🔄 Transaction rolled back");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("deleteEmployeeById: transaction rolled back");
                 return false;
             }
             
         } catch (SQLException e) {
-            System.err.println("\n❌ DELETE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("   Error Code: " + e.getErrorCode());
+            LOG.error("deleteEmployeeById failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             
             // Rollback transaction on error
             if (conn != null) {
                 try {
                     conn.rollback();
-                    System.err.println("🔄 Transaction rolled back due to error");
+                    LOG.warn("deleteEmployeeById: transaction rolled back");
                 } catch (SQLException rollbackEx) {
-                    System.err.println("❌ Rollback failed: " + rollbackEx.getMessage());
+                    LOG.error("deleteEmployeeById: rollback failed: {}", rollbackEx.getMessage());
                 }
             }
             
-            System.err.println("═══════════════════════════════════════════════");
             throw e;
         } finally {
             // Restore auto-commit and close connection
@@ -239,9 +204,8 @@ public class EmployeeDAO {
                 try {
                     conn.setAutoCommit(true);
                     conn.close();
-                    System.out.println("✅ Database connection closed successfully!");
                 } catch (SQLException e) {
-                    System.err.println("⚠️  Warning: Error closing connection: " + e.getMessage());
+                    LOG.warn("deleteEmployeeById: error closing connection: {}", e.getMessage());
                 }
             }
         }
@@ -264,11 +228,7 @@ public class EmployeeDAO {
             WHERE "Employee_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.getUserIdByEmployeeId() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Employee_ID: " + employeeId);
+        LOG.debug("getUserIdByEmployeeId: Employee_ID={}", employeeId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -278,19 +238,14 @@ public class EmployeeDAO {
             
             if (rs.next()) {
                 int userId = rs.getInt("User_ID");
-                System.out.println("✅ User_ID found: " + userId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getUserIdByEmployeeId: User_ID found: {}", userId);
                 return userId;
             } else {
-                System.out.println("❌ No User_ID found for Employee_ID: " + employeeId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getUserIdByEmployeeId: no User_ID found for Employee_ID: {}", employeeId);
                 return -1;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getUserIdByEmployeeId failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -304,11 +259,7 @@ public class EmployeeDAO {
             WHERE "Employee_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.getById() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Employee_ID: " + employeeId);
+        LOG.debug("getById: Employee_ID={}", employeeId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -318,19 +269,14 @@ public class EmployeeDAO {
             
             if (rs.next()) {
                 Employee employee = extractEmployeeFromResultSet(rs);
-                System.out.println("✅ Employee found");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: employee found");
                 return employee;
             } else {
-                System.out.println("❌ No employee found with ID: " + employeeId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: no employee found with ID: {}", employeeId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getById failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -344,11 +290,7 @@ public class EmployeeDAO {
             WHERE "User_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.getByUserId() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_ID: " + userId);
+        LOG.debug("getByUserId: User_ID={}", userId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -358,19 +300,14 @@ public class EmployeeDAO {
             
             if (rs.next()) {
                 Employee employee = extractEmployeeFromResultSet(rs);
-                System.out.println("✅ Employee found");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getByUserId: employee found");
                 return employee;
             } else {
-                System.out.println("❌ No employee found with User_ID: " + userId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getByUserId: no employee found with User_ID: {}", userId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getByUserId failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -384,11 +321,6 @@ public class EmployeeDAO {
             ORDER BY "Employee_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.getAll() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        
         List<Employee> employees = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -399,14 +331,10 @@ public class EmployeeDAO {
                 employees.add(extractEmployeeFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + employees.size() + " employees");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getAll: retrieved {} employees", employees.size());
             return employees;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getAll failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -421,11 +349,7 @@ public class EmployeeDAO {
             ORDER BY "Employee_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 EmployeeDAO.searchByName() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Search term: " + searchTerm);
+        LOG.debug("searchByName: searchTerm={}", searchTerm);
         
         List<Employee> employees = new ArrayList<>();
         
@@ -439,14 +363,10 @@ public class EmployeeDAO {
                 employees.add(extractEmployeeFromResultSet(rs));
             }
             
-            System.out.println("✅ Found " + employees.size() + " employees");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("searchByName: found {} employees", employees.size());
             return employees;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("searchByName failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -1,12 +1,24 @@
 package com.DB.databaseproject.dao;
 
+import com.DB.databaseproject.model.BulkUpdateResult;
+import com.DB.databaseproject.model.CancellationResult;
+import com.DB.databaseproject.model.CheckoutResult;
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.OrderDelta;
+import com.DB.databaseproject.model.OrderDetails;
+import com.DB.databaseproject.model.OrderStatus;
+import com.DB.databaseproject.model.StatusTransitionResult;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Orders table
@@ -14,10 +26,22 @@ import java.util.List;
  */
 public class OrderDAO {
 
+    private static final Log LOG = Log.get(OrderDAO.class);
+
     /**
      * Insert a new order
      */
     public int insert(Order order, int customerId, Integer employeeId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return insert(conn, order, customerId, employeeId);
+        }
+    }
+
+    /**
+     * Insert a new order (with transaction support)
+     * This method uses the provided connection to participate in a transaction
+     */
+    public int insert(Connection conn, Order order, int customerId, Integer employeeId) throws SQLException {
         String sql = """
             INSERT INTO "Orders" 
             ("Customer_ID", "Employee_ID", "Order_Status", "Order_Date", "Total_Amount") 
@@ -25,8 +49,7 @@ public class OrderDAO {
             RETURNING "Order_ID"
             """;
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, customerId);
             if (employeeId != null) {
@@ -46,6 +69,119 @@ public class OrderDAO {
         }
     }
 
+    /**
+     * Atomic checkout in ONE statement / ONE round trip:
+     * locks the ordered stones, and only if every stone has enough stock
+     * inserts the Pending (unassigned) order, all its Order_Details rows and decrements stock.
+     * If any stone is missing or short, nothing is written.
+     * 
+     * @param customerId Customer placing the order
+     * @param lines Order lines (stone, quantity, unit price); the same stone may appear more than once
+     * @return new Order_ID, or the stones that were short on stock
+     */
+    public CheckoutResult checkout(int customerId, List<OrderDetails> lines) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return checkout(conn, customerId, lines);
+        }
+    }
+
+    /**
+     * Atomic checkout (with transaction support)
+     */
+    public CheckoutResult checkout(Connection conn, int customerId, List<OrderDetails> lines) throws SQLException {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Checkout needs at least one order line");
+        }
+        
+        String sql = """
+            WITH lines AS (
+                SELECT l.stone_id, l.qty, l.unit_price
+                FROM unnest(?::int[], ?::int[], ?::numeric[]) AS l(stone_id, qty, unit_price)
+            ),
+            demand AS (
+                SELECT stone_id, SUM(qty) AS qty
+                FROM lines
+                GROUP BY stone_id
+            ),
+            locked AS (
+                SELECT s."Stone_ID", s."Quantity_In_Stock"
+                FROM "Stone" s
+                WHERE s."Stone_ID" IN (SELECT stone_id FROM demand)
+                ORDER BY s."Stone_ID"
+                FOR UPDATE
+            ),
+            short AS (
+                SELECT d.stone_id
+                FROM demand d
+                LEFT JOIN locked k ON k."Stone_ID" = d.stone_id
+                WHERE k."Stone_ID" IS NULL OR k."Quantity_In_Stock" < d.qty
+            ),
+            stock AS (
+                UPDATE "Stone" s
+                SET "Quantity_In_Stock" = s."Quantity_In_Stock" - d.qty
+                FROM demand d
+                WHERE s."Stone_ID" = d.stone_id
+                  AND NOT EXISTS (SELECT 1 FROM short)
+                RETURNING s."Stone_ID"
+            ),
+            new_order AS (
+                INSERT INTO "Orders"
+                ("Customer_ID", "Employee_ID", "Order_Status", "Order_Date", "Total_Amount")
+                SELECT ?, NULL, 'Pending', CURRENT_DATE, (SELECT SUM(qty * unit_price) FROM lines)
+                WHERE NOT EXISTS (SELECT 1 FROM short)
+                RETURNING "Order_ID", "Order_Date"
+            ),
+            details AS (
+                INSERT INTO "Order_Details"
+                ("Order_ID", "Order_Date", "Stone_ID", "Quantity", "Unit_Price")
+                SELECT o."Order_ID", o."Order_Date", l.stone_id, l.qty, l.unit_price
+                FROM new_order o CROSS JOIN lines l
+                RETURNING 1
+            )
+            SELECT (SELECT "Order_ID" FROM new_order) AS order_id,
+                   (SELECT array_agg(stone_id ORDER BY stone_id) FROM short) AS short_stone_ids,
+                   (SELECT COUNT(*) FROM details) AS line_count,
+                   (SELECT COUNT(*) FROM stock) AS stock_count
+            """;
+        
+        Integer[] stoneIds = new Integer[lines.size()];
+        Integer[] quantities = new Integer[lines.size()];
+        BigDecimal[] unitPrices = new BigDecimal[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            OrderDetails line = lines.get(i);
+            stoneIds[i] = line.getStoneId();
+            quantities[i] = line.getQuantity();
+            unitPrices[i] = BigDecimal.valueOf(line.getUnitPrice());
+        }
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setArray(1, conn.createArrayOf("integer", stoneIds));
+            pstmt.setArray(2, conn.createArrayOf("integer", quantities));
+            pstmt.setArray(3, conn.createArrayOf("numeric", unitPrices));
+            pstmt.setInt(4, customerId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                int orderId = rs.getInt("order_id");
+                if (!rs.wasNull()) {
+                    for (OrderDetails line : lines) {
+                        line.setOrderId(orderId);
+                    }
+                    return CheckoutResult.success(orderId);
+                }
+                
+                Array shortArray = rs.getArray("short_stone_ids");
+                List<Integer> shortStoneIds = new ArrayList<>();
+                if (shortArray != null) {
+                    for (Integer stoneId : (Integer[]) shortArray.getArray()) {
+                        shortStoneIds.add(stoneId);
+                    }
+                }
+                return CheckoutResult.insufficientStock(shortStoneIds);
+            }
+        }
+    }
+
     /**
      * Create a new order from a custom order
      * Returns the generated Order_ID
@@ -121,14 +257,22 @@ public class OrderDAO {
      * Update order status
      */
     public boolean updateStatus(int orderId, String status) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return updateStatus(conn, orderId, status);
+        }
+    }
+
+    /**
+     * Update order status (with transaction support)
+     */
+    public boolean updateStatus(Connection conn, int orderId, String status) throws SQLException {
         String sql = """
             UPDATE "Orders" 
             SET "Order_Status" = ? 
             WHERE "Order_ID" = ?
             """;
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, status);
             pstmt.setInt(2, orderId);
@@ -138,43 +282,416 @@ public class OrderDAO {
     }
 
     /**
-     * Assign employee to order
+     * Move one order to a new status in one statement, if the transition is allowed
+     *
+     * The current status is read and locked by the statement itself (no read before the write),
+     * and the UPDATE only applies if that status is in allowedFromStatuses and - when
+     * expectedVersion is given - the order still has the version the caller saw.
+     * The result carries the old and new status, the new version and the customer email.
+     *
+     * @param allowedFromStatuses Lower-case statuses the transition to newStatus is allowed from
+     * @param expectedVersion Version the caller last read, or -1 to skip the version check
+     * @return UPDATED, NOT_FOUND, CONFLICT (version changed) or INVALID_TRANSITION (with the current status)
      */
-    public boolean assignEmployee(int orderId, int employeeId) throws SQLException {
+    public StatusTransitionResult transitionStatus(int orderId, String newStatus, Collection<String> allowedFromStatuses,
+                                                   int expectedVersion) throws SQLException {
+        String sql = """
+            WITH current_row AS (
+                SELECT "Order_ID", "Order_Status", "Version"
+                FROM "Orders"
+                WHERE "Order_ID" = ?
+                FOR UPDATE
+            ),
+            updated AS (
+                UPDATE "Orders" o
+                SET "Order_Status" = ?
+                FROM current_row cur
+                WHERE o."Order_ID" = cur."Order_ID"
+                  AND LOWER(cur."Order_Status") = ANY(?::text[])
+                  AND (?::int < 0 OR cur."Version" = ?::int)
+                RETURNING o."Order_ID", o."Customer_ID", o."Version"
+            )
+            SELECT cur."Order_Status" AS previous_status, cur."Version" AS previous_version,
+                   up."Order_ID" IS NOT NULL AS updated, up."Version" AS new_version,
+                   usr."Email", usr."First_Name"
+            FROM current_row cur
+            LEFT JOIN updated up ON up."Order_ID" = cur."Order_ID"
+            LEFT JOIN "Customer" c ON c."Customer_ID" = up."Customer_ID"
+            LEFT JOIN "User" usr ON usr."User_ID" = c."User_ID"
+            """;
+        
+        LOG.debug("transitionStatus: orderID={}, newStatus={}, expectedVersion={}", orderId, newStatus, expectedVersion);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, orderId);
+            pstmt.setString(2, newStatus);
+            pstmt.setArray(3, conn.createArrayOf("text", allowedFromStatuses.toArray(new String[0])));
+            pstmt.setInt(4, expectedVersion);
+            pstmt.setInt(5, expectedVersion);
+            
+            ResultSet rs = pstmt.executeQuery();
+            if (!rs.next()) {
+                return StatusTransitionResult.rejected(StatusTransitionResult.Outcome.NOT_FOUND, orderId, null, -1);
+            }
+            
+            String previousStatus = rs.getString("previous_status");
+            int previousVersion = rs.getInt("previous_version");
+            if (rs.getBoolean("updated")) {
+                return StatusTransitionResult.updated(orderId, previousStatus, newStatus, rs.getInt("new_version"),
+                        rs.getString("Email"), rs.getString("First_Name"));
+            }
+            
+            boolean allowed = previousStatus != null && allowedFromStatuses.contains(previousStatus.toLowerCase());
+            StatusTransitionResult.Outcome outcome = allowed
+                    ? StatusTransitionResult.Outcome.CONFLICT
+                    : StatusTransitionResult.Outcome.INVALID_TRANSITION;
+            return StatusTransitionResult.rejected(outcome, orderId, previousStatus, previousVersion);
+        } catch (SQLException e) {
+            LOG.error("transitionStatus failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Assign employee to order, unless its status is read-only
+     * (checked by the UPDATE itself, so no read before the write)
+     *
+     * @param readOnlyStatuses Lower-case statuses of orders that must not be reassigned
+     * @return true if assigned; false if the order does not exist or is read-only
+     */
+    public boolean assignEmployee(int orderId, int employeeId, Collection<String> readOnlyStatuses) throws SQLException {
         String sql = """
             UPDATE "Orders" 
             SET "Employee_ID" = ? 
             WHERE "Order_ID" = ?
+              AND NOT (LOWER(COALESCE("Order_Status", '')) = ANY(?::text[]))
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 OrderDAO.assignEmployee() - Assigning employee to order");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📝 Order ID: " + orderId);
-        System.out.println("📝 Employee ID: " + employeeId);
+        LOG.debug("assignEmployee: orderID={}, employeeID={}", orderId, employeeId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, employeeId);
             pstmt.setInt(2, orderId);
+            pstmt.setArray(3, conn.createArrayOf("text", readOnlyStatuses.toArray(new String[0])));
             
             int rowsAffected = pstmt.executeUpdate();
             
             if (rowsAffected > 0) {
-                System.out.println("✅ Employee assigned successfully - " + rowsAffected + " row(s) updated");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("assignEmployee: employee assigned successfully - {} row(s) updated", rowsAffected);
                 return true;
             } else {
-                System.err.println("❌ No rows updated - Order ID may not exist");
-                System.err.println("═══════════════════════════════════════════════");
+                LOG.error("assignEmployee: no rows updated - Order ID may not exist or order is read-only");
                 return false;
             }
         } catch (SQLException e) {
-            System.err.println("❌ ASSIGN EMPLOYEE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("assignEmployee failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Move many orders to a new status in one statement
+     *
+     * Only orders whose current status is in allowedFromStatuses are updated; the check runs
+     * in the UPDATE itself, so a concurrent change can not slip an invalid transition through.
+     * Every requested order gets an outcome (updated, or why not), with the customer email
+     * of updated orders for notifications.
+     *
+     * @param orderIds Orders to update (duplicates are ignored)
+     * @param allowedFromStatuses Lower-case statuses the transition to newStatus is allowed from
+     */
+    public BulkUpdateResult bulkUpdateStatus(Collection<Integer> orderIds, String newStatus,
+                                             Collection<String> allowedFromStatuses) throws SQLException {
+        String sql = """
+            WITH requested AS (
+                SELECT DISTINCT unnest(?::int[]) AS "Order_ID"
+            ),
+            updated AS (
+                UPDATE "Orders" o
+                SET "Order_Status" = ?
+                FROM requested r
+                WHERE o."Order_ID" = r."Order_ID"
+                  AND LOWER(o."Order_Status") = ANY(?::text[])
+                RETURNING o."Order_ID", o."Customer_ID"
+            )
+            SELECT r."Order_ID", (cur."Order_ID" IS NOT NULL) AS found, COALESCE(cur."Order_Status", '') AS previous_status,
+                   (upd."Order_ID" IS NOT NULL) AS updated,
+                   u."Email", u."First_Name"
+            FROM requested r
+            LEFT JOIN "Orders" cur ON cur."Order_ID" = r."Order_ID"
+            LEFT JOIN updated upd ON upd."Order_ID" = r."Order_ID"
+            LEFT JOIN "Customer" c ON c."Customer_ID" = upd."Customer_ID"
+            LEFT JOIN "User" u ON u."User_ID" = c."User_ID"
+            ORDER BY r."Order_ID"
+            """;
+        
+        LOG.debug("bulkUpdateStatus: orders={}, newStatus={}", orderIds.size(), newStatus);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setArray(1, conn.createArrayOf("integer", orderIds.toArray(new Integer[0])));
+            pstmt.setString(2, newStatus);
+            pstmt.setArray(3, conn.createArrayOf("text", allowedFromStatuses.toArray(new String[0])));
+            
+            List<BulkUpdateResult.Outcome> outcomes = new ArrayList<>(orderIds.size());
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                boolean found = rs.getBoolean("found");
+                String previousStatus = found ? rs.getString("previous_status") : null;
+                boolean updated = rs.getBoolean("updated");
+                String reason = null;
+                if (!found) {
+                    reason = "Order not found";
+                } else if (!updated && "completed".equalsIgnoreCase(previousStatus)) {
+                    reason = "Completed orders are read-only";
+                } else if (!updated) {
+                    reason = "Invalid status transition: " + previousStatus + " → " + newStatus;
+                }
+                outcomes.add(new BulkUpdateResult.Outcome(rs.getInt("Order_ID"), previousStatus, updated, reason,
+                        rs.getString("Email"), rs.getString("First_Name")));
+            }
+            
+            BulkUpdateResult result = new BulkUpdateResult(outcomes);
+            LOG.debug("bulkUpdateStatus: {} of {} order(s) updated", result.getUpdatedCount(), outcomes.size());
+            return result;
+        } catch (SQLException e) {
+            LOG.error("bulkUpdateStatus failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Assign many orders to one employee in one statement
+     * Completed orders are read-only and are not reassigned.
+     *
+     * @param orderIds Orders to assign (duplicates are ignored)
+     */
+    public BulkUpdateResult bulkAssignEmployee(Collection<Integer> orderIds, int employeeId) throws SQLException {
+        String sql = """
+            WITH requested AS (
+                SELECT DISTINCT unnest(?::int[]) AS "Order_ID"
+            ),
+            employee AS (
+                SELECT "Employee_ID" FROM "Employee" WHERE "Employee_ID" = ?
+            ),
+            updated AS (
+                UPDATE "Orders" o
+                SET "Employee_ID" = e."Employee_ID"
+                FROM requested r, employee e
+                WHERE o."Order_ID" = r."Order_ID"
+                  AND LOWER(COALESCE(o."Order_Status", '')) <> 'completed'
+                RETURNING o."Order_ID"
+            )
+            SELECT r."Order_ID", (cur."Order_ID" IS NOT NULL) AS found, COALESCE(cur."Order_Status", '') AS previous_status,
+                   (upd."Order_ID" IS NOT NULL) AS updated,
+                   EXISTS (SELECT 1 FROM employee) AS employee_exists
+            FROM requested r
+            LEFT JOIN "Orders" cur ON cur."Order_ID" = r."Order_ID"
+            LEFT JOIN updated upd ON upd."Order_ID" = r."Order_ID"
+            ORDER BY r."Order_ID"
+            """;
+        
+        LOG.debug("bulkAssignEmployee: orders={}, employeeID={}", orderIds.size(), employeeId);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setArray(1, conn.createArrayOf("integer", orderIds.toArray(new Integer[0])));
+            pstmt.setInt(2, employeeId);
+            
+            List<BulkUpdateResult.Outcome> outcomes = new ArrayList<>(orderIds.size());
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                boolean found = rs.getBoolean("found");
+                String previousStatus = found ? rs.getString("previous_status") : null;
+                boolean updated = rs.getBoolean("updated");
+                String reason = null;
+                if (!found) {
+                    reason = "Order not found";
+                } else if (!rs.getBoolean("employee_exists")) {
+                    reason = "Employee not found";
+                } else if (!updated && "completed".equalsIgnoreCase(previousStatus)) {
+                    reason = "Completed orders are read-only";
+                } else if (!updated) {
+                    reason = "Order could not be assigned (status " + previousStatus + ")";
+                }
+                outcomes.add(new BulkUpdateResult.Outcome(rs.getInt("Order_ID"), previousStatus, updated, reason,
+                        null, null));
+            }
+            
+            BulkUpdateResult result = new BulkUpdateResult(outcomes);
+            LOG.debug("bulkAssignEmployee: {} of {} order(s) assigned", result.getUpdatedCount(), outcomes.size());
+            return result;
+        } catch (SQLException e) {
+            LOG.error("bulkAssignEmployee failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Open-order load (Pending, Assigned, Processing) of every employee (with transaction support)
+     * @return Employee_ID -> number of open orders (0 for idle employees)
+     */
+    public Map<Integer, Integer> getOpenOrderCounts(Connection conn) throws SQLException {
+        String sql = """
+            SELECT e."Employee_ID", COUNT(o."Order_ID") AS open_orders
+            FROM "Employee" e
+            LEFT JOIN "Orders" o ON o."Employee_ID" = e."Employee_ID"
+                                AND o."Order_Status" IN ('Pending', 'Assigned', 'Processing')
+            GROUP BY e."Employee_ID"
+            ORDER BY e."Employee_ID"
+            """;
+        
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                counts.put(rs.getInt("Employee_ID"), rs.getInt("open_orders"));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Claim the oldest unassigned open orders (with transaction support)
+     * Rows are locked until the transaction ends; rows already locked by another workstation
+     * are skipped, so concurrent callers always get disjoint batches.
+     *
+     * @param limit Maximum number of orders to claim
+     */
+    public List<Integer> claimUnassignedOrders(Connection conn, int limit) throws SQLException {
+        String sql = """
+            SELECT "Order_ID"
+            FROM "Orders"
+            WHERE "Employee_ID" IS NULL
+              AND "Order_Status" IN ('Pending', 'Assigned', 'Processing')
+            ORDER BY "Order_ID"
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+        
+        List<Integer> orderIds = new ArrayList<>(limit);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, limit);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                orderIds.add(rs.getInt("Order_ID"));
+            }
+        }
+        LOG.debug("claimUnassignedOrders: claimed {} order(s)", orderIds.size());
+        return orderIds;
+    }
+
+    /**
+     * Assign each order to its employee in one statement (with transaction support)
+     * Orders that were assigned in the meantime are left alone.
+     *
+     * @param orderIds Orders to assign
+     * @param employeeIds Employee for each order (same position as in orderIds)
+     * @return number of orders assigned
+     */
+    public int assignEmployees(Connection conn, List<Integer> orderIds, List<Integer> employeeIds) throws SQLException {
+        String sql = """
+            UPDATE "Orders" o
+            SET "Employee_ID" = a.employee_id
+            FROM unnest(?::int[], ?::int[]) AS a(order_id, employee_id)
+            WHERE o."Order_ID" = a.order_id
+              AND o."Employee_ID" IS NULL
+            """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setArray(1, conn.createArrayOf("integer", orderIds.toArray(new Integer[0])));
+            pstmt.setArray(2, conn.createArrayOf("integer", employeeIds.toArray(new Integer[0])));
+            
+            int rowsAffected = pstmt.executeUpdate();
+            LOG.debug("assignEmployees: {} of {} order(s) assigned", rowsAffected, orderIds.size());
+            return rowsAffected;
+        }
+    }
+
+    /**
+     * Cancel one Pending order of a customer and return its stock (with transaction support)
+     * @return summary (no order canceled if it does not exist, is not the customer's, or is not Pending)
+     */
+    public CancellationResult cancelPendingOrder(Connection conn, int orderId, int customerId) throws SQLException {
+        LOG.debug("cancelPendingOrder: orderID={}, customerID={}", orderId, customerId);
+        return cancelPendingOrders(conn, "\"Order_ID\" = ? AND \"Customer_ID\" = ?", orderId, customerId);
+    }
+
+    /**
+     * Cancel every Pending order placed before a date and return its stock (with transaction support)
+     * @param orderedBefore Orders with an earlier Order_Date are canceled
+     */
+    public CancellationResult cancelStalePendingOrders(Connection conn, LocalDate orderedBefore) throws SQLException {
+        LOG.debug("cancelStalePendingOrders: orderedBefore={}", orderedBefore);
+        return cancelPendingOrders(conn, "\"Order_Date\" < ?", Date.valueOf(orderedBefore));
+    }
+
+    /**
+     * Cancel the Pending orders matching a condition and restore their stock in one statement
+     *
+     * Only orders still Pending when the UPDATE reaches them are canceled, and stock is returned
+     * for exactly those orders: the Order_Details lines are summed per stone (a stone may appear
+     * in several canceled orders) and applied with one UPDATE "Stone" ... FROM join.
+     *
+     * @param condition Extra WHERE condition on "Orders" with ? placeholders
+     * @param params Values for the placeholders, in order
+     */
+    private CancellationResult cancelPendingOrders(Connection conn, String condition, Object... params)
+            throws SQLException {
+        String sql = """
+            WITH canceled AS (
+                UPDATE "Orders"
+                SET "Order_Status" = 'Canceled'
+                WHERE LOWER("Order_Status") = 'pending'
+                  AND %s
+                RETURNING "Order_ID", "Order_Date"
+            ),
+            restored AS (
+                UPDATE "Stone" s
+                SET "Quantity_In_Stock" = s."Quantity_In_Stock" + d.quantity
+                FROM (SELECT od."Stone_ID", SUM(od."Quantity") AS quantity
+                      FROM "Order_Details" od
+                      JOIN canceled c ON c."Order_ID" = od."Order_ID" AND c."Order_Date" = od."Order_Date"
+                      GROUP BY od."Stone_ID") d
+                WHERE s."Stone_ID" = d."Stone_ID"
+                RETURNING s."Stone_ID", d.quantity
+            )
+            SELECT (SELECT array_agg("Order_ID" ORDER BY "Order_ID") FROM canceled) AS order_ids,
+                   (SELECT COUNT(*) FROM restored) AS stones,
+                   (SELECT COALESCE(SUM(quantity), 0) FROM restored) AS units
+            """.formatted(condition);
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            
+            List<Integer> orderIds = new ArrayList<>();
+            Array array = rs.getArray("order_ids");
+            if (array != null) {
+                for (Integer orderId : (Integer[]) array.getArray()) {
+                    orderIds.add(orderId);
+                }
+            }
+            CancellationResult result = CancellationResult.of(orderIds, rs.getInt("stones"), rs.getInt("units"));
+            LOG.debug("cancelPendingOrders: {}", result);
+            return result;
+        } catch (SQLException e) {
+            LOG.error("cancelPendingOrders failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -183,10 +700,18 @@ public class OrderDAO {
      * Delete an order by ID
      */
     public boolean delete(int orderId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return delete(conn, orderId);
+        }
+    }
+
+    /**
+     * Delete an order by ID (with transaction support)
+     */
+    public boolean delete(Connection conn, int orderId) throws SQLException {
         String sql = "DELETE FROM \"Orders\" WHERE \"Order_ID\" = ?";
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, orderId);
             return pstmt.executeUpdate() > 0;
@@ -198,14 +723,9 @@ public class OrderDAO {
      */
     public Order getById(int orderId) throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Order_ID" = ?
             """;
         
@@ -227,14 +747,9 @@ public class OrderDAO {
      */
     public List<Order> getAll() throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             ORDER BY o."Order_ID" DESC
             """;
         
@@ -256,14 +771,9 @@ public class OrderDAO {
      */
     public List<Order> getByCustomerId(int customerId) throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Customer_ID" = ?
             ORDER BY o."Order_ID" DESC
             """;
@@ -287,14 +797,9 @@ public class OrderDAO {
      */
     public List<Order> getByEmployeeId(int employeeId) throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   u2."First_Name" || ' ' || COALESCE(u2."Last_Name", '') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Employee_ID" = ?
             ORDER BY o."Order_ID" DESC
             """;
@@ -318,14 +823,9 @@ public class OrderDAO {
      */
     public List<Order> getByStatus(String status) throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Order_Status" = ?
             ORDER BY o."Order_ID" DESC
             """;
@@ -350,14 +850,9 @@ public class OrderDAO {
      */
     public List<Order> getActiveOrders() throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Order_Status" IN ('Pending', 'Assigned', 'Processing')
             ORDER BY o."Order_ID" DESC
             """;
@@ -381,14 +876,9 @@ public class OrderDAO {
      */
     public List<Order> getArchivedOrders() throws SQLException {
         String sql = """
-            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount",
-                   u."First_Name" || ' ' || COALESCE(u."Last_Name", '') AS customer_name,
-                   COALESCE(u2."First_Name" || ' ' || COALESCE(u2."Last_Name", ''), 'Unassigned') AS employee_name
-            FROM "Orders" o
-            JOIN "Customer" c ON o."Customer_ID" = c."Customer_ID"
-            JOIN "User" u ON c."User_ID" = u."User_ID"
-            LEFT JOIN "Employee" e ON o."Employee_ID" = e."Employee_ID"
-            LEFT JOIN "User" u2 ON e."User_ID" = u2."User_ID"
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
             WHERE o."Order_Status" IN ('Completed', 'Canceled')
             ORDER BY o."Order_ID" DESC
             """;
@@ -407,53 +897,427 @@ public class OrderDAO {
     }
 
     /**
-     * Get order count
+     * Get one page of all orders, newest first (keyset pagination on Order_ID DESC)
+     * @param lastSeenOrderId Order_ID of the last row of the previous page (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     * @param pageSize Maximum number of rows to return
      */
-    public int getCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM \"Orders\"";
+    public List<Order> getAllPage(int lastSeenOrderId, int stopOrderId, int pageSize) throws SQLException {
+        return getOrdersPage("TRUE", lastSeenOrderId, stopOrderId, pageSize);
+    }
+
+    /**
+     * Get one page of active orders (Pending, Assigned, Processing), newest first
+     * @param lastSeenOrderId Order_ID of the last row of the previous page (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     * @param pageSize Maximum number of rows to return
+     */
+    public List<Order> getActiveOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize) throws SQLException {
+        return getOrdersPage("o.\"Order_Status\" IN ('Pending', 'Assigned', 'Processing')",
+                lastSeenOrderId, stopOrderId, pageSize);
+    }
+
+    /**
+     * Get one page of archived orders (Completed, Canceled), newest first
+     * @param lastSeenOrderId Order_ID of the last row of the previous page (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     * @param pageSize Maximum number of rows to return
+     */
+    public List<Order> getArchivedOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize) throws SQLException {
+        return getOrdersPage("o.\"Order_Status\" IN ('Completed', 'Canceled')", lastSeenOrderId, stopOrderId, pageSize);
+    }
+
+    /**
+     * Get one page of archived orders (Completed, Canceled) placed on or after a date, newest first
+     * The lowest Order_ID of the window is read from the monthly "Orders" partitions of that window
+     * only, so the scan of the summary index stops at the window instead of running through
+     * the older archive.
+     *
+     * @param orderedSince First Order_Date included
+     */
+    public List<Order> getArchivedOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize, LocalDate orderedSince)
+            throws SQLException {
+        Date since = Date.valueOf(orderedSince);
+        return getOrdersPage("""
+                o."Order_Status" IN ('Completed', 'Canceled')
+                  AND o."Order_Date" >= ?
+                  AND o."Order_ID" >= (SELECT MIN(w."Order_ID") FROM "Orders" w WHERE w."Order_Date" >= ?)""",
+                lastSeenOrderId, stopOrderId, pageSize, since, since);
+    }
+
+    /**
+     * Is there any archived order (Completed, Canceled) placed before a date?
+     * Reads only the monthly "Orders" partitions before that date and stops at the first match.
+     */
+    public boolean hasArchivedOrdersBefore(LocalDate orderedBefore) throws SQLException {
+        String sql = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM "Orders"
+                WHERE "Order_Date" < ?
+                  AND "Order_Status" IN ('Completed', 'Canceled')
+            )
+            """;
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            if (rs.next()) {
-                return rs.getInt(1);
+            pstmt.setDate(1, Date.valueOf(orderedBefore));
+            ResultSet rs = pstmt.executeQuery();
+            boolean found = rs.next() && rs.getBoolean(1);
+            LOG.debug("hasArchivedOrdersBefore: {} -> {}", orderedBefore, found);
+            return found;
+        } catch (SQLException e) {
+            LOG.error("hasArchivedOrdersBefore failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Seek to the rows after lastSeenOrderId instead of using OFFSET, so every page costs
+     * the same no matter how deep the user has scrolled (see the Order_Summary indexes in add_order_summary.sql)
+     * @param statusFilter Constant WHERE condition on "Order_Summary" o (never user input), may have ? placeholders
+     * A stopOrderId bounds the page from below as well, so a page dropped from memory can be
+     * fetched again as exactly the key range it covered.
+     * @param filterParams Values for the placeholders of statusFilter, in order
+     */
+    private List<Order> getOrdersPage(String statusFilter, int lastSeenOrderId, int stopOrderId, int pageSize,
+                                      Object... filterParams) throws SQLException {
+        String sql = """
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
+            WHERE %s
+              AND o."Order_ID" < ?
+              AND o."Order_ID" >= ?
+            ORDER BY o."Order_ID" DESC
+            LIMIT ?
+            """.formatted(statusFilter);
+        
+        List<Order> orders = new ArrayList<>(pageSize);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Object param : filterParams) {
+                pstmt.setObject(index++, param);
             }
-            return 0;
+            pstmt.setInt(index++, lastSeenOrderId > 0 ? lastSeenOrderId : Integer.MAX_VALUE);
+            pstmt.setInt(index++, stopOrderId);
+            pstmt.setInt(index, pageSize);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                orders.add(extractOrderFromResultSet(rs));
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("getOrdersPage: lastSeen={}, stop={}, rows={}", lastSeenOrderId, stopOrderId, orders.size());
         }
+        return orders;
     }
 
     /**
-     * Get total revenue
+     * Create the monthly Orders/Order_Details partitions up to some months ahead
+     * (see orders_create_month_partitions in partition_orders_by_month.sql)
+     * @return number of months created
      */
-    public double getTotalRevenue() throws SQLException {
-        String sql = "SELECT SUM(\"Total_Amount\") FROM \"Orders\" WHERE \"Order_Status\" = 'Completed'";
+    public int createMonthPartitions(int monthsAhead) throws SQLException {
+        String sql = """
+            SELECT orders_create_month_partitions(CURRENT_DATE, (CURRENT_DATE + make_interval(months => ?))::date)
+            """;
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            if (rs.next()) {
-                return rs.getDouble(1);
+            pstmt.setInt(1, monthsAhead);
+            ResultSet rs = pstmt.executeQuery();
+            
+            int created = rs.next() ? rs.getInt(1) : 0;
+            LOG.debug("createMonthPartitions: monthsAhead={}, created={}", monthsAhead, created);
+            return created;
+        } catch (SQLException e) {
+            LOG.error("createMonthPartitions failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Search archived orders (Completed, Canceled) on the server, best matches first (see searchOrders)
+     * @param searchTerm Order ID, part of a customer/employee name, or a status prefix
+     * @param limit Maximum number of orders to return
+     */
+    public List<Order> searchArchivedOrders(String searchTerm, int limit) throws SQLException {
+        return searchOrders("o.\"Order_Status\" IN ('Completed', 'Canceled')", searchTerm, limit,
+                OrderStatus.COMPLETED, OrderStatus.CANCELED);
+    }
+
+    /**
+     * Search all orders on the server, best matches first (see searchOrders)
+     * @param searchTerm Order ID, part of a customer/employee name, or a status prefix
+     * @param limit Maximum number of orders to return
+     */
+    public List<Order> searchOrders(String searchTerm, int limit) throws SQLException {
+        return searchOrders("TRUE", searchTerm, limit, OrderStatus.values());
+    }
+
+    /**
+     * Ranking: exact Order_ID match, then customer/employee name matches by trigram similarity
+     * (newest first within the same score), then orders whose status starts with the term
+     * (every status that does, e.g. both Completed and Canceled for "c").
+     * Each branch reads at most `limit` rows from its own index (see add_archive_search_indexes.sql
+     * and add_order_summary.sql),
+     * so the cost does not grow with the number of orders.
+     *
+     * @param statusFilter Constant WHERE condition on "Order_Summary" o (never user input)
+     * @param statuses Statuses the status branch may match (the ones statusFilter lets through)
+     */
+    private List<Order> searchOrders(String statusFilter, String searchTerm, int limit, OrderStatus... statuses)
+            throws SQLException {
+        String sql = """
+            WITH matched_users AS (
+                SELECT u."User_ID",
+                       similarity(LOWER(u."First_Name" || ' ' || COALESCE(u."Last_Name", '')), ?) AS score
+                FROM "User" u
+                WHERE LOWER(u."First_Name" || ' ' || COALESCE(u."Last_Name", '')) LIKE ?
+            ),
+            candidates AS (
+                (SELECT o."Order_ID", 3.0::real AS score
+                 FROM "Order_Summary" o
+                 WHERE o."Order_ID" = ?
+                   AND %1$s)
+                UNION ALL
+                (SELECT o."Order_ID", 1 + mu.score AS score
+                 FROM matched_users mu
+                 JOIN "Customer" c ON c."User_ID" = mu."User_ID"
+                 JOIN "Order_Summary" o ON o."Customer_ID" = c."Customer_ID"
+                 WHERE %1$s
+                 ORDER BY score DESC, o."Order_ID" DESC
+                 LIMIT ?)
+                UNION ALL
+                (SELECT o."Order_ID", 1 + mu.score AS score
+                 FROM matched_users mu
+                 JOIN "Employee" e ON e."User_ID" = mu."User_ID"
+                 JOIN "Order_Summary" o ON o."Employee_ID" = e."Employee_ID"
+                 WHERE %1$s
+                 ORDER BY score DESC, o."Order_ID" DESC
+                 LIMIT ?)
+                UNION ALL
+                (SELECT o."Order_ID", 0.5::real AS score
+                 FROM "Order_Summary" o
+                 WHERE LOWER(o."Order_Status") = ANY(?::text[])
+                   AND %1$s
+                 ORDER BY o."Order_ID" DESC
+                 LIMIT ?)
+            ),
+            ranked AS (
+                SELECT "Order_ID", MAX(score) AS score
+                FROM candidates
+                GROUP BY "Order_ID"
+            )
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM ranked r
+            JOIN "Order_Summary" o ON o."Order_ID" = r."Order_ID"
+            ORDER BY r.score DESC, o."Order_ID" DESC
+            LIMIT ?
+            """.formatted(statusFilter);
+        
+        String term = searchTerm.trim().toLowerCase();
+        LOG.debug("searchOrders: filter={}, term={}, limit={}", statusFilter, term, limit);
+        
+        List<Order> orders = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, term);
+            pstmt.setString(2, "%" + escapeLike(term) + "%");
+            
+            // Order ID branch only for a numeric term
+            Integer orderId = parseOrderId(term);
+            if (orderId != null) {
+                pstmt.setInt(3, orderId);
+            } else {
+                pstmt.setNull(3, Types.INTEGER);
+            }
+            
+            pstmt.setInt(4, limit);
+            pstmt.setInt(5, limit);
+            
+            // Status branch only for the statuses the term is the start of
+            List<String> matchedStatuses = statusesStartingWith(term, statuses);
+            pstmt.setArray(6, conn.createArrayOf("text", matchedStatuses.toArray(new String[0])));
+            pstmt.setInt(7, limit);
+            pstmt.setInt(8, limit);
+            
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                orders.add(extractOrderFromResultSet(rs));
+            }
+            
+            LOG.debug("searchOrders: found {} orders", orders.size());
+            return orders;
+        } catch (SQLException e) {
+            LOG.error("searchOrders failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * @return lower-cased spellings of the statuses that have a spelling starting with term
+     */
+    private static List<String> statusesStartingWith(String term, OrderStatus... statuses) {
+        List<String> matched = new ArrayList<>();
+        for (OrderStatus status : statuses) {
+            boolean matches = false;
+            for (String spelling : status.getSpellings()) {
+                matches |= spelling.toLowerCase().startsWith(term);
+            }
+            if (matches) {
+                for (String spelling : status.getSpellings()) {
+                    matched.add(spelling.toLowerCase());
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * @return the term as an Order_ID, or null if it is not a number
+     */
+    private static Integer parseOrderId(String term) {
+        if (term.isEmpty() || term.length() > 9 || !term.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Integer.parseInt(term);
+    }
+
+    /**
+     * Current change marker: take it BEFORE loading a table, then ask getChangesSince(marker)
+     * on refresh (see add_order_change_tracking.sql)
+     */
+    public long getChangeMarker() throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return readChangeMarker(conn);
+        }
+    }
+
+    /**
+     * Get orders inserted, updated or deleted since a change marker
+     *
+     * The new marker is read first: any transaction not yet visible to that read has an ID
+     * at or above it, so it is picked up by the next call (some rows may be delivered twice).
+     * Changed rows are returned for every status and customer; each view decides what it shows.
+     *
+     * @param marker Marker from getChangeMarker() or a previous delta
+     */
+    public OrderDelta getChangesSince(long marker) throws SQLException {
+        String changedSql = """
+            SELECT o."Order_ID", o."Customer_ID", o."Employee_ID", o."Order_Date", o."Order_Status", o."Total_Amount", o."Version",
+                   o."Customer_Name" AS customer_name, o."Employee_Name" AS employee_name, o."Item_Count"
+            FROM "Order_Summary" o
+            WHERE o."Changed_Txid" >= ?
+            ORDER BY o."Order_ID" DESC
+            """;
+        String deletedSql = """
+            SELECT DISTINCT "Order_ID" FROM "Orders_Deleted"
+            WHERE "Deleted_Txid" >= ?
+            """;
+        
+        List<Order> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            long nextMarker = readChangeMarker(conn);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(changedSql)) {
+                pstmt.setLong(1, marker);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    changed.add(extractOrderFromResultSet(rs));
+                }
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(deletedSql)) {
+                pstmt.setLong(1, marker);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    deleted.add(rs.getInt("Order_ID"));
+                }
+            }
+            
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("getChangesSince: marker={}, changed={}, deleted={}", marker, changed.size(), deleted.size());
             }
-            return 0.0;
+            return new OrderDelta(changed, deleted, nextMarker);
+        } catch (SQLException e) {
+            LOG.error("getChangesSince failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
         }
     }
 
+    /**
+     * Oldest transaction ID still in progress (or the next one, if none is)
+     */
+    private long readChangeMarker(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT txid_snapshot_xmin(txid_current_snapshot())")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Get order count
+     * Read from the counters maintained by add_sales_rollups.sql (no scan of "Orders")
+     */
+    public int getCount() throws SQLException {
+        return (int) getDashboardCounter("orders");
+    }
+
+    /**
+     * Get total revenue (Completed orders)
+     * Read from the counters maintained by add_sales_rollups.sql (no scan of "Orders")
+     */
+    public double getTotalRevenue() throws SQLException {
+        return getDashboardCounter("revenue:" + OrderStatus.COMPLETED.getLabel());
+    }
+
     /**
      * Get pending orders count
+     * Read from the counters maintained by add_sales_rollups.sql (no scan of "Orders")
      */
     public int getPendingCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM \"Orders\" WHERE \"Order_Status\" = 'Pending'";
-        
+        return (int) getDashboardCounter("orders:" + OrderStatus.PENDING.getLabel());
+    }
+
+    /**
+     * Read one "Dashboard_Counters" value (0 if the counter has no row yet)
+     */
+    private double getDashboardCounter(String counterName) throws SQLException {
+        String sql = """
+            SELECT "Value" FROM "Dashboard_Counters" WHERE "Counter_Name" = ?
+            """;
+
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                return rs.getInt(1);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, counterName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getDouble(1) : 0.0;
             }
-            return 0;
+        } catch (SQLException e) {
+            LOG.error("getDashboardCounter failed for {} (SQL State {}): {}", counterName, e.getSQLState(), e.getMessage());
+            throw e;
         }
     }
 
@@ -474,7 +1338,7 @@ public class OrderDAO {
             employeeName = "Unassigned";
         }
         
-        return new Order(
+        Order order = new Order(
             rs.getInt("Order_ID"),
             rs.getInt("Customer_ID"),
             employeeId,
@@ -484,6 +1348,9 @@ public class OrderDAO {
             rs.getDouble("Total_Amount"),
             rs.getString("Order_Status")
         );
+        order.setVersion(rs.getInt("Version"));
+        order.setItemCount(rs.getInt("Item_Count"));
+        return order;
     }
     
     /**
@@ -505,10 +1372,6 @@ public class OrderDAO {
         
         List<com.DB.databaseproject.model.Employee> employees = new ArrayList<>();
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 OrderDAO.getAllEmployees() - Fetching employees for assignment");
-        System.out.println("═══════════════════════════════════════════════");
-        
         try (Connection conn = DBConnection.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
@@ -544,8 +1407,7 @@ public class OrderDAO {
                 employees.add(emp);
             }
             
-            System.out.println("✅ Loaded " + employees.size() + " employees for assignment");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getAllEmployees: loaded {} employees for assignment", employees.size());
         }
         return employees;
     }
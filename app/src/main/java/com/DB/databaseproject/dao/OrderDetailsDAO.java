@@ -2,10 +2,14 @@ package com.DB.databaseproject.dao;
 
 import com.DB.databaseproject.model.OrderDetails;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Order_Details table
@@ -13,37 +17,35 @@ import java.util.List;
  */
 public class OrderDetailsDAO {
 
+    private static final Log LOG = Log.get(OrderDetailsDAO.class);
+
     /**
      * Insert a new order detail
+     * The line is stored with its order's Order_Date (Order_Details is partitioned by it)
      */
     public boolean insert(OrderDetails orderDetail) throws SQLException {
         String sql = """
             INSERT INTO "Order_Details" 
-            ("Order_ID", "Stone_ID", "Quantity", "Unit_Price") 
-            VALUES (?, ?, ?, ?)
+            ("Order_ID", "Order_Date", "Stone_ID", "Quantity", "Unit_Price") 
+            SELECT o."Order_ID", o."Order_Date", ?, ?, ?
+            FROM "Orders" o
+            WHERE o."Order_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 OrderDetailsDAO.insert() - Executing INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, orderDetail.getOrderId());
-            pstmt.setInt(2, orderDetail.getStoneId());
-            pstmt.setInt(3, orderDetail.getQuantity());
-            pstmt.setDouble(4, orderDetail.getUnitPrice());
+            pstmt.setInt(1, orderDetail.getStoneId());
+            pstmt.setInt(2, orderDetail.getQuantity());
+            pstmt.setDouble(3, orderDetail.getUnitPrice());
+            pstmt.setInt(4, orderDetail.getOrderId());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("insert: rows affected: {}", rowsAffected);
             
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ INSERT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("insert failed: {}", e.getMessage());
             throw e;
         }
     }
@@ -53,60 +55,61 @@ public class OrderDetailsDAO {
      * Uses PostgreSQL table structure with proper column names
      */
     public boolean insertBatch(List<OrderDetails> orderDetails) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            boolean inserted = insertBatch(conn, orderDetails);
+            conn.commit();
+            return inserted;
+        }
+    }
+
+    /**
+     * Insert multiple order details (batch insert, with transaction support)
+     * This method uses the provided connection and does NOT commit
+     * Each line is stored with its order's Order_Date (Order_Details is partitioned by it)
+     */
+    public boolean insertBatch(Connection conn, List<OrderDetails> orderDetails) throws SQLException {
         String sql = """
             INSERT INTO "Order_Details" 
-            ("Order_ID", "Stone_ID", "Quantity", "Unit_Price") 
-            VALUES (?, ?, ?, ?)
+            ("Order_ID", "Order_Date", "Stone_ID", "Quantity", "Unit_Price") 
+            SELECT o."Order_ID", o."Order_Date", ?, ?, ?
+            FROM "Orders" o
+            WHERE o."Order_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 OrderDetailsDAO.insertBatch() - Batch INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Inserting " + orderDetails.size() + " order detail(s)");
+        LOG.debug("insertBatch: inserting {} order detail(s)", orderDetails.size());
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             for (OrderDetails detail : orderDetails) {
-                pstmt.setInt(1, detail.getOrderId());
-                pstmt.setInt(2, detail.getStoneId());
-                pstmt.setInt(3, detail.getQuantity());
-                pstmt.setDouble(4, detail.getUnitPrice());
+                pstmt.setInt(1, detail.getStoneId());
+                pstmt.setInt(2, detail.getQuantity());
+                pstmt.setDouble(3, detail.getUnitPrice());
+                pstmt.setInt(4, detail.getOrderId());
                 pstmt.addBatch();
                 
-                double subtotal = detail.getQuantity() * detail.getUnitPrice();
-                System.out.println("   Batch: Order_ID=" + detail.getOrderId() + 
-                                 ", Stone_ID=" + detail.getStoneId() + 
-                                 ", Quantity=" + detail.getQuantity() + 
-                                 ", Unit_Price=$" + detail.getUnitPrice() +
-                                 ", Subtotal(calc)=$" + String.format("%.2f", subtotal));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("insertBatch: Order_ID={}, Stone_ID={}, Quantity={}, Unit_Price={}",
+                            detail.getOrderId(), detail.getStoneId(), detail.getQuantity(), detail.getUnitPrice());
+                }
             }
             
             int[] results = pstmt.executeBatch();
-            conn.commit();
             
-            System.out.println("✅ Batch executed: " + results.length + " row(s) affected");
+            LOG.debug("insertBatch: batch executed: {} row(s) affected", results.length);
             
             // Check if all inserts were successful
             for (int result : results) {
-                if (result <= 0) {
-                    System.err.println("❌ Some batch inserts failed");
-                    System.out.println("═══════════════════════════════════════════════");
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
+                    LOG.error("insertBatch: some batch inserts failed");
                     return false;
                 }
             }
             
-            System.out.println("✅ All order details inserted successfully");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("insertBatch: all order details inserted successfully");
             return true;
         } catch (SQLException e) {
-            System.err.println("❌ BATCH INSERT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.error("insertBatch failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -155,13 +158,21 @@ public class OrderDetailsDAO {
      * Delete all order details for an order
      */
     public boolean deleteByOrderId(int orderId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return deleteByOrderId(conn, orderId);
+        }
+    }
+
+    /**
+     * Delete all order details for an order (with transaction support)
+     */
+    public boolean deleteByOrderId(Connection conn, int orderId) throws SQLException {
         String sql = """
             DELETE FROM "Order_Details" 
             WHERE "Order_ID" = ?
             """;
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, orderId);
             return pstmt.executeUpdate() > 0;
@@ -172,6 +183,15 @@ public class OrderDetailsDAO {
      * Get order details by order ID
      */
     public List<OrderDetails> getByOrderId(int orderId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return getByOrderId(conn, orderId);
+        }
+    }
+
+    /**
+     * Get order details by order ID (with transaction support)
+     */
+    public List<OrderDetails> getByOrderId(Connection conn, int orderId) throws SQLException {
         String sql = """
             SELECT od.*, s."Name" AS stone_name 
             FROM "Order_Details" od 
@@ -180,8 +200,7 @@ public class OrderDetailsDAO {
             """;
         List<OrderDetails> orderDetails = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, orderId);
             ResultSet rs = pstmt.executeQuery();
@@ -193,6 +212,59 @@ public class OrderDetailsDAO {
         return orderDetails;
     }
 
+    /**
+     * Get the order details of many orders in one query
+     * @return lines per order ID, in the order the IDs were given (an order without lines maps to an empty list)
+     */
+    public Map<Integer, List<OrderDetails>> getByOrderIds(Collection<Integer> orderIds) throws SQLException {
+        if (orderIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try (Connection conn = DBConnection.getConnection()) {
+            return getByOrderIds(conn, orderIds);
+        }
+    }
+
+    /**
+     * Get the order details of many orders in one query (with transaction support)
+     * @return lines per order ID, in the order the IDs were given (an order without lines maps to an empty list)
+     */
+    public Map<Integer, List<OrderDetails>> getByOrderIds(Connection conn, Collection<Integer> orderIds) throws SQLException {
+        Map<Integer, List<OrderDetails>> detailsByOrder = new LinkedHashMap<>();
+        for (Integer orderId : orderIds) {
+            detailsByOrder.put(orderId, new ArrayList<>());
+        }
+        if (detailsByOrder.isEmpty()) {
+            return detailsByOrder;
+        }
+
+        String sql = """
+            SELECT od.*, s."Name" AS stone_name
+            FROM "Order_Details" od
+            JOIN "Stone" s ON od."Stone_ID" = s."Stone_ID"
+            WHERE od."Order_ID" = ANY(?::int[])
+            ORDER BY od."Order_ID", od."Order_Detail_ID"
+            """;
+
+        LOG.debug("getByOrderIds: {} order(s)", detailsByOrder.size());
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setArray(1, conn.createArrayOf("integer", detailsByOrder.keySet().toArray(new Integer[0])));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    OrderDetails detail = extractOrderDetailsFromResultSet(rs);
+                    detailsByOrder.get(detail.getOrderId()).add(detail);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("getByOrderIds failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
+            throw e;
+        }
+        return detailsByOrder;
+    }
+
     /**
      * Get order details by stone ID
      */
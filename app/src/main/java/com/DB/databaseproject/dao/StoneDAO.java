@@ -2,6 +2,7 @@ package com.DB.databaseproject.dao;
 
 import com.DB.databaseproject.model.Stone;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -14,6 +15,8 @@ import java.util.List;
  */
 public class StoneDAO {
 
+    private static final Log LOG = Log.get(StoneDAO.class);
+
     /**
      * Insert a new stone
      */
@@ -24,16 +27,10 @@ public class StoneDAO {
             VALUES (?, ?, ?, ?, ?, ?)
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.insert() - Executing INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Parameters:");
-        System.out.println("   Name: " + stone.getName());
-        System.out.println("   Type: " + stone.getType());
-        System.out.println("   Size: " + stone.getSize());
-        System.out.println("   Quantity: " + stone.getQuantityInStock());
-        System.out.println("   Price: " + stone.getPricePerUnit());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("insert: Name={}, Type={}, Size={}, Quantity={}, Price={}",
+                    stone.getName(), stone.getType(), stone.getSize(), stone.getQuantityInStock(), stone.getPricePerUnit());
+        }
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -46,24 +43,19 @@ public class StoneDAO {
             pstmt.setString(6, stone.getImagePath());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
+            LOG.debug("insert: rows affected: {}", rowsAffected);
             
             if (rowsAffected > 0) {
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     int stoneId = rs.getInt(1);
-                    System.out.println("✅ Stone created with ID: " + stoneId);
-                    System.out.println("═══════════════════════════════════════════════");
+                    LOG.debug("insert: stone created with ID: {}", stoneId);
                     return stoneId;
                 }
             }
-            System.out.println("═══════════════════════════════════════════════");
             return -1;
         } catch (SQLException e) {
-            System.err.println("❌ INSERT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("insert failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -79,11 +71,7 @@ public class StoneDAO {
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.update() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stone.getStoneId());
+        LOG.debug("update: Stone_ID={}", stone.getStoneId());
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -97,14 +85,10 @@ public class StoneDAO {
             pstmt.setInt(7, stone.getStoneId());
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("update: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("update failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -119,12 +103,7 @@ public class StoneDAO {
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.countOrdersUsingStone()");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
-        System.out.println("📋 Target Table: Order_Details");
+        LOG.debug("countOrdersUsingStone: Stone_ID={}", stoneId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -134,23 +113,17 @@ public class StoneDAO {
             
             if (rs.next()) {
                 int count = rs.getInt(1);
-                System.out.println("✅ Order_Details records using this stone: " + count);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("countOrdersUsingStone: Order_Details records using this stone: {}", count);
                 return count;
             }
-            System.out.println("═══════════════════════════════════════════════");
             return 0;
         } catch (SQLException e) {
-            System.err.println("❌ COUNT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
+            LOG.error("countOrdersUsingStone failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             // If column doesn't exist (42703), return 0 instead of throwing
             if ("42703".equals(e.getSQLState())) {
-                System.err.println("⚠️  Stone_ID column not found in Order_Details table - returning 0");
-                System.err.println("═══════════════════════════════════════════════");
+                LOG.warn("countOrdersUsingStone: Stone_ID column not found in Order_Details table - returning 0");
                 return 0;
             }
-            System.err.println("═══════════════════════════════════════════════");
             throw e;
         }
     }
@@ -160,33 +133,32 @@ public class StoneDAO {
      * This must be called before deleting a stone to avoid foreign key constraint violations
      */
     public int unassignStoneFromOrders(int stoneId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return unassignStoneFromOrders(conn, stoneId);
+        }
+    }
+
+    /**
+     * Unassign stone from all order details (with transaction support)
+     */
+    public int unassignStoneFromOrders(Connection conn, int stoneId) throws SQLException {
         String sql = """
             UPDATE "Order_Details"
             SET "Stone_ID" = NULL
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.unassignStoneFromOrders()");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
-        System.out.println("📋 Target Table: Order_Details");
+        LOG.debug("unassignStoneFromOrders: Stone_ID={}", stoneId);
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, stoneId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Order_Details records updated: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("unassignStoneFromOrders: Order_Details records updated: {}", rowsAffected);
             return rowsAffected;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("unassignStoneFromOrders failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -195,31 +167,31 @@ public class StoneDAO {
      * Delete a stone by ID (after unassigning from orders)
      */
     public boolean delete(int stoneId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return delete(conn, stoneId);
+        }
+    }
+
+    /**
+     * Delete a stone by ID (with transaction support)
+     */
+    public boolean delete(Connection conn, int stoneId) throws SQLException {
         String sql = """
             DELETE FROM "Stone"
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.delete() - Executing DELETE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
+        LOG.debug("delete: Stone_ID={}", stoneId);
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, stoneId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("delete: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ DELETE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("delete failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -233,11 +205,7 @@ public class StoneDAO {
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.getById() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
+        LOG.debug("getById: Stone_ID={}", stoneId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -247,19 +215,14 @@ public class StoneDAO {
             
             if (rs.next()) {
                 Stone stone = extractStoneFromResultSet(rs);
-                System.out.println("✅ Stone found: " + stone.getName());
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: stone found: {}", stone.getName());
                 return stone;
             } else {
-                System.out.println("❌ No stone found with ID: " + stoneId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: no stone found with ID: {}", stoneId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getById failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -273,11 +236,6 @@ public class StoneDAO {
             ORDER BY "Stone_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.getAll() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        
         List<Stone> stones = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -288,14 +246,10 @@ public class StoneDAO {
                 stones.add(extractStoneFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + stones.size() + " stones");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getAll: retrieved {} stones", stones.size());
             return stones;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getAll failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -310,11 +264,6 @@ public class StoneDAO {
             ORDER BY "Stone_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.getStonesInStock() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        
         List<Stone> stones = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -325,14 +274,10 @@ public class StoneDAO {
                 stones.add(extractStoneFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + stones.size() + " stones in stock");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getStonesInStock: retrieved {} stones in stock", stones.size());
             return stones;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getStonesInStock failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -347,11 +292,7 @@ public class StoneDAO {
             ORDER BY "Stone_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.searchByName() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Search term: " + searchTerm);
+        LOG.debug("searchByName: searchTerm={}", searchTerm);
         
         List<Stone> stones = new ArrayList<>();
         
@@ -365,14 +306,10 @@ public class StoneDAO {
                 stones.add(extractStoneFromResultSet(rs));
             }
             
-            System.out.println("✅ Found " + stones.size() + " stones");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("searchByName: found {} stones", stones.size());
             return stones;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("searchByName failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -387,12 +324,7 @@ public class StoneDAO {
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.updateStock() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
-        System.out.println("📝 New Quantity: " + newQuantity);
+        LOG.debug("updateStock: Stone_ID={}, newQuantity={}", stoneId, newQuantity);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -401,14 +333,10 @@ public class StoneDAO {
             pstmt.setInt(2, stoneId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("updateStock: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("updateStock failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -417,35 +345,35 @@ public class StoneDAO {
      * Decrease stone stock (for orders)
      */
     public boolean decreaseStock(int stoneId, int quantity) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return decreaseStock(conn, stoneId, quantity);
+        }
+    }
+
+    /**
+     * Decrease stone stock (with transaction support)
+     * Only succeeds if enough stock is available
+     */
+    public boolean decreaseStock(Connection conn, int stoneId, int quantity) throws SQLException {
         String sql = """
             UPDATE "Stone"
             SET "Quantity_In_Stock" = "Quantity_In_Stock" - ?
             WHERE "Stone_ID" = ? AND "Quantity_In_Stock" >= ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.decreaseStock() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
-        System.out.println("📝 Decrease by: " + quantity);
+        LOG.debug("decreaseStock: Stone_ID={}, decreaseBy={}", stoneId, quantity);
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, quantity);
             pstmt.setInt(2, stoneId);
             pstmt.setInt(3, quantity);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("decreaseStock: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("decreaseStock failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -454,34 +382,33 @@ public class StoneDAO {
      * Increase stone stock (for order cancellations)
      */
     public boolean increaseStock(int stoneId, int quantity) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return increaseStock(conn, stoneId, quantity);
+        }
+    }
+
+    /**
+     * Increase stone stock (with transaction support)
+     */
+    public boolean increaseStock(Connection conn, int stoneId, int quantity) throws SQLException {
         String sql = """
             UPDATE "Stone"
             SET "Quantity_In_Stock" = "Quantity_In_Stock" + ?
             WHERE "Stone_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.increaseStock() - Executing UPDATE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Stone_ID: " + stoneId);
-        System.out.println("📝 Increase by: " + quantity);
+        LOG.debug("increaseStock: Stone_ID={}, increaseBy={}", stoneId, quantity);
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, quantity);
             pstmt.setInt(2, stoneId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("increaseStock: rows affected: {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ UPDATE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("increaseStock failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -522,11 +449,7 @@ public class StoneDAO {
             ORDER BY "Stone_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 StoneDAO.filterByType() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Type: " + type);
+        LOG.debug("filterByType: Type={}", type);
         
         List<Stone> stones = new ArrayList<>();
         
@@ -540,14 +463,10 @@ public class StoneDAO {
                 stones.add(extractStoneFromResultSet(rs));
             }
             
-            System.out.println("✅ Found " + stones.size() + " stones of type: " + type);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("filterByType: found {} stones of type: {}", stones.size(), type);
             return stones;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("filterByType failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -568,10 +487,11 @@ public class StoneDAO {
 
     /**
      * Get total inventory value
+     * Read from the counter maintained by add_sales_rollups.sql (no scan of "Stone")
      */
     public double getTotalInventoryValue() throws SQLException {
         String sql = """
-            SELECT SUM("Quantity_In_Stock" * "Price_Per_Unit") FROM "Stone"
+            SELECT "Value" FROM "Dashboard_Counters" WHERE "Counter_Name" = 'inventory_value'
             """;
         
         try (Connection conn = DBConnection.getConnection();
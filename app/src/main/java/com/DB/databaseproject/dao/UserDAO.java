@@ -2,6 +2,7 @@ package com.DB.databaseproject.dao;
 
 import com.DB.databaseproject.model.User;
 import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -14,6 +15,8 @@ import java.util.List;
  */
 public class UserDAO {
 
+    private static final Log LOG = Log.get(UserDAO.class);
+
     /**
      * Insert a new user into the database
      */
@@ -25,22 +28,8 @@ public class UserDAO {
             RETURNING "User_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.insert() - Executing INSERT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 Executing SQL:");
-        System.out.println(sql);
-        System.out.println("📝 Parameters:");
-        System.out.println("   [1] User_Name: '" + user.getUserName() + "'");
-        System.out.println("   [2] Password: '" + user.getPassword() + "'");
-        System.out.println("   [3] Phone_Number: '" + user.getPhoneNumber() + "'");
-        System.out.println("   [4] Email: '" + user.getEmail() + "'");
-        System.out.println("   [5] First_Name: '" + user.getFirstName() + "'");
-        System.out.println("   [6] Middle_Name: '" + user.getMiddleName() + "'");
-        System.out.println("   [7] Last_Name: '" + user.getLastName() + "'");
-        System.out.println("   [8] Role: '" + user.getRole() + "' (cast to ::user_role)");
-        System.out.println("   [9] Address: '" + user.getAddress() + "'");
-        System.out.println("⚡ Executing query...");
+        // Password is never logged
+        LOG.debug("insert: User_Name='{}', Email='{}', Role='{}'", user.getUserName(), user.getEmail(), user.getRole());
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -59,22 +48,14 @@ public class UserDAO {
             
             if (rs.next()) {
                 int userId = rs.getInt("User_ID");
-                System.out.println("✅ SUCCESS! User created with ID: " + userId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("insert: created User_ID={}", userId);
                 return userId;
             } else {
-                System.err.println("❌ No User_ID returned from INSERT");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.error("insert: no User_ID returned from INSERT");
                 return -1;
             }
         } catch (SQLException e) {
-            System.err.println("\n❌ ❌ ❌ EMPLOYEE ADD ERROR - STEP 1 FAILED ❌ ❌ ❌");
-            System.err.println("   Failed to insert User record");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("   Error Code: " + e.getErrorCode());
-            System.err.println("   Failed Role value: '" + user.getRole() + "'");
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("insert failed for Role '{}' (SQL State {}): {}", user.getRole(), e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -110,13 +91,9 @@ public class UserDAO {
                 """;
         }
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.update() - Executing UPDATE");
-        System.out.println("   Update Password: " + updatePassword);
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 Executing SQL:");
-        System.out.println(sql);
-        System.out.println("📝 Parameters:");
+        // Password is never logged
+        LOG.debug("update: User_ID={}, User_Name='{}', Role='{}', updatePassword={}",
+                user.getUserId(), user.getUserName(), user.getRole(), updatePassword);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -124,50 +101,25 @@ public class UserDAO {
             int paramIndex = 1;
             
             pstmt.setString(paramIndex++, user.getUserName());
-            System.out.println("   [" + (paramIndex - 1) + "] User_Name: '" + user.getUserName() + "'");
             
             if (updatePassword) {
                 pstmt.setString(paramIndex++, user.getPassword());
-                System.out.println("   [" + (paramIndex - 1) + "] Password: '" + user.getPassword() + "'");
             }
             
             pstmt.setString(paramIndex++, user.getPhoneNumber());
-            System.out.println("   [" + (paramIndex - 1) + "] Phone_Number: '" + user.getPhoneNumber() + "'");
-            
             pstmt.setString(paramIndex++, user.getEmail());
-            System.out.println("   [" + (paramIndex - 1) + "] Email: '" + user.getEmail() + "'");
-            
             pstmt.setString(paramIndex++, user.getFirstName());
-            System.out.println("   [" + (paramIndex - 1) + "] First_Name: '" + user.getFirstName() + "'");
-            
             pstmt.setString(paramIndex++, user.getMiddleName());
-            System.out.println("   [" + (paramIndex - 1) + "] Middle_Name: '" + user.getMiddleName() + "'");
-            
             pstmt.setString(paramIndex++, user.getLastName());
-            System.out.println("   [" + (paramIndex - 1) + "] Last_Name: '" + user.getLastName() + "'");
-            
             pstmt.setString(paramIndex++, user.getRole());
-            System.out.println("   [" + (paramIndex - 1) + "] Role: '" + user.getRole() + "' (cast to ::user_role)");
-            
             pstmt.setString(paramIndex++, user.getAddress());
-            System.out.println("   [" + (paramIndex - 1) + "] Address: '" + user.getAddress() + "'");
-            
             pstmt.setInt(paramIndex++, user.getUserId());
-            System.out.println("   [" + (paramIndex - 1) + "] User_ID (WHERE): " + user.getUserId());
-            
-            System.out.println("⚡ Executing query...");
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ SUCCESS! Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("update: rows affected {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("\n❌ ❌ ❌ UPDATE ERROR ❌ ❌ ❌");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("   Error Code: " + e.getErrorCode());
-            System.err.println("   Failed Role value: '" + user.getRole() + "'");
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("update failed for User_ID {} (SQL State {}): {}", user.getUserId(), e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -181,11 +133,7 @@ public class UserDAO {
             WHERE "User_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.delete() - Executing DELETE");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_ID: " + userId);
+        LOG.debug("delete: User_ID={}", userId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -193,14 +141,10 @@ public class UserDAO {
             pstmt.setInt(1, userId);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Rows affected: " + rowsAffected);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("delete: rows affected {}", rowsAffected);
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ DELETE ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("delete failed for User_ID {} (SQL State {}): {}", userId, e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -221,11 +165,7 @@ public class UserDAO {
             WHERE "User_ID" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.getById() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_ID: " + userId);
+        LOG.debug("getById: User_ID={}", userId);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -234,20 +174,13 @@ public class UserDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                User user = extractUserFromResultSet(rs);
-                System.out.println("✅ User found: " + user.getUserName());
-                System.out.println("═══════════════════════════════════════════════");
-                return user;
+                return extractUserFromResultSet(rs);
             } else {
-                System.out.println("❌ No user found with ID: " + userId);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getById: no user found with ID {}", userId);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getById failed for User_ID {} (SQL State {}): {}", userId, e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -261,11 +194,7 @@ public class UserDAO {
             WHERE "User_Name" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.getByUsername() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_Name: " + username);
+        LOG.debug("getByUsername: User_Name='{}'", username);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -274,20 +203,13 @@ public class UserDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                User user = extractUserFromResultSet(rs);
-                System.out.println("✅ User found: " + user.getUserName());
-                System.out.println("═══════════════════════════════════════════════");
-                return user;
+                return extractUserFromResultSet(rs);
             } else {
-                System.out.println("❌ No user found with username: " + username);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("getByUsername: no user found with username '{}'", username);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getByUsername failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -301,13 +223,8 @@ public class UserDAO {
             WHERE "User_Name" = ? AND "Password" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.authenticate() - AUTHENTICATION ATTEMPT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Parameters:");
-        System.out.println("   User_Name: '" + username + "'");
-        System.out.println("   Password: '" + password + "'");
+        // Password is never logged
+        LOG.debug("authenticate: User_Name='{}'", username);
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -315,31 +232,18 @@ public class UserDAO {
             pstmt.setString(1, username);
             pstmt.setString(2, password);
             
-            System.out.println("⚡ Executing authentication query...");
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
                 User user = extractUserFromResultSet(rs);
-                System.out.println("✅ ✅ ✅ AUTHENTICATION SUCCESSFUL! ✅ ✅ ✅");
-                System.out.println("👤 User ID: " + user.getUserId());
-                System.out.println("👤 Username: " + user.getUserName());
-                System.out.println("🎭 Role: " + user.getRole());
-                System.out.println("📧 Email: " + user.getEmail());
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("authenticate: success for User_ID={}, Role='{}'", user.getUserId(), user.getRole());
                 return user;
             } else {
-                System.out.println("❌ ❌ ❌ AUTHENTICATION FAILED! ❌ ❌ ❌");
-                System.out.println("💡 No matching user found in database");
-                System.out.println("   Either username or password is incorrect");
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("authenticate: no matching user for User_Name='{}'", username);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("❌ ❌ ❌ AUTHENTICATION ERROR! ❌ ❌ ❌");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("   Error Code: " + e.getErrorCode());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("authenticate failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -353,11 +257,6 @@ public class UserDAO {
             ORDER BY "User_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.getAll() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        
         List<User> users = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -368,14 +267,10 @@ public class UserDAO {
                 users.add(extractUserFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + users.size() + " users");
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getAll: retrieved {} users", users.size());
             return users;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getAll failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -390,12 +285,6 @@ public class UserDAO {
             ORDER BY "User_ID"
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.getByRole() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 Role: " + role);
-        
         List<User> users = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -408,14 +297,10 @@ public class UserDAO {
                 users.add(extractUserFromResultSet(rs));
             }
             
-            System.out.println("✅ Retrieved " + users.size() + " users with role: " + role);
-            System.out.println("═══════════════════════════════════════════════");
+            LOG.debug("getByRole: retrieved {} users with role '{}'", users.size(), role);
             return users;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("getByRole failed for role '{}' (SQL State {}): {}", role, e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -429,12 +314,6 @@ public class UserDAO {
             WHERE "User_Name" = ?
             """;
         
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("🔍 UserDAO.usernameExists() - Executing SELECT");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📋 SQL: " + sql);
-        System.out.println("📝 User_Name: " + username);
-        
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
@@ -443,17 +322,12 @@ public class UserDAO {
             
             if (rs.next()) {
                 boolean exists = rs.getInt(1) > 0;
-                System.out.println("✅ Username exists: " + exists);
-                System.out.println("═══════════════════════════════════════════════");
+                LOG.debug("usernameExists: '{}' -> {}", username, exists);
                 return exists;
             }
-            System.out.println("═══════════════════════════════════════════════");
             return false;
         } catch (SQLException e) {
-            System.err.println("❌ SELECT ERROR:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
+            LOG.error("usernameExists failed (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
         }
     }
@@ -0,0 +1,95 @@
+package com.DB.databaseproject.model;
+
+import java.util.List;
+
+/**
+ * BulkUpdateResult Model Class
+ * Per-order outcome of a set-based bulk update (status change or employee assignment)
+ * Every requested order gets exactly one outcome; rejected orders were left unchanged.
+ */
+public class BulkUpdateResult {
+    private final List<Outcome> outcomes;
+
+    public BulkUpdateResult(List<Outcome> outcomes) {
+        this.outcomes = List.copyOf(outcomes);
+    }
+
+    /**
+     * Bulk update could not run (database error) - nothing was written
+     */
+    public static BulkUpdateResult failed() {
+        return new BulkUpdateResult(List.of());
+    }
+
+    public List<Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public List<Outcome> getUpdated() {
+        return outcomes.stream().filter(Outcome::isUpdated).toList();
+    }
+
+    public List<Outcome> getRejected() {
+        return outcomes.stream().filter(outcome -> !outcome.isUpdated()).toList();
+    }
+
+    public int getUpdatedCount() {
+        return (int) outcomes.stream().filter(Outcome::isUpdated).count();
+    }
+
+    /**
+     * Outcome of one order
+     */
+    public static class Outcome {
+        private final int orderId;
+        private final String previousStatus;
+        private final boolean updated;
+        private final String reason;
+        private final String customerEmail;
+        private final String customerFirstName;
+
+        /**
+         * @param previousStatus Status before the update (null if the order does not exist)
+         * @param reason Why the order was rejected (null if it was updated)
+         * @param customerEmail Customer email of an updated order (for notifications, may be null)
+         */
+        public Outcome(int orderId, String previousStatus, boolean updated, String reason,
+                       String customerEmail, String customerFirstName) {
+            this.orderId = orderId;
+            this.previousStatus = previousStatus;
+            this.updated = updated;
+            this.reason = reason;
+            this.customerEmail = customerEmail;
+            this.customerFirstName = customerFirstName;
+        }
+
+        public int getOrderId() {
+            return orderId;
+        }
+
+        public String getPreviousStatus() {
+            return previousStatus;
+        }
+
+        public boolean isUpdated() {
+            return updated;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String getCustomerEmail() {
+            return customerEmail;
+        }
+
+        public String getCustomerFirstName() {
+            return customerFirstName;
+        }
+
+        @Override
+        public String toString() {
+            return "Order " + orderId + (updated ? ": updated" : ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.DB.databaseproject.model;
+
+import java.util.List;
+
+/**
+ * CancellationResult Model Class
+ * Summary of a cancellation: which orders were canceled and how much stock was returned
+ * (orders and stock are written in the same transaction, so either both happened or neither)
+ */
+public class CancellationResult {
+    private final List<Integer> canceledOrderIds;
+    private final int stonesRestored;
+    private final int unitsRestored;
+    private final boolean failed;
+
+    private CancellationResult(List<Integer> canceledOrderIds, int stonesRestored, int unitsRestored, boolean failed) {
+        this.canceledOrderIds = List.copyOf(canceledOrderIds);
+        this.stonesRestored = stonesRestored;
+        this.unitsRestored = unitsRestored;
+        this.failed = failed;
+    }
+
+    /**
+     * @param canceledOrderIds Orders set to Canceled (empty if none qualified)
+     * @param stonesRestored Distinct stones whose stock was increased
+     * @param unitsRestored Total quantity put back into stock
+     */
+    public static CancellationResult of(List<Integer> canceledOrderIds, int stonesRestored, int unitsRestored) {
+        return new CancellationResult(canceledOrderIds, stonesRestored, unitsRestored, false);
+    }
+
+    /**
+     * Cancellation could not run (database error) - nothing was written
+     */
+    public static CancellationResult failed() {
+        return new CancellationResult(List.of(), 0, 0, true);
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return true if at least one order was canceled
+     */
+    public boolean isCanceled() {
+        return !canceledOrderIds.isEmpty();
+    }
+
+    public List<Integer> getCanceledOrderIds() {
+        return canceledOrderIds;
+    }
+
+    public int getCanceledCount() {
+        return canceledOrderIds.size();
+    }
+
+    public int getStonesRestored() {
+        return stonesRestored;
+    }
+
+    public int getUnitsRestored() {
+        return unitsRestored;
+    }
+
+    @Override
+    public String toString() {
+        return failed
+                ? "CancellationResult{failed}"
+                : "CancellationResult{orders=" + canceledOrderIds + ", stones=" + stonesRestored
+                        + ", units=" + unitsRestored + "}";
+    }
+}
@@ -0,0 +1,74 @@
+package com.DB.databaseproject.model;
+
+import java.util.List;
+
+/**
+ * CheckoutResult Model Class
+ * Outcome of a single-statement checkout: either the new Order_ID,
+ * or the stones that did not have enough stock, or a failure (in both cases nothing was written)
+ */
+public class CheckoutResult {
+    private final int orderId;
+    private final List<Integer> insufficientStoneIds;
+
+    private CheckoutResult(int orderId, List<Integer> insufficientStoneIds) {
+        this.orderId = orderId;
+        this.insufficientStoneIds = List.copyOf(insufficientStoneIds);
+    }
+
+    /**
+     * Order was written with all its lines and stock decrements
+     */
+    public static CheckoutResult success(int orderId) {
+        return new CheckoutResult(orderId, List.of());
+    }
+
+    /**
+     * Order was rejected because these stones are missing or short on stock
+     */
+    public static CheckoutResult insufficientStock(List<Integer> stoneIds) {
+        return new CheckoutResult(-1, stoneIds);
+    }
+
+    /**
+     * Checkout could not run (database error) - nothing was written
+     */
+    public static CheckoutResult failed() {
+        return new CheckoutResult(-1, List.of());
+    }
+
+    public boolean isSuccess() {
+        return orderId > 0;
+    }
+
+    /**
+     * @return new Order_ID, or -1 if the checkout was rejected
+     */
+    public int getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * @return true if the order was rejected because of stock (not because of an error)
+     */
+    public boolean isInsufficientStock() {
+        return !insufficientStoneIds.isEmpty();
+    }
+
+    /**
+     * @return IDs of stones without enough stock (empty on success or error)
+     */
+    public List<Integer> getInsufficientStoneIds() {
+        return insufficientStoneIds;
+    }
+
+    @Override
+    public String toString() {
+        if (isSuccess()) {
+            return "CheckoutResult{orderId=" + orderId + "}";
+        }
+        return isInsufficientStock()
+                ? "CheckoutResult{insufficient stock for stone ID(s) " + insufficientStoneIds + "}"
+                : "CheckoutResult{failed}";
+    }
+}
@@ -17,6 +17,10 @@ public class Order {
     private final ObjectProperty<LocalDate> orderDate;
     private final DoubleProperty totalAmount;
     private final StringProperty status;
+    // "Version" column: bumped on every status change or reassignment (not shown in tables)
+    private int version;
+    // Total quantity of the order's lines (from the Order_Summary read model)
+    private int itemCount;
 
     /**
      * Constructor with all fields
@@ -148,6 +152,48 @@ public class Order {
         return status;
     }
 
+    // Version
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    // Item Count
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * @return true for Pending, Assigned and Processing (shown on the Orders screen, not in Archive)
+     */
+    public boolean isActive() {
+        String current = status.get();
+        return "Pending".equals(current) || "Assigned".equals(current) || "Processing".equals(current);
+    }
+
+    /**
+     * Copy the values of a fresher copy of this order into this instance
+     * (the row stays in its table and only the changed cells are redrawn)
+     */
+    public void updateFrom(Order other) {
+        setCustomerId(other.getCustomerId());
+        setEmployeeId(other.getEmployeeId());
+        setCustomerName(other.getCustomerName());
+        setEmployeeName(other.getEmployeeName());
+        setOrderDate(other.getOrderDate());
+        setTotalAmount(other.getTotalAmount());
+        setStatus(other.getStatus());
+        setVersion(other.getVersion());
+        setItemCount(other.getItemCount());
+    }
+
     @Override
     public String toString() {
         return "Order{" +
@@ -0,0 +1,160 @@
+package com.DB.databaseproject.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * OrderChange Model Class
+ * One pushed order change from the "order_changes" NOTIFY channel
+ * (payload "UPDATE:42:7:3:150.00:5:Processing", see add_order_version.sql; payloads without the
+ * version, "UPDATE:42:7:3:150.00:Processing" from add_order_change_notify.sql, are accepted as well)
+ */
+public class OrderChange {
+    public static final String INSERT = "INSERT";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    // Not sent by the database: notifications may have been missed (listener reconnected)
+    public static final String RESYNC = "RESYNC";
+
+    private final String operation;
+    private final int orderId;
+    private final int customerId;
+    private final int employeeId;
+    private final double totalAmount;
+    private final int version;
+    private final String status;
+
+    private OrderChange(String operation, int orderId, int customerId, int employeeId, double totalAmount,
+                        int version, String status) {
+        this.operation = operation;
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.employeeId = employeeId;
+        this.totalAmount = totalAmount;
+        this.version = version;
+        this.status = status;
+    }
+
+    /**
+     * Parse a NOTIFY payload
+     * @return the change, or null if the payload is malformed
+     */
+    public static OrderChange parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        String[] parts = payload.split(":", 7);
+        if (parts.length < 6) {
+            return null;
+        }
+        try {
+            // The status is last and may only be preceded by a version if there are 7 parts
+            boolean versioned = parts.length == 7;
+            return new OrderChange(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]), Double.parseDouble(parts[4]),
+                    versioned ? Integer.parseInt(parts[5]) : -1, versioned ? parts[6] : parts[5]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static OrderChange resync() {
+        return new OrderChange(RESYNC, 0, 0, 0, 0.0, -1, "");
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return assigned employee, 0 if unassigned
+     */
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * @return order version after the change, -1 if the payload has none
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Patch a table list in place with pushed changes, where the payload alone is enough
+     *
+     * - Status/total changes of rows on screen are applied directly (rows leaving the view are removed)
+     * - Deleted rows are removed
+     * - Changes of orders this view does not show are ignored
+     * - Anything needing more than the payload (a new row, a reassignment, a resync) is reported
+     *
+     * @param rows    Table list
+     * @param belongs Whether an order is shown by this view (tested against the pushed values)
+     * @return true if the view is up to date; false if the caller should fetch a delta
+     */
+    public static boolean applyTo(List<OrderChange> changes, List<Order> rows, Predicate<Order> belongs) {
+        Map<Integer, Order> shown = new HashMap<>(rows.size() * 2);
+        for (Order row : rows) {
+            shown.put(row.getOrderId(), row);
+        }
+
+        boolean complete = true;
+        for (OrderChange change : changes) {
+            if (RESYNC.equals(change.operation)) {
+                complete = false;
+                continue;
+            }
+            Order row = shown.get(change.orderId);
+
+            if (row == null) {
+                // Only the pushed values are known here, so test a stand-in row against the view
+                Order probe = new Order(change.orderId, change.customerId, change.employeeId, "", "",
+                        null, change.totalAmount, change.status);
+                if (!DELETE.equals(change.operation) && belongs.test(probe)) {
+                    complete = false;
+                }
+            } else if (DELETE.equals(change.operation)) {
+                rows.remove(row);
+                shown.remove(change.orderId);
+            } else if (row.getEmployeeId() != change.employeeId) {
+                // Reassigned: the employee name has to be read
+                complete = false;
+            } else {
+                row.setStatus(change.status);
+                row.setTotalAmount(change.totalAmount);
+                if (change.version >= 0) {
+                    row.setVersion(change.version);
+                }
+                if (!belongs.test(row)) {
+                    rows.remove(row);
+                    shown.remove(change.orderId);
+                }
+            }
+        }
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ":" + orderId + ":" + customerId + ":" + employeeId + ":" + totalAmount + ":" + version
+                + ":" + status;
+    }
+}
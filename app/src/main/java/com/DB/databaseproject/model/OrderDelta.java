@@ -0,0 +1,126 @@
+package com.DB.databaseproject.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * OrderDelta Model Class
+ * Orders inserted/updated and deleted since a change marker, plus the marker to ask from next time
+ * (see OrderDAO.getChangesSince)
+ *
+ * The same order may be delivered again in a later delta; applying it twice is harmless.
+ */
+public class OrderDelta {
+    private final List<Order> changedOrders;
+    private final List<Integer> deletedOrderIds;
+    private final long marker;
+
+    public OrderDelta(List<Order> changedOrders, List<Integer> deletedOrderIds, long marker) {
+        this.changedOrders = List.copyOf(changedOrders);
+        this.deletedOrderIds = List.copyOf(deletedOrderIds);
+        this.marker = marker;
+    }
+
+    /**
+     * @return orders inserted or updated since the previous marker (all statuses, all customers)
+     */
+    public List<Order> getChangedOrders() {
+        return changedOrders;
+    }
+
+    /**
+     * @return IDs of orders deleted since the previous marker
+     */
+    public List<Integer> getDeletedOrderIds() {
+        return deletedOrderIds;
+    }
+
+    /**
+     * @return marker to pass to the next getChangesSince call
+     */
+    public long getMarker() {
+        return marker;
+    }
+
+    public boolean isEmpty() {
+        return changedOrders.isEmpty() && deletedOrderIds.isEmpty();
+    }
+
+    /**
+     * Apply this delta in place to a table list sorted by Order_ID DESC
+     *
+     * - Rows still in the list are updated field by field
+     * - Rows that were deleted or no longer match the view are removed
+     * - New matching rows are inserted at their sorted position if they fall in the loaded range
+     *
+     * @param rows    Table list (Order_ID DESC)
+     * @param belongs Whether an order is shown by this view (e.g. active, or of this customer)
+     * @param inRange Whether an Order_ID falls in the part of the list that is loaded
+     * @return number of rows updated, inserted or removed
+     */
+    public int applyTo(List<Order> rows, Predicate<Order> belongs, IntPredicate inRange) {
+        if (isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, Order> shown = new HashMap<>(rows.size() * 2);
+        for (Order row : rows) {
+            shown.put(row.getOrderId(), row);
+        }
+
+        Set<Order> removed = new HashSet<>();
+        for (Integer orderId : deletedOrderIds) {
+            Order row = shown.get(orderId);
+            if (row != null) {
+                removed.add(row);
+            }
+        }
+
+        List<Order> added = new ArrayList<>();
+        int updated = 0;
+        for (Order fresh : changedOrders) {
+            Order row = shown.get(fresh.getOrderId());
+            if (row == null) {
+                if (belongs.test(fresh) && inRange.test(fresh.getOrderId())) {
+                    added.add(fresh);
+                }
+            } else if (belongs.test(fresh)) {
+                row.updateFrom(fresh);
+                updated++;
+            } else {
+                removed.add(row);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            rows.removeAll(removed);
+        }
+        for (Order fresh : added) {
+            rows.add(insertionIndex(rows, fresh.getOrderId()), fresh);
+        }
+        return updated + removed.size() + added.size();
+    }
+
+    /**
+     * Binary search for the position of an Order_ID in a list sorted by Order_ID DESC
+     */
+    private static int insertionIndex(List<Order> rows, int orderId) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows.get(mid).getOrderId() > orderId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
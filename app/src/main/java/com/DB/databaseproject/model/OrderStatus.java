@@ -0,0 +1,108 @@
+package com.DB.databaseproject.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderStatus
+ * Order life cycle and its allowed transitions
+ *
+ * ALLOWED TRANSITIONS:
+ * - Pending → Processing
+ * - Pending → Completed
+ * - Processing → Completed
+ * - Any status except Completed → Canceled (admin override)
+ * - Completed is read-only
+ */
+public enum OrderStatus {
+    PENDING("Pending"),
+    ASSIGNED("Assigned"),
+    PROCESSING("Processing"),
+    COMPLETED("Completed"),
+    // Stored as "Canceled"; the status dialogs offer "Cancelled"
+    CANCELED("Canceled", "Cancelled");
+
+    private final String label;
+    private final List<String> spellings;
+
+    OrderStatus(String label, String... otherSpellings) {
+        this.label = label;
+        List<String> all = new ArrayList<>();
+        all.add(label);
+        all.addAll(List.of(otherSpellings));
+        this.spellings = List.copyOf(all);
+    }
+
+    /**
+     * Parse a status as stored or shown (case-insensitive)
+     * @return the status, or null if unknown
+     */
+    public static OrderStatus parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (OrderStatus status : values()) {
+            for (String spelling : status.spellings) {
+                if (spelling.equalsIgnoreCase(trimmed)) {
+                    return status;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return value written to "Order_Status"
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return every "Order_Status" value meaning this status
+     */
+    public List<String> getSpellings() {
+        return spellings;
+    }
+
+    public boolean isReadOnly() {
+        return this == COMPLETED;
+    }
+
+    public boolean canMoveTo(OrderStatus target) {
+        if (target == null || target == this || isReadOnly()) {
+            return false;
+        }
+        if (target == CANCELED) {
+            return true;
+        }
+        switch (this) {
+            case PENDING:
+                return target == PROCESSING || target == COMPLETED;
+            case PROCESSING:
+                return target == COMPLETED;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * "Order_Status" values an order may have to move to this status
+     * (the ANY(...) list of the conditional UPDATE)
+     */
+    public List<String> allowedFromValues() {
+        List<String> values = new ArrayList<>();
+        for (OrderStatus status : values()) {
+            if (status.canMoveTo(this)) {
+                values.addAll(status.spellings);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
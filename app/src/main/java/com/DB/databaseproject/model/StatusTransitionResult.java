@@ -0,0 +1,113 @@
+package com.DB.databaseproject.model;
+
+/**
+ * StatusTransitionResult Model Class
+ * Outcome of a single-statement order status change: the old and new status on success,
+ * otherwise why the order was left unchanged (and the status it actually has)
+ */
+public class StatusTransitionResult {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        READ_ONLY,
+        INVALID_TRANSITION,
+        // Changed by someone else since it was read (version mismatch)
+        CONFLICT,
+        FAILED
+    }
+
+    private final Outcome outcome;
+    private final int orderId;
+    private final String previousStatus;
+    private final String newStatus;
+    private final int version;
+    private final String customerEmail;
+    private final String customerFirstName;
+
+    private StatusTransitionResult(Outcome outcome, int orderId, String previousStatus, String newStatus,
+                                   int version, String customerEmail, String customerFirstName) {
+        this.outcome = outcome;
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.version = version;
+        this.customerEmail = customerEmail;
+        this.customerFirstName = customerFirstName;
+    }
+
+    /**
+     * Status was changed
+     * @param version Version after the change
+     * @param customerEmail Customer email (for the Completed notification, may be null)
+     */
+    public static StatusTransitionResult updated(int orderId, String previousStatus, String newStatus, int version,
+                                                 String customerEmail, String customerFirstName) {
+        return new StatusTransitionResult(Outcome.UPDATED, orderId, previousStatus, newStatus, version,
+                customerEmail, customerFirstName);
+    }
+
+    /**
+     * Status was not changed
+     * @param currentStatus Status the order has (null if it does not exist)
+     * @param version Version the order has (-1 if it does not exist)
+     */
+    public static StatusTransitionResult rejected(Outcome outcome, int orderId, String currentStatus, int version) {
+        return new StatusTransitionResult(outcome, orderId, currentStatus, currentStatus, version, null, null);
+    }
+
+    /**
+     * Update could not run (database error) - nothing was written
+     */
+    public static StatusTransitionResult failed(int orderId) {
+        return new StatusTransitionResult(Outcome.FAILED, orderId, null, null, -1, null, null);
+    }
+
+    public boolean isUpdated() {
+        return outcome == Outcome.UPDATED;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * @return status before the change (the current status if rejected)
+     */
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return status after the change (the current status if rejected)
+     */
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    /**
+     * @return version the order has now (-1 if unknown)
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public String getCustomerFirstName() {
+        return customerFirstName;
+    }
+
+    @Override
+    public String toString() {
+        return isUpdated()
+                ? "StatusTransitionResult{order " + orderId + ": " + previousStatus + " → " + newStatus + "}"
+                : "StatusTransitionResult{order " + orderId + ": " + outcome + "}";
+    }
+}
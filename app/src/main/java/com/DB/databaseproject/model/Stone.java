@@ -1,11 +1,11 @@
 package com.DB.databaseproject.model;
 
 import javafx.beans.property.*;
-import javafx.scene.image.Image;
 
 /**
  * Stone Model Class
  * Stone Sales Management System - Stone Premium Dark Theme
+ * Holds the image path only; views decode the image at their size through ImageLoader
  */
 public class Stone {
     private final IntegerProperty stoneId;
@@ -15,7 +15,6 @@ public class Stone {
     private final DoubleProperty pricePerUnit;
     private final IntegerProperty quantityInStock;
     private final StringProperty imagePath;
-    private final ObjectProperty<Image> image;
 
     /**
      * Constructor with all fields
@@ -29,12 +28,6 @@ public class Stone {
         this.pricePerUnit = new SimpleDoubleProperty(pricePerUnit);
         this.quantityInStock = new SimpleIntegerProperty(quantityInStock);
         this.imagePath = new SimpleStringProperty(imagePath);
-        this.image = new SimpleObjectProperty<>();
-        
-        // Load image if path is provided
-        if (imagePath != null && !imagePath.isEmpty()) {
-            loadImage(imagePath);
-        }
     }
 
     /**
@@ -44,60 +37,6 @@ public class Stone {
         this(0, "", "", "", 0.0, 0, "");
     }
 
-    /**
-     * Load image from path with multiple strategies
-     */
-    private void loadImage(String path) {
-        if (path == null || path.trim().isEmpty()) {
-            System.err.println("⚠️ Image path is null or empty");
-            return;
-        }
-        
-        try {
-            // Strategy 1: Try to load from resources (for paths like /images/stone.jpg)
-            var imageStream = getClass().getResourceAsStream(path);
-            if (imageStream != null) {
-                this.image.set(new Image(imageStream));
-                System.out.println("✅ Image loaded from resources: " + path);
-                return;
-            }
-            
-            // Strategy 2: Try with leading slash if not present
-            if (!path.startsWith("/")) {
-                imageStream = getClass().getResourceAsStream("/" + path);
-                if (imageStream != null) {
-                    this.image.set(new Image(imageStream));
-                    System.out.println("✅ Image loaded from resources (with /): " + path);
-                    return;
-                }
-            }
-            
-            // Strategy 3: Try to load as file path (for absolute paths)
-            try {
-                this.image.set(new Image("file:" + path));
-                System.out.println("✅ Image loaded from file: " + path);
-                return;
-            } catch (Exception e) {
-                // File path didn't work, continue to next strategy
-            }
-            
-            // Strategy 4: Try direct URL (if path starts with http/https)
-            if (path.startsWith("http://") || path.startsWith("https://")) {
-                this.image.set(new Image(path));
-                System.out.println("✅ Image loaded from URL: " + path);
-                return;
-            }
-            
-            // All strategies failed
-            System.err.println("❌ Failed to load image from any source: " + path);
-            
-        } catch (Exception e) {
-            System.err.println("❌ Exception loading image: " + path);
-            System.err.println("   Error: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
     // Stone ID
     public int getStoneId() {
         return stoneId.get();
@@ -183,26 +122,12 @@ public class Stone {
 
     public void setImagePath(String imagePath) {
         this.imagePath.set(imagePath);
-        loadImage(imagePath);
     }
 
     public StringProperty imagePathProperty() {
         return imagePath;
     }
 
-    // Image
-    public Image getImage() {
-        return image.get();
-    }
-
-    public void setImage(Image image) {
-        this.image.set(image);
-    }
-
-    public ObjectProperty<Image> imageProperty() {
-        return image;
-    }
-
     @Override
     public String toString() {
         return "Stone{" +
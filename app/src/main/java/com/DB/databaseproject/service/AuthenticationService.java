@@ -6,6 +6,8 @@ import com.DB.databaseproject.dao.UserDAO;
 import com.DB.databaseproject.model.Customer;
 import com.DB.databaseproject.model.Employee;
 import com.DB.databaseproject.model.User;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -16,6 +18,8 @@ import java.time.LocalDate;
  */
 public class AuthenticationService {
     
+    private static final Log LOG = Log.get(AuthenticationService.class);
+    
     private final UserDAO userDAO;
     private final CustomerDAO customerDAO;
     private final EmployeeDAO employeeDAO;
@@ -46,62 +50,48 @@ public class AuthenticationService {
      * @return User object if successful, null otherwise
      */
     public User login(String username, String password) {
-        System.out.println("\n╔════════════════════════════════════════════════╗");
-        System.out.println("║      AUTHENTICATION SERVICE - LOGIN             ║");
-        System.out.println("╚════════════════════════════════════════════════╝");
-        System.out.println("📥 Received login request");
-        System.out.println("👤 Username: '" + username + "'");
-        System.out.println("🔑 Password length: " + password.length());
+        // Password is never logged
+        LOG.debug("Login request for username '{}'", username);
         
         try {
-            System.out.println("🔄 Calling UserDAO.authenticate()...\n");
             User user = userDAO.authenticate(username, password);
             
             if (user != null) {
                 currentUser = user;
                 
-                System.out.println("\n✅ Authentication successful!");
-                System.out.println("🎯 Loading role-specific data for: " + user.getRole());
+                LOG.debug("Loading role-specific data for: {}", user.getRole());
                 
                 // Load customer or employee data based on role
                 if ("Customer".equalsIgnoreCase(user.getRole())) {
                     try {
                         currentCustomer = customerDAO.getByUserId(user.getUserId());
                         if (currentCustomer != null) {
-                            System.out.println("✓ Customer data loaded: Success");
-                            System.out.println("   Customer ID: " + currentCustomer.getCustomerId());
-                            System.out.println("   Customer Name: " + currentCustomer.getFullName());
+                            LOG.debug("Customer data loaded: Customer ID {}", currentCustomer.getCustomerId());
                         } else {
-                            System.err.println("❌ Customer data loaded: Failed - Customer not found for User ID: " + user.getUserId());
+                            LOG.error("Customer not found for User ID: {}", user.getUserId());
                         }
                     } catch (SQLException e) {
-                        System.err.println("❌ Error loading customer data: " + e.getMessage());
-                        e.printStackTrace();
+                        LOG.error("Error loading customer data: {}", e.getMessage(), e);
                         currentCustomer = null;
                     }
                 } else if ("Employee".equalsIgnoreCase(user.getRole()) || "Admin".equalsIgnoreCase(user.getRole())) {
                     try {
                         currentEmployee = employeeDAO.getByUserId(user.getUserId());
-                        System.out.println("✓ Employee data loaded: " + (currentEmployee != null ? "Success" : "Not needed for Admin"));
+                        LOG.debug("Employee data loaded: {}", currentEmployee != null ? "Success" : "Not needed for Admin");
                     } catch (SQLException e) {
-                        System.err.println("❌ Error loading employee data: " + e.getMessage());
-                        e.printStackTrace();
+                        LOG.error("Error loading employee data: {}", e.getMessage(), e);
                         currentEmployee = null;
                     }
                 }
                 
-                System.out.println("✅ SERVICE: Login successful - " + username + " (" + user.getRole() + ")");
+                LOG.info("Login successful: {} ({})", username, user.getRole());
                 return user;
             } else {
-                System.out.println("\n❌ SERVICE: Authentication returned NULL");
-                System.out.println("💡 User not found or password incorrect");
+                LOG.info("Login failed for username '{}': user not found or password incorrect", username);
                 return null;
             }
         } catch (SQLException e) {
-            System.err.println("\n❌ SERVICE: SQL Exception during login!");
-            System.err.println("Error message: " + e.getMessage());
-            System.err.println("SQL State: " + e.getSQLState());
-            e.printStackTrace();
+            LOG.error("Login error (SQL State {}): {}", e.getSQLState(), e.getMessage(), e);
             return null;
         }
     }
@@ -116,7 +106,7 @@ public class AuthenticationService {
         try {
             // Check if username already exists
             if (userDAO.usernameExists(username)) {
-                System.out.println("❌ Signup failed: Username already exists");
+                LOG.debug("Signup failed: Username already exists");
                 return false;
             }
             
@@ -150,14 +140,13 @@ public class AuthenticationService {
                 
                 int customerId = customerDAO.insert(customer, userId);
                 if (customerId > 0) {
-                    System.out.println("✅ Customer signup successful: " + username);
+                    LOG.info("Customer signup successful: {}", username);
                     return true;
                 }
             }
             return false;
         } catch (SQLException e) {
-            System.err.println("❌ Signup error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Signup error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -172,7 +161,7 @@ public class AuthenticationService {
         try {
             // Check if username already exists
             if (userDAO.usernameExists(username)) {
-                System.out.println("❌ Employee creation failed: Username already exists");
+                LOG.debug("Employee creation failed: Username already exists");
                 return false;
             }
             
@@ -208,14 +197,14 @@ public class AuthenticationService {
                 
                 int employeeId = employeeDAO.insert(employee, userId);
                 if (employeeId > 0) {
-                    System.out.println("✅ Employee created successfully: " + username);
+                    LOG.info("Employee created successfully: {}", username);
+                    LookupCache.invalidate(LookupCache.Source.EMPLOYEES);
                     return true;
                 }
             }
             return false;
         } catch (SQLException e) {
-            System.err.println("❌ Employee creation error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Employee creation error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -227,7 +216,7 @@ public class AuthenticationService {
         currentUser = null;
         currentCustomer = null;
         currentEmployee = null;
-        System.out.println("✅ User logged out");
+        LOG.info("User logged out");
     }
 
     /**
@@ -285,31 +274,29 @@ public class AuthenticationService {
      */
     public boolean reloadCustomerData() {
         if (currentUser == null) {
-            System.err.println("❌ Cannot reload customer data: No user logged in");
+            LOG.error("Cannot reload customer data: No user logged in");
             return false;
         }
         
         if (!"Customer".equalsIgnoreCase(currentUser.getRole())) {
-            System.err.println("❌ Cannot reload customer data: Current user is not a customer");
+            LOG.error("Cannot reload customer data: Current user is not a customer");
             return false;
         }
         
         try {
-            System.out.println("🔄 Reloading customer data for User ID: " + currentUser.getUserId());
+            LOG.debug("Reloading customer data for User ID: {}", currentUser.getUserId());
             currentCustomer = customerDAO.getByUserId(currentUser.getUserId());
             
             if (currentCustomer != null) {
-                System.out.println("✅ Customer data reloaded successfully");
-                System.out.println("   Customer ID: " + currentCustomer.getCustomerId());
-                System.out.println("   Customer Name: " + currentCustomer.getFullName());
+                LOG.info("Customer data reloaded successfully - customerID={}, customerName={}",
+                        currentCustomer.getCustomerId(), currentCustomer.getFullName());
                 return true;
             } else {
-                System.err.println("❌ Customer data not found in database for User ID: " + currentUser.getUserId());
+                LOG.error("Customer data not found in database for User ID: {}", currentUser.getUserId());
                 return false;
             }
         } catch (SQLException e) {
-            System.err.println("❌ Error reloading customer data: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error reloading customer data: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -0,0 +1,165 @@
+package com.DB.databaseproject.service;
+
+import com.DB.databaseproject.dao.OrderDAO;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.Transactions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Auto-Assignment Service
+ * Assigns unassigned open orders to the least loaded employees
+ *
+ * - Orders are claimed in batches with FOR UPDATE SKIP LOCKED, so several workstations can run
+ *   the engine at once without assigning the same order twice
+ * - Each batch is balanced with a min-heap of employees keyed by open-order load and written
+ *   with one UPDATE
+ * - Runs on demand (assignUnassignedOrders) or on a schedule (startSchedule)
+ */
+public class AutoAssignmentService {
+
+    private static final Log LOG = Log.get(AutoAssignmentService.class);
+
+    // Orders claimed (and locked) per transaction
+    private static final int BATCH_SIZE = Integer.getInteger("orders.autoAssign.batchSize", 50);
+    /** assignUnassignedOrders result: there are unassigned orders but no employees to take them */
+    public static final int NO_EMPLOYEES = -2;
+    // Schedule period used by App (0 = not scheduled)
+    public static final long DEFAULT_PERIOD_SECONDS = Long.getLong("orders.autoAssign.periodSeconds", 0L);
+
+    private static AutoAssignmentService instance;
+    private final OrderDAO orderDAO;
+    // One run at a time per workstation (scheduled and on-demand runs share it)
+    private final ReentrantLock runLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Private constructor for Singleton pattern
+     */
+    private AutoAssignmentService() {
+        this.orderDAO = new OrderDAO();
+    }
+
+    /**
+     * Get singleton instance of AutoAssignmentService
+     */
+    public static AutoAssignmentService getInstance() {
+        if (instance == null) {
+            instance = new AutoAssignmentService();
+        }
+        return instance;
+    }
+
+    /**
+     * Assign every unassigned open order (batch by batch) to the least loaded employee
+     * @return number of orders assigned, NO_EMPLOYEES if orders are waiting but there is no
+     *         employee, or -1 if an error occurred
+     */
+    public int assignUnassignedOrders() {
+        int total = 0;
+        boolean noEmployees = false;
+        runLock.lock();
+        try {
+            while (true) {
+                int[] batch = Transactions.inTx(conn -> {
+                    List<Integer> orderIds = orderDAO.claimUnassignedOrders(conn, BATCH_SIZE);
+                    // {claimed, assigned, 1 if there is no employee}
+                    if (orderIds.isEmpty()) {
+                        return new int[] {0, 0, 0};
+                    }
+
+                    // Loads are read after claiming, so they include what other workstations committed
+                    PriorityQueue<EmployeeLoad> heap = buildHeap(orderDAO.getOpenOrderCounts(conn));
+                    if (heap.isEmpty()) {
+                        LOG.warn("Auto-assignment skipped: no employees");
+                        return new int[] {orderIds.size(), 0, 1};
+                    }
+
+                    List<Integer> employeeIds = new ArrayList<>(orderIds.size());
+                    for (int i = 0; i < orderIds.size(); i++) {
+                        EmployeeLoad least = heap.poll();
+                        employeeIds.add(least.employeeId);
+                        least.openOrders++;
+                        heap.offer(least);
+                    }
+                    return new int[] {orderIds.size(), orderDAO.assignEmployees(conn, orderIds, employeeIds), 0};
+                });
+
+                total += batch[1];
+                noEmployees = batch[2] == 1;
+                if (batch[0] < BATCH_SIZE || batch[1] == 0) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                LOG.info("Auto-assigned {} order(s)", total);
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+            }
+            return total == 0 && noEmployees ? NO_EMPLOYEES : total;
+        } catch (SQLException e) {
+            LOG.error("Error auto-assigning orders: {}", e.getMessage(), e);
+            return total > 0 ? total : -1;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Run the engine periodically on a background thread (replaces a running schedule)
+     * @param periodSeconds Seconds between runs (0 or less = do nothing)
+     */
+    public synchronized void startSchedule(long periodSeconds) {
+        if (periodSeconds <= 0) {
+            return;
+        }
+        stopSchedule();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AutoAssignment");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::assignUnassignedOrders, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        LOG.info("Auto-assignment scheduled every {} s", periodSeconds);
+    }
+
+    /**
+     * Stop the periodic run (a run in progress finishes its current batch)
+     */
+    public synchronized void stopSchedule() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private static PriorityQueue<EmployeeLoad> buildHeap(Map<Integer, Integer> openOrderCounts) {
+        PriorityQueue<EmployeeLoad> heap = new PriorityQueue<>(Math.max(1, openOrderCounts.size()),
+                Comparator.comparingInt((EmployeeLoad load) -> load.openOrders)
+                        .thenComparingInt(load -> load.employeeId));
+        openOrderCounts.forEach((employeeId, count) -> heap.offer(new EmployeeLoad(employeeId, count)));
+        return heap;
+    }
+
+    /**
+     * Heap entry: one employee and their open-order count
+     */
+    private static final class EmployeeLoad {
+        private final int employeeId;
+        private int openOrders;
+
+        private EmployeeLoad(int employeeId, int openOrders) {
+            this.employeeId = employeeId;
+            this.openOrders = openOrders;
+        }
+    }
+}
@@ -3,15 +3,18 @@ package com.DB.databaseproject.service;
 import com.DB.databaseproject.dao.CustomOrderDAO;
 import com.DB.databaseproject.dao.OrderDAO;
 import com.DB.databaseproject.model.CustomOrder;
-import com.DB.databaseproject.util.DBConnection;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.Transactions;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CustomOrderService {
     
+    private static final Log LOG = Log.get(CustomOrderService.class);
+    
     private static CustomOrderService instance;
     private final CustomOrderDAO customOrderDAO;
     private final OrderDAO orderDAO;
@@ -33,8 +36,7 @@ public class CustomOrderService {
             int customOrderId = customOrderDAO.insert(customOrder, customerId);
             return customOrderId > 0;
         } catch (SQLException e) {
-            System.err.println("Error submitting custom order: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error submitting custom order: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -43,8 +45,7 @@ public class CustomOrderService {
         try {
             return customOrderDAO.updateStatus(customOrderId, "Approved");
         } catch (SQLException e) {
-            System.err.println("Error approving custom order: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error approving custom order: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -55,77 +56,37 @@ public class CustomOrderService {
      * Uses transaction to ensure data consistency
      */
     public boolean approveAndConvertCustomOrder(CustomOrder customOrder) throws SQLException {
-        Connection conn = null;
+        LOG.debug("Converting Custom Order {} (Customer ID {}) to a real order",
+                customOrder.getCustomOrderId(), customOrder.getCustomerId());
+        
         try {
-            // Get connection and start transaction
-            conn = DBConnection.getConnection();
-            conn.setAutoCommit(false);
-            
-            System.out.println("═══════════════════════════════════════════════");
-            System.out.println("🔄 Converting Custom Order to Real Order");
-            System.out.println("═══════════════════════════════════════════════");
-            System.out.println("Custom Order ID: " + customOrder.getCustomOrderId());
-            System.out.println("Customer ID: " + customOrder.getCustomerId());
-            
-            // Step 1: Create new Order using the transaction connection
-            int newOrderId = orderDAO.createOrderFromCustomOrder(conn, customOrder.getCustomerId());
-            
-            if (newOrderId <= 0) {
-                System.err.println("❌ Failed to create new order");
-                conn.rollback();
-                return false;
-            }
-            
-            System.out.println("✅ Created new Order with ID: " + newOrderId);
-            
-            // Step 2: Update Custom Order status and link to Order using the transaction connection
-            boolean updated = customOrderDAO.updateStatusAndOrderId(
-                conn,
-                customOrder.getCustomOrderId(), 
-                "Converted", 
-                newOrderId
-            );
-            
-            if (!updated) {
-                System.err.println("❌ Failed to update custom order");
-                conn.rollback();
-                return false;
-            }
-            
-            System.out.println("✅ Updated Custom Order - Status: Converted, Order_ID: " + newOrderId);
-            
-            // Commit transaction
-            conn.commit();
-            System.out.println("✅ Transaction committed successfully");
-            System.out.println("═══════════════════════════════════════════════");
+            int newOrderId = Transactions.inTx(conn -> {
+                // Step 1: Create new Order using the transaction connection
+                int orderId = orderDAO.createOrderFromCustomOrder(conn, customOrder.getCustomerId());
+                if (orderId <= 0) {
+                    throw new SQLException("Failed to create new order");
+                }
+                
+                // Step 2: Update Custom Order status and link to Order using the transaction connection
+                boolean updated = customOrderDAO.updateStatusAndOrderId(
+                    conn,
+                    customOrder.getCustomOrderId(), 
+                    "Converted", 
+                    orderId
+                );
+                if (!updated) {
+                    throw new SQLException("Failed to update custom order " + customOrder.getCustomOrderId());
+                }
+                return orderId;
+            });
             
+            LOG.info("Custom Order {} converted to Order ID {}", customOrder.getCustomOrderId(), newOrderId);
+            LookupCache.invalidate(LookupCache.Source.ORDERS);
             return true;
             
         } catch (SQLException e) {
-            System.err.println("❌ ERROR during conversion:");
-            System.err.println("   Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("═══════════════════════════════════════════════");
-            
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                    System.err.println("⚠️ Transaction rolled back");
-                } catch (SQLException rollbackEx) {
-                    System.err.println("❌ Error rolling back transaction: " + rollbackEx.getMessage());
-                }
-            }
+            LOG.error("Custom order conversion error (SQL State {}): {}", e.getSQLState(), e.getMessage());
             throw e;
-            
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    System.err.println("Error closing connection: " + e.getMessage());
-                }
-            }
         }
     }
     
@@ -133,8 +94,7 @@ public class CustomOrderService {
         try {
             return customOrderDAO.updateStatus(customOrderId, "Rejected");
         } catch (SQLException e) {
-            System.err.println("Error rejecting custom order: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error rejecting custom order: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -143,8 +103,7 @@ public class CustomOrderService {
         try {
             return customOrderDAO.getAll();
         } catch (SQLException e) {
-            System.err.println("Error fetching all custom orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching all custom orders: {}", e.getMessage(), e);
             return new ArrayList<>();
         }
     }
@@ -153,8 +112,7 @@ public class CustomOrderService {
         try {
             return customOrderDAO.getByCustomerId(customerId);
         } catch (SQLException e) {
-            System.err.println("Error fetching customer orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching customer orders: {}", e.getMessage(), e);
             return new ArrayList<>();
         }
     }
@@ -163,8 +121,7 @@ public class CustomOrderService {
         try {
             return customOrderDAO.getById(customOrderId);
         } catch (SQLException e) {
-            System.err.println("Error fetching custom order: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching custom order: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -2,6 +2,8 @@ package com.DB.databaseproject.service;
 
 import com.DB.databaseproject.dao.CustomerDAO;
 import com.DB.databaseproject.model.Customer;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -12,6 +14,8 @@ import java.util.List;
  */
 public class CustomerService {
     
+    private static final Log LOG = Log.get(CustomerService.class);
+    
     private final CustomerDAO customerDAO;
     
     // Singleton instance
@@ -35,12 +39,12 @@ public class CustomerService {
         try {
             boolean updated = customerDAO.update(customer);
             if (updated) {
-                System.out.println("✅ Customer updated successfully: " + customer.getFullName());
+                LOG.info("Customer updated successfully: {}", customer.getFullName());
+                LookupCache.invalidate(LookupCache.Source.CUSTOMERS);
             }
             return updated;
         } catch (SQLException e) {
-            System.err.println("❌ Customer update error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Customer update error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -52,12 +56,12 @@ public class CustomerService {
         try {
             boolean deleted = customerDAO.delete(customerId);
             if (deleted) {
-                System.out.println("✅ Customer deleted: Customer ID " + customerId);
+                LOG.info("Customer deleted: Customer ID {}", customerId);
+                LookupCache.invalidate(LookupCache.Source.CUSTOMERS);
             }
             return deleted;
         } catch (SQLException e) {
-            System.err.println("❌ Customer deletion error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Customer deletion error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -69,8 +73,7 @@ public class CustomerService {
         try {
             return customerDAO.getAll();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching customers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching customers: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -82,8 +85,7 @@ public class CustomerService {
         try {
             return customerDAO.searchByName(searchTerm);
         } catch (SQLException e) {
-            System.err.println("❌ Error searching customers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error searching customers: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -95,8 +97,7 @@ public class CustomerService {
         try {
             return customerDAO.getById(customerId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching customer: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -108,8 +109,7 @@ public class CustomerService {
         try {
             return customerDAO.getByUserId(userId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching customer: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -121,7 +121,7 @@ public class CustomerService {
         try {
             return customerDAO.getCount();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting customer count: " + e.getMessage());
+            LOG.error("Error getting customer count: {}", e.getMessage());
             return 0;
         }
     }
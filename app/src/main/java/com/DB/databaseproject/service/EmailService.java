@@ -1,5 +1,6 @@
 package com.DB.databaseproject.service;
 
+import com.DB.databaseproject.util.Log;
 import jakarta.mail.*;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
@@ -10,6 +11,8 @@ import java.util.concurrent.Executors;
 
 public class EmailService {
     
+    private static final Log LOG = Log.get(EmailService.class);
+    
     private static EmailService instance;
     private final ExecutorService emailExecutor;
     
@@ -44,7 +47,7 @@ public class EmailService {
      */
     public void sendOrderCompletedNotification(String customerEmail, String customerFirstName, int orderId) {
         if (customerEmail == null || customerEmail.trim().isEmpty()) {
-            System.out.println("⚠️ Skipping email: Customer email is null or empty");
+            LOG.info("Skipping email: Customer email is null or empty");
             return;
         }
         
@@ -56,10 +59,9 @@ public class EmailService {
                 if (errorMsg != null && (errorMsg.contains("535") || 
                                          errorMsg.contains("Username and Password not accepted") || 
                                          errorMsg.contains("Authentication failed"))) {
-                    System.err.println("❌ Email not sent: Invalid Gmail App Password");
-                    System.err.println("   Please configure a valid Gmail App Password in EmailService.java");
+                    LOG.error("Email not sent: Invalid Gmail App Password - Please configure a valid Gmail App Password in EmailService.java");
                 } else {
-                    System.err.println("⚠️ Failed to send email to " + customerEmail + ": " + errorMsg);
+                    LOG.warn("Failed to send email to {}: {}", customerEmail, errorMsg);
                 }
             }
         });
@@ -67,11 +69,7 @@ public class EmailService {
     
     private void sendEmailSync(String toEmail, String customerFirstName, int orderId) {
         try {
-            System.out.println("\n═══════════════════════════════════════════════");
-            System.out.println("📧 Sending Order Completed Email");
-            System.out.println("═══════════════════════════════════════════════");
-            System.out.println("To: " + toEmail);
-            System.out.println("Order ID: " + orderId);
+            LOG.debug("Sending Order Completed email for Order ID {} to {}", orderId, toEmail);
             
             Properties props = new Properties();
             props.put("mail.smtp.host", "smtp.gmail.com");
@@ -95,17 +93,15 @@ public class EmailService {
             
             Transport.send(message);
             
-            System.out.println("✅ Email sent successfully to " + toEmail);
-            System.out.println("═══════════════════════════════════════════════\n");
+            LOG.info("Email sent successfully to {}", toEmail);
         } catch (MessagingException e) {
             if (e.getMessage() != null && e.getMessage().contains("535")) {
-                System.err.println("❌ Email not sent: Invalid Gmail App Password");
-                System.err.println("   Please update EMAIL_PASSWORD in EmailService.java with a valid Gmail App Password");
+                LOG.error("Email not sent: Invalid Gmail App Password - Please update EMAIL_PASSWORD in EmailService.java with a valid Gmail App Password");
             } else {
-                System.err.println("❌ Email not sent: " + e.getMessage());
+                LOG.error("Email not sent: {}", e.getMessage());
             }
         } catch (Exception e) {
-            System.err.println("❌ Email not sent: " + e.getMessage());
+            LOG.error("Email not sent: {}", e.getMessage());
         }
     }
     
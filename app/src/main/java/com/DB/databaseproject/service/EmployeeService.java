@@ -3,6 +3,8 @@ package com.DB.databaseproject.service;
 import com.DB.databaseproject.dao.EmployeeDAO;
 import com.DB.databaseproject.dao.UserDAO;
 import com.DB.databaseproject.model.Employee;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -13,6 +15,8 @@ import java.util.List;
  */
 public class EmployeeService {
     
+    private static final Log LOG = Log.get(EmployeeService.class);
+    
     private final EmployeeDAO employeeDAO;
     private final UserDAO userDAO;
     
@@ -38,12 +42,12 @@ public class EmployeeService {
         try {
             boolean updated = employeeDAO.update(employee);
             if (updated) {
-                System.out.println("✅ Employee updated successfully: " + employee.getFullName());
+                LOG.info("Employee updated successfully: {}", employee.getFullName());
+                LookupCache.invalidate(LookupCache.Source.EMPLOYEES);
             }
             return updated;
         } catch (SQLException e) {
-            System.err.println("❌ Employee update error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Employee update error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -57,87 +61,48 @@ public class EmployeeService {
      * @return true if both deletions succeeded, false otherwise
      */
     public boolean deleteEmployee(int employeeId) {
-        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║         EMPLOYEE SERVICE - DELETE OPERATION                 ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
-        System.out.println("🗑️  Attempting to delete Employee ID: " + employeeId);
-        System.out.println("📌 Note: Any assigned orders will be automatically unassigned");
+        LOG.debug("Deleting Employee ID {} (assigned orders will be unassigned)", employeeId);
         
         try {
             // Step 1: Get the User_ID associated with this employee
-            System.out.println("\n📋 Step 1: Fetching User_ID for Employee_ID: " + employeeId);
             int userId = employeeDAO.getUserIdByEmployeeId(employeeId);
             
             if (userId <= 0) {
-                System.err.println("❌ ERROR: Could not find User_ID for Employee_ID: " + employeeId);
-                System.err.println("   The employee may not exist or data is corrupted.");
-                System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+                LOG.error("Could not find User_ID for Employee_ID {} - the employee may not exist", employeeId);
                 return false;
             }
             
-            System.out.println("✅ Found User_ID: " + userId);
-            
             // Step 2: Delete from Employee table
             // This will also unassign any orders (set Employee_ID to NULL)
             // The DAO handles this with a transaction
-            System.out.println("\n📋 Step 2: Deleting from Employee table...");
-            System.out.println("   (Orders will be unassigned automatically if any exist)");
-            
             boolean employeeDeleted = employeeDAO.deleteEmployeeById(employeeId);
             
             if (!employeeDeleted) {
-                System.err.println("❌ ERROR: Failed to delete from Employee table!");
-                System.err.println("   Employee_ID: " + employeeId);
-                System.err.println("   Check console for detailed error messages");
-                System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+                LOG.error("Failed to delete Employee_ID {} from Employee table", employeeId);
                 return false;
             }
-            
-            System.out.println("✅ Employee record deleted successfully!");
-            System.out.println("✅ All orders previously assigned to this employee are now unassigned");
+            LookupCache.invalidate(LookupCache.Source.EMPLOYEES);
+            LookupCache.invalidate(LookupCache.Source.ORDERS);
             
             // Step 3: Delete from User table
-            System.out.println("\n📋 Step 3: Deleting from User table...");
             boolean userDeleted = userDAO.deleteUserById(userId);
             
             if (!userDeleted) {
-                System.err.println("⚠️  WARNING: Employee deleted but User record deletion failed!");
-                System.err.println("   User_ID: " + userId);
-                System.err.println("   This may cause orphaned User records in the database.");
-                System.err.println("   However, the employee and order unassignment were successful.");
-                System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+                LOG.warn("Employee {} deleted but User record {} could not be deleted (orphaned User record)",
+                        employeeId, userId);
                 return false;
             }
             
-            System.out.println("✅ User record deleted successfully!");
-            System.out.println("\n✅ ✅ ✅ COMPLETE DELETION SUCCESSFUL! ✅ ✅ ✅");
-            System.out.println("   Employee_ID: " + employeeId + " (deleted)");
-            System.out.println("   User_ID: " + userId + " (deleted)");
-            System.out.println("   Orders: All previously assigned orders are now unassigned");
-            System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+            LOG.info("Employee deleted: Employee ID {} | User ID {}", employeeId, userId);
             
             return true;
             
         } catch (SQLException e) {
-            System.err.println("\n❌ ❌ ❌ DATABASE ERROR DURING DELETION! ❌ ❌ ❌");
-            System.err.println("   Employee_ID: " + employeeId);
-            System.err.println("   Error Message: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            System.err.println("   Error Code: " + e.getErrorCode());
-            System.err.println("\n💡 Possible causes:");
-            System.err.println("   - Database connection issue");
-            System.err.println("   - Invalid Employee_ID");
-            System.err.println("   - Transaction error");
-            System.err.println("   - Unexpected foreign key constraint");
-            System.out.println("╚════════════════════════════════════════════════════════════╝\n");
-            e.printStackTrace();
+            LOG.error("Employee deletion error for Employee ID {} (SQL State {}): {}",
+                    employeeId, e.getSQLState(), e.getMessage(), e);
             return false;
         } catch (Exception e) {
-            System.err.println("\n❌ ❌ ❌ UNEXPECTED ERROR! ❌ ❌ ❌");
-            System.err.println("   Employee_ID: " + employeeId);
-            System.err.println("   Error: " + e.getMessage());
-            System.out.println("╚════════════════════════════════════════════════════════════╝\n");
-            e.printStackTrace();
+            LOG.error("Unexpected error deleting Employee ID {}: {}", employeeId, e.getMessage(), e);
             return false;
         }
     }
@@ -149,8 +114,7 @@ public class EmployeeService {
         try {
             return employeeDAO.getAll();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching employees: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching employees: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -162,8 +126,7 @@ public class EmployeeService {
         try {
             return employeeDAO.searchByName(searchTerm);
         } catch (SQLException e) {
-            System.err.println("❌ Error searching employees: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error searching employees: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -175,8 +138,7 @@ public class EmployeeService {
         try {
             return employeeDAO.getById(employeeId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching employee: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching employee: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -188,8 +150,7 @@ public class EmployeeService {
         try {
             return employeeDAO.getByUserId(userId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching employee: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching employee: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -202,8 +163,7 @@ public class EmployeeService {
         try {
             return employeeDAO.getUserIdByEmployeeId(employeeId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching User_ID: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching User_ID: {}", e.getMessage(), e);
             return -1;
         }
     }
@@ -215,7 +175,7 @@ public class EmployeeService {
         try {
             return employeeDAO.getCount();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting employee count: " + e.getMessage());
+            LOG.error("Error getting employee count: {}", e.getMessage());
             return 0;
         }
     }
@@ -2,14 +2,32 @@ package com.DB.databaseproject.service;
 
 import com.DB.databaseproject.dao.OrderDAO;
 import com.DB.databaseproject.dao.OrderDetailsDAO;
-import com.DB.databaseproject.dao.StoneDAO;
+import com.DB.databaseproject.model.BulkUpdateResult;
+import com.DB.databaseproject.model.CancellationResult;
+import com.DB.databaseproject.model.CheckoutResult;
 import com.DB.databaseproject.model.Order;
+import com.DB.databaseproject.model.OrderChange;
+import com.DB.databaseproject.model.OrderDelta;
 import com.DB.databaseproject.model.OrderDetails;
-import com.DB.databaseproject.model.Stone;
+import com.DB.databaseproject.model.OrderStatus;
+import com.DB.databaseproject.model.StatusTransitionResult;
+import com.DB.databaseproject.util.DBNotificationListener;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.Transactions;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Order Service
@@ -17,9 +35,23 @@ import java.util.List;
  */
 public class OrderService {
     
+    private static final Log LOG = Log.get(OrderService.class);
+    
+    // NOTIFY channel of add_order_change_notify.sql
+    private static final String ORDER_CHANGES_CHANNEL = "order_changes";
+    
+    // Monthly order partitions kept ready ahead of the current month (partition_orders_by_month.sql)
+    private static final int UPCOMING_PARTITION_MONTHS = 3;
+    
+    // Requests made within this window are loaded by one query (loadOrderDetails)
+    private static final long DETAILS_BATCH_WINDOW_MS = Long.getLong("orders.detailsBatch.windowMs", 2L);
+    
     private final OrderDAO orderDAO;
     private final OrderDetailsDAO orderDetailsDAO;
-    private final StoneDAO stoneDAO;
+    
+    // Order details requested but not loaded yet, one future per order (guarded by itself)
+    private final Map<Integer, CompletableFuture<List<OrderDetails>>> pendingDetails = new LinkedHashMap<>();
+    private final ScheduledExecutorService detailsLoader;
     
     // Singleton instance
     private static OrderService instance;
@@ -27,7 +59,11 @@ public class OrderService {
     private OrderService() {
         this.orderDAO = new OrderDAO();
         this.orderDetailsDAO = new OrderDetailsDAO();
-        this.stoneDAO = new StoneDAO();
+        this.detailsLoader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "OrderDetailsLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     public static OrderService getInstance() {
@@ -39,54 +75,17 @@ public class OrderService {
 
     /**
      * Create a new order with order details (admin/employee orders)
+     * Order, order lines and stock decrements are written atomically (see checkout)
      * @param customerId Customer ID
      * @param orderDetailsList List of order details (stones and quantities)
      * @return Order ID if successful, -1 otherwise
      */
     public int createOrder(int customerId, List<OrderDetails> orderDetailsList) {
-        try {
-            // Calculate total amount
-            double totalAmount = 0.0;
-            for (OrderDetails detail : orderDetailsList) {
-                totalAmount += detail.getSubtotal();
-            }
-            
-            // Create order
-            Order order = new Order();
-            order.setOrderDate(LocalDate.now());
-            order.setTotalAmount(totalAmount);
-            order.setStatus("Pending");
-            
-            int orderId = orderDAO.insert(order, customerId, null);
-            
-            if (orderId > 0) {
-                // Set order ID for all details
-                for (OrderDetails detail : orderDetailsList) {
-                    detail.setOrderId(orderId);
-                }
-                
-                // Insert order details
-                boolean detailsInserted = orderDetailsDAO.insertBatch(orderDetailsList);
-                
-                if (detailsInserted) {
-                    // Update stone quantities
-                    for (OrderDetails detail : orderDetailsList) {
-                        boolean updated = stoneDAO.decreaseQuantity(detail.getStoneId(), detail.getQuantity());
-                        if (!updated) {
-                            System.err.println("⚠️ Warning: Failed to update stock for stone ID: " + detail.getStoneId());
-                        }
-                    }
-                    
-                    System.out.println("✅ Order created successfully: Order ID " + orderId);
-                    return orderId;
-                }
-            }
-            return -1;
-        } catch (SQLException e) {
-            System.err.println("❌ Order creation error: " + e.getMessage());
-            e.printStackTrace();
-            return -1;
+        CheckoutResult result = checkout(customerId, orderDetailsList);
+        if (result.isSuccess()) {
+            LOG.info("Order created successfully: Order ID {}", result.getOrderId());
         }
+        return result.getOrderId();
     }
     
     /**
@@ -97,180 +96,178 @@ public class OrderService {
      * @return Order ID if successful, -1 otherwise
      */
     public int createCustomerOrder(int customerId, List<OrderDetails> orderDetailsList) {
-        try {
-            System.out.println("\n═══════════════════════════════════════════════");
-            System.out.println("🛒 Creating Customer Self-Service Order");
-            System.out.println("═══════════════════════════════════════════════");
-            System.out.println("Customer ID: " + customerId);
-            
-            // Calculate total amount
+        return checkout(customerId, orderDetailsList).getOrderId();
+    }
+    
+    /**
+     * Checkout in ONE server round trip
+     * Inserts the Pending/unassigned order, all its lines and decrements stock for every line,
+     * or writes nothing if any stone is short on stock
+     * @param customerId Customer ID
+     * @param orderDetailsList List of order details (stones and quantities)
+     * @return new Order ID, or the stones without enough stock
+     */
+    public CheckoutResult checkout(int customerId, List<OrderDetails> orderDetailsList) {
+        if (LOG.isDebugEnabled()) {
             double totalAmount = 0.0;
             for (OrderDetails detail : orderDetailsList) {
                 totalAmount += detail.getSubtotal();
-                System.out.println("Stone ID: " + detail.getStoneId() + " | Qty: " + detail.getQuantity() + 
-                                 " | Price: $" + detail.getUnitPrice() + " | Subtotal: $" + detail.getSubtotal());
+                LOG.debug("Checkout line: Stone ID {} | Qty: {} | Price: ${} | Subtotal: ${}",
+                        detail.getStoneId(), detail.getQuantity(), detail.getUnitPrice(), detail.getSubtotal());
             }
-            System.out.println("Total Amount: $" + String.format("%.2f", totalAmount));
-            
-            // REQUIREMENT: Create order with Status='Pending' and Employee_ID=NULL
-            Order order = new Order();
-            order.setOrderDate(LocalDate.now());
-            order.setTotalAmount(totalAmount);
-            order.setStatus("Pending"); // Customer orders start as Pending
-            
-            // REQUIREMENT: Insert into Orders with Employee_ID = NULL (unassigned)
-            int orderId = orderDAO.insert(order, customerId, null);
-            System.out.println("Order inserted with ID: " + orderId + " | Status: Pending | Employee_ID: NULL (Unassigned)");
-            
-            if (orderId > 0) {
-                // Set order ID for all details
-                for (OrderDetails detail : orderDetailsList) {
-                    detail.setOrderId(orderId);
-                }
-                
-                // REQUIREMENT: Insert into Order_Details
-                boolean detailsInserted = orderDetailsDAO.insertBatch(orderDetailsList);
-                System.out.println("Order details inserted: " + detailsInserted);
-                
-                if (detailsInserted) {
-                    // REQUIREMENT: Update Stone table - decrease QuantityInStock
-                    for (OrderDetails detail : orderDetailsList) {
-                        boolean updated = stoneDAO.decreaseQuantity(detail.getStoneId(), detail.getQuantity());
-                        if (updated) {
-                            System.out.println("✅ Stock updated for Stone ID " + detail.getStoneId() + 
-                                             " | Decreased by: " + detail.getQuantity());
-                        } else {
-                            System.err.println("⚠️ Warning: Failed to update stock for stone ID: " + detail.getStoneId());
-                        }
-                    }
-                    
-                    System.out.println("✅ Customer order created successfully: Order ID " + orderId);
-                    System.out.println("═══════════════════════════════════════════════\n");
-                    return orderId;
-                }
+            LOG.debug("Checkout for Customer ID {}: {} line(s), total ${}",
+                    customerId, orderDetailsList.size(), String.format("%.2f", totalAmount));
+        }
+        
+        try {
+            CheckoutResult result = orderDAO.checkout(customerId, orderDetailsList);
+            if (result.isSuccess()) {
+                LOG.info("Order created: Order ID {} | Status: Pending | Employee_ID: NULL (Unassigned)",
+                        result.getOrderId());
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+                LookupCache.invalidate(LookupCache.Source.STONES);
+                StoneService.getInstance().invalidateCatalog();
+            } else {
+                LOG.warn("Order rejected - insufficient stock for stone ID(s): {}", result.getInsufficientStoneIds());
             }
-            
-            System.err.println("❌ Failed to create customer order");
-            System.out.println("═══════════════════════════════════════════════\n");
-            return -1;
-        } catch (SQLException e) {
-            System.err.println("❌ Customer order creation error: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("═══════════════════════════════════════════════\n");
-            return -1;
+            return result;
+        } catch (SQLException | IllegalArgumentException e) {
+            LOG.error("Checkout error: {}", e.getMessage(), e);
+            return CheckoutResult.failed();
         }
     }
 
     /**
      * Update order status with validation
      * BUSINESS RULES:
-     * - Valid transitions: Pending → Processing → Completed
+     * - Valid transitions: Pending → Processing → Completed (see OrderStatus)
      * - Once Completed, order becomes read-only (no further changes)
      * - Send email notification when order becomes Completed
      */
     public boolean updateOrderStatus(int orderId, String newStatus) {
+        return transitionOrderStatus(orderId, newStatus, -1).isUpdated();
+    }
+    
+    /**
+     * Update order status in one conditional UPDATE (no read before the write)
+     * Same rules as updateOrderStatus; with expectedVersion the update is also rejected (CONFLICT)
+     * if someone else changed the order since the caller read it.
+     *
+     * @param expectedVersion Order.getVersion() of the order the user was looking at, or -1
+     * @return old and new status, or why the order was left unchanged
+     */
+    public StatusTransitionResult transitionOrderStatus(int orderId, String newStatus, int expectedVersion) {
+        OrderStatus target = OrderStatus.parse(newStatus);
+        if (target == null) {
+            LOG.error("Unknown order status: {}", newStatus);
+            return StatusTransitionResult.rejected(StatusTransitionResult.Outcome.INVALID_TRANSITION, orderId, null, -1);
+        }
+        
         try {
-            // Get current order to check existing status
-            Order currentOrder = orderDAO.getById(orderId);
-            if (currentOrder == null) {
-                System.err.println("❌ Order not found: " + orderId);
-                return false;
-            }
-            
-            String currentStatus = currentOrder.getStatus();
+            StatusTransitionResult result =
+                    orderDAO.transitionStatus(orderId, target.getLabel(), lowerCased(target.allowedFromValues()), expectedVersion);
             
-            // BUSINESS RULE: Once Completed, no status changes allowed
-            if ("Completed".equalsIgnoreCase(currentStatus)) {
-                System.err.println("❌ Cannot update status: Order " + orderId + " is already Completed (read-only)");
-                return false;
-            }
-            
-            // Validate status transition
-            if (!isValidStatusTransition(currentStatus, newStatus)) {
-                System.err.println("❌ Invalid status transition: " + currentStatus + " → " + newStatus);
-                System.err.println("   Valid transitions: Pending → Processing → Completed");
-                return false;
-            }
-            
-            boolean updated = orderDAO.updateStatus(orderId, newStatus);
-            if (updated) {
-                System.out.println("✅ Order status updated: Order ID " + orderId + " | " + currentStatus + " → " + newStatus);
-                
-                // Send email notification if order is now Completed
-                if ("Completed".equalsIgnoreCase(newStatus)) {
-                    sendOrderCompletedEmail(orderId);
-                }
+            switch (result.getOutcome()) {
+                case UPDATED:
+                    LOG.info("Order status updated: Order ID {} | {} → {}",
+                            orderId, result.getPreviousStatus(), result.getNewStatus());
+                    LookupCache.invalidate(LookupCache.Source.ORDERS);
+                    // Send email notification if order is now Completed
+                    if (target == OrderStatus.COMPLETED) {
+                        sendOrderCompletedEmail(result);
+                    }
+                    return result;
+                case NOT_FOUND:
+                    LOG.error("Order not found: {}", orderId);
+                    return result;
+                case CONFLICT:
+                    LOG.error("Cannot update status: Order {} was changed by someone else (now {})",
+                            orderId, result.getPreviousStatus());
+                    return result;
+                default:
+                    OrderStatus current = OrderStatus.parse(result.getPreviousStatus());
+                    if (current != null && current.isReadOnly()) {
+                        // BUSINESS RULE: Once Completed, no status changes allowed
+                        LOG.error("Cannot update status: Order {} is already Completed (read-only)", orderId);
+                        return StatusTransitionResult.rejected(StatusTransitionResult.Outcome.READ_ONLY, orderId,
+                                result.getPreviousStatus(), result.getVersion());
+                    }
+                    LOG.error("Invalid status transition: {} → {} (valid: Pending → Processing → Completed)",
+                            result.getPreviousStatus(), newStatus);
+                    return result;
             }
-            return updated;
         } catch (SQLException e) {
-            System.err.println("❌ Order status update error: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+            LOG.error("Order status update error: {}", e.getMessage(), e);
+            return StatusTransitionResult.failed(orderId);
         }
     }
     
     /**
-     * Send order completed email notification to customer
-     * Called when order status changes to Completed
-     * Runs asynchronously - does not block
+     * Move many orders to a new status in one round trip
+     * Same rules as updateOrderStatus (Completed is read-only, see OrderStatus),
+     * enforced by the UPDATE itself; orders that become Completed get the email notification.
+     *
+     * @return per-order outcome (empty if the update failed)
      */
-    private void sendOrderCompletedEmail(int orderId) {
+    public BulkUpdateResult bulkUpdateOrderStatus(Collection<Integer> orderIds, String newStatus) {
+        if (orderIds.isEmpty()) {
+            return new BulkUpdateResult(List.of());
+        }
+        
+        OrderStatus target = OrderStatus.parse(newStatus);
+        if (target == null) {
+            LOG.error("Unknown order status: {}", newStatus);
+            return BulkUpdateResult.failed();
+        }
+        
         try {
-            // Get customer email and first name
-            String[] customerInfo = orderDAO.getCustomerEmailByOrderId(orderId);
-            
-            if (customerInfo == null) {
-                System.out.println("⚠️ No customer email found for Order ID: " + orderId);
-                return;
+            BulkUpdateResult result = orderDAO.bulkUpdateStatus(orderIds, target.getLabel(), lowerCased(target.allowedFromValues()));
+            LOG.info("Bulk status update to {}: {} of {} order(s) updated",
+                    newStatus, result.getUpdatedCount(), result.getOutcomes().size());
+            if (result.getUpdatedCount() > 0) {
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
             }
             
-            String customerEmail = customerInfo[0];
-            String customerFirstName = customerInfo[1];
-            
-            // Send email notification (async - non-blocking)
-            EmailService emailService = EmailService.getInstance();
-            emailService.sendOrderCompletedNotification(customerEmail, customerFirstName, orderId);
-            
+            if (target == OrderStatus.COMPLETED) {
+                EmailService emailService = EmailService.getInstance();
+                for (BulkUpdateResult.Outcome outcome : result.getUpdated()) {
+                    String email = outcome.getCustomerEmail();
+                    if (email != null && !email.isBlank()) {
+                        emailService.sendOrderCompletedNotification(email, outcome.getCustomerFirstName(),
+                                outcome.getOrderId());
+                    }
+                }
+            }
+            return result;
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching customer info for email notification: " + e.getMessage());
-            // Don't fail the order update if email fails
+            LOG.error("Bulk status update error: {}", e.getMessage(), e);
+            return BulkUpdateResult.failed();
         }
     }
     
     /**
-     * Validate status transition
-     * ALLOWED TRANSITIONS:
-     * - Pending → Processing
-     * - Pending → Completed
-     * - Processing → Completed
-     * - Any status → Cancelled (admin override)
+     * Status values lower-cased for the DAO's LOWER("Order_Status") matches
      */
-    private boolean isValidStatusTransition(String currentStatus, String newStatus) {
-        if (currentStatus.equalsIgnoreCase(newStatus)) {
-            return false; // No change
-        }
-        
-        currentStatus = currentStatus.toLowerCase();
-        newStatus = newStatus.toLowerCase();
-        
-        // Allow cancellation from any status
-        if ("cancelled".equals(newStatus)) {
-            return true;
+    private static List<String> lowerCased(Collection<String> statuses) {
+        List<String> lowerCased = new ArrayList<>(statuses.size());
+        for (String status : statuses) {
+            lowerCased.add(status.toLowerCase());
         }
-        
-        // Valid forward transitions
-        switch (currentStatus) {
-            case "pending":
-                return "processing".equals(newStatus) || "completed".equals(newStatus);
-            case "processing":
-                return "completed".equals(newStatus);
-            case "completed":
-                return false; // No transitions from completed
-            case "cancelled":
-                return false; // No transitions from cancelled
-            default:
-                return false;
+        return lowerCased;
+    }
+    
+    /**
+     * Send order completed email notification to customer
+     * Called when order status changes to Completed (customer details come with the update)
+     * Runs asynchronously - does not block
+     */
+    private void sendOrderCompletedEmail(StatusTransitionResult result) {
+        if (result.getCustomerEmail() == null) {
+            LOG.info("No customer email found for Order ID: {}", result.getOrderId());
+            return;
         }
+        EmailService.getInstance().sendOrderCompletedNotification(
+                result.getCustomerEmail(), result.getCustomerFirstName(), result.getOrderId());
     }
 
     /**
@@ -279,31 +276,45 @@ public class OrderService {
      */
     public boolean assignEmployeeToOrder(int orderId, int employeeId) {
         try {
-            // Get current order to check status
-            Order currentOrder = orderDAO.getById(orderId);
-            if (currentOrder == null) {
-                System.err.println("❌ Order not found: " + orderId);
-                return false;
-            }
-            
-            // BUSINESS RULE: Cannot assign/reassign employee if order is Completed
-            if ("Completed".equalsIgnoreCase(currentOrder.getStatus())) {
-                System.err.println("❌ Cannot assign employee: Order " + orderId + " is Completed (read-only)");
-                return false;
-            }
-            
-            boolean assigned = orderDAO.assignEmployee(orderId, employeeId);
+            // BUSINESS RULE: Cannot assign/reassign employee if order is Completed (checked by the UPDATE)
+            boolean assigned = orderDAO.assignEmployee(orderId, employeeId, lowerCased(OrderStatus.COMPLETED.getSpellings()));
             if (assigned) {
-                System.out.println("✅ Employee assigned to order: Order ID " + orderId + " | Employee ID: " + employeeId);
+                LOG.info("Employee assigned to order: Order ID {} | Employee ID: {}", orderId, employeeId);
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+            } else {
+                LOG.error("Cannot assign employee: Order {} not found or Completed (read-only)", orderId);
             }
             return assigned;
         } catch (SQLException e) {
-            System.err.println("❌ Employee assignment error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Employee assignment error: {}", e.getMessage(), e);
             return false;
         }
     }
     
+    /**
+     * Assign many orders to one employee in one round trip
+     * BUSINESS RULE: Completed orders are not reassigned (checked by the UPDATE itself)
+     *
+     * @return per-order outcome (empty if the update failed)
+     */
+    public BulkUpdateResult bulkAssignEmployee(Collection<Integer> orderIds, int employeeId) {
+        if (orderIds.isEmpty()) {
+            return new BulkUpdateResult(List.of());
+        }
+        try {
+            BulkUpdateResult result = orderDAO.bulkAssignEmployee(orderIds, employeeId);
+            LOG.info("Bulk assignment to Employee ID {}: {} of {} order(s) assigned",
+                    employeeId, result.getUpdatedCount(), result.getOutcomes().size());
+            if (result.getUpdatedCount() > 0) {
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+            }
+            return result;
+        } catch (SQLException e) {
+            LOG.error("Bulk assignment error: {}", e.getMessage(), e);
+            return BulkUpdateResult.failed();
+        }
+    }
+    
     /**
      * Get all employees for assignment dropdown
      */
@@ -311,8 +322,7 @@ public class OrderService {
         try {
             return orderDAO.getAllEmployees();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching employees: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching employees: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -324,8 +334,7 @@ public class OrderService {
         try {
             return orderDAO.getAll();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching orders: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -337,8 +346,7 @@ public class OrderService {
         try {
             return orderDAO.getByCustomerId(customerId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching customer orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching customer orders: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -350,8 +358,7 @@ public class OrderService {
         try {
             return orderDAO.getByEmployeeId(employeeId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching employee orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching employee orders: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -363,8 +370,7 @@ public class OrderService {
         try {
             return orderDAO.getByStatus(status);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching orders by status: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching orders by status: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -377,8 +383,7 @@ public class OrderService {
         try {
             return orderDAO.getActiveOrders();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching active orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching active orders: {}", e.getMessage(), e);
             return List.of();
         }
     }
@@ -391,12 +396,189 @@ public class OrderService {
         try {
             return orderDAO.getArchivedOrders();
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching archived orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching archived orders: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get one page of all orders, newest first
+     * @param lastSeenOrderId Order_ID of the last row already shown (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     */
+    public List<Order> getAllOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize) {
+        try {
+            return orderDAO.getAllPage(lastSeenOrderId, stopOrderId, pageSize);
+        } catch (SQLException e) {
+            LOG.error("Error fetching orders page: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get one page of active orders (Pending, Assigned, Processing), newest first
+     * @param lastSeenOrderId Order_ID of the last row already shown (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     */
+    public List<Order> getActiveOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize) {
+        try {
+            return orderDAO.getActiveOrdersPage(lastSeenOrderId, stopOrderId, pageSize);
+        } catch (SQLException e) {
+            LOG.error("Error fetching active orders page: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get one page of archived orders (Completed, Canceled), newest first
+     * @param lastSeenOrderId Order_ID of the last row already shown (0 for the first page)
+     * @param stopOrderId Lowest Order_ID returned (0 = no lower bound)
+     */
+    public List<Order> getArchivedOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize) {
+        try {
+            return orderDAO.getArchivedOrdersPage(lastSeenOrderId, stopOrderId, pageSize);
+        } catch (SQLException e) {
+            LOG.error("Error fetching archived orders page: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get one page of archived orders placed on or after a date, newest first
+     * (only the partitions of that window are read)
+     * @param orderedSince First Order_Date shown
+     */
+    public List<Order> getArchivedOrdersPage(int lastSeenOrderId, int stopOrderId, int pageSize,
+                                             LocalDate orderedSince) {
+        try {
+            return orderDAO.getArchivedOrdersPage(lastSeenOrderId, stopOrderId, pageSize, orderedSince);
+        } catch (SQLException e) {
+            LOG.error("Error fetching archived orders page: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Are there archived orders placed before a date (i.e. older than the shown window)?
+     * @return true if there are, or if it could not be checked
+     */
+    public boolean hasArchivedOrdersBefore(LocalDate orderedBefore) {
+        try {
+            return orderDAO.hasArchivedOrdersBefore(orderedBefore);
+        } catch (SQLException e) {
+            LOG.error("Error checking for older archived orders: {}", e.getMessage(), e);
+            return true;
+        }
+    }
+
+    /**
+     * Make sure the monthly order partitions exist for the coming months
+     * (called at start-up; a failure only means new orders go to the default partition)
+     */
+    public void createUpcomingOrderPartitions() {
+        try {
+            int created = orderDAO.createMonthPartitions(UPCOMING_PARTITION_MONTHS);
+            if (created > 0) {
+                LOG.info("Created {} monthly order partition(s)", created);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error creating order partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Search archived orders on the server (Order ID, customer/employee name or status), best matches first
+     * @param searchText Text typed by the user
+     * @param limit Maximum number of results
+     */
+    public List<Order> searchArchivedOrders(String searchText, int limit) {
+        if (searchText == null || searchText.isBlank()) {
+            return getArchivedOrdersPage(0, 0, limit);
+        }
+        try {
+            return orderDAO.searchArchivedOrders(searchText, limit);
+        } catch (SQLException e) {
+            LOG.error("Error searching archived orders: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Search all orders on the server (Order ID, customer/employee name or status), best matches first
+     * @param searchText Text typed by the user
+     * @param limit Maximum number of results
+     */
+    public List<Order> searchOrders(String searchText, int limit) {
+        if (searchText == null || searchText.isBlank()) {
+            return getAllOrdersPage(0, 0, limit);
+        }
+        try {
+            return orderDAO.searchOrders(searchText, limit);
+        } catch (SQLException e) {
+            LOG.error("Error searching orders: {}", e.getMessage(), e);
             return List.of();
         }
     }
 
+    /**
+     * Current order change marker (take it before loading an order table)
+     * @return marker, or -1 if it could not be read (the table then reloads fully on refresh)
+     */
+    public long getOrderChangeMarker() {
+        try {
+            return orderDAO.getChangeMarker();
+        } catch (SQLException e) {
+            LOG.error("Error reading order change marker: {}", e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Orders inserted, updated or deleted since a change marker
+     * @return delta, or null if there is no valid marker or the query failed (reload fully instead)
+     */
+    public OrderDelta getOrderChangesSince(long marker) {
+        if (marker < 0) {
+            return null;
+        }
+        try {
+            return orderDAO.getChangesSince(marker);
+        } catch (SQLException e) {
+            LOG.error("Error fetching order changes: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Receive order changes pushed by the database (inserts, deletes, status changes, reassignments)
+     * The handler runs on the FX thread; a RESYNC change means notifications may have been missed.
+     * Close the returned subscription when the view goes away.
+     */
+    public DBNotificationListener.Subscription subscribeOrderChanges(Consumer<List<OrderChange>> handler) {
+        return DBNotificationListener.subscribe(ORDER_CHANGES_CHANNEL, new DBNotificationListener.Handler() {
+            @Override
+            public void onNotifications(List<String> payloads) {
+                List<OrderChange> changes = new ArrayList<>(payloads.size());
+                for (String payload : payloads) {
+                    OrderChange change = OrderChange.parse(payload);
+                    if (change != null) {
+                        changes.add(change);
+                    } else {
+                        LOG.warn("Ignoring malformed order notification: {}", payload);
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    handler.accept(changes);
+                }
+            }
+
+            @Override
+            public void onResync() {
+                handler.accept(List.of(OrderChange.resync()));
+            }
+        });
+    }
+
     /**
      * Get order details for a specific order
      */
@@ -404,89 +586,119 @@ public class OrderService {
         try {
             return orderDetailsDAO.getByOrderId(orderId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching order details: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching order details: {}", e.getMessage(), e);
             return List.of();
         }
     }
 
+    /**
+     * Load order details in the background, batched with other requests
+     * Requests from any caller made within a few milliseconds of each other (e.g. one screen opening
+     * several orders) are collected and loaded by a single getByOrderIds query; requests for the
+     * same order share one future.
+     * @return future completed with the order's lines, or exceptionally if they could not be loaded;
+     *         switch to the FX thread with Platform.runLater before touching the UI
+     */
+    public CompletableFuture<List<OrderDetails>> loadOrderDetails(int orderId) {
+        synchronized (pendingDetails) {
+            CompletableFuture<List<OrderDetails>> future = pendingDetails.get(orderId);
+            if (future == null) {
+                if (pendingDetails.isEmpty()) {
+                    detailsLoader.schedule(this::flushPendingDetails, DETAILS_BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+                }
+                future = new CompletableFuture<>();
+                pendingDetails.put(orderId, future);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * Load every pending order details request with one query
+     */
+    private void flushPendingDetails() {
+        Map<Integer, CompletableFuture<List<OrderDetails>>> batch;
+        synchronized (pendingDetails) {
+            batch = new LinkedHashMap<>(pendingDetails);
+            pendingDetails.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Loading order details of {} order(s) in one batch", batch.size());
+        Map<Integer, List<OrderDetails>> details;
+        try {
+            details = orderDetailsDAO.getByOrderIds(batch.keySet());
+        } catch (SQLException | RuntimeException e) {
+            // Fail the requests instead of reporting orders without lines
+            LOG.error("Error fetching order details of {} order(s): {}", batch.size(), e.getMessage(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((orderId, future) -> future.complete(details.getOrDefault(orderId, List.of())));
+    }
+
     /**
      * Cancel an order (Customer can only cancel Pending orders)
      * BUSINESS RULES:
      * - Only orders with status 'Pending' can be canceled
      * - Order status will be updated to 'Canceled'
-     * - Stock quantities will be restored
+     * - Stock quantities will be restored (in the same transaction as the status change)
      * - Order record is NOT deleted (history preserved)
      * 
      * @param orderId Order ID to cancel
      * @param customerId Customer ID (for validation)
-     * @return true if canceled successfully, false otherwise
+     * @return what was canceled and restored (nothing canceled if the order is not the customer's
+     *         or not Pending; failed() on error)
      */
-    public boolean cancelOrder(int orderId, int customerId) {
+    public CancellationResult cancelOrder(int orderId, int customerId) {
+        LOG.debug("Canceling Order ID {} for Customer ID {}", orderId, customerId);
+        
         try {
-            System.out.println("\n═══════════════════════════════════════════════");
-            System.out.println("🚫 Canceling Order");
-            System.out.println("═══════════════════════════════════════════════");
-            System.out.println("Order ID: " + orderId);
-            System.out.println("Customer ID: " + customerId);
-            
-            // Get current order to validate
-            Order currentOrder = orderDAO.getById(orderId);
-            if (currentOrder == null) {
-                System.err.println("❌ Order not found: " + orderId);
-                System.out.println("═══════════════════════════════════════════════\n");
-                return false;
-            }
-            
-            // Validate customer owns this order
-            if (currentOrder.getCustomerId() != customerId) {
-                System.err.println("❌ Unauthorized: Order " + orderId + " does not belong to customer " + customerId);
-                System.out.println("═══════════════════════════════════════════════\n");
-                return false;
-            }
-            
-            String currentStatus = currentOrder.getStatus();
-            System.out.println("Current Status: " + currentStatus);
+            CancellationResult result = Transactions.inTx(conn -> orderDAO.cancelPendingOrder(conn, orderId, customerId));
             
-            // BUSINESS RULE: Only Pending orders can be canceled
-            if (!"Pending".equalsIgnoreCase(currentStatus)) {
-                System.err.println("❌ Cannot cancel: Order status is '" + currentStatus + "' (only Pending orders can be canceled)");
-                System.out.println("═══════════════════════════════════════════════\n");
-                return false;
+            if (result.isCanceled()) {
+                LOG.info("Order canceled successfully: Order ID {} | {} unit(s) of {} stone(s) restored",
+                        orderId, result.getUnitsRestored(), result.getStonesRestored());
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+                LookupCache.invalidate(LookupCache.Source.STONES);
+                StoneService.getInstance().invalidateCatalog();
+            } else {
+                LOG.error("Cannot cancel: Order {} not found, not owned by customer {}, or not Pending",
+                        orderId, customerId);
             }
+            return result;
             
-            // Update order status to Canceled
-            boolean statusUpdated = orderDAO.updateStatus(orderId, "Canceled");
-            if (!statusUpdated) {
-                System.err.println("❌ Failed to update order status");
-                System.out.println("═══════════════════════════════════════════════\n");
-                return false;
-            }
-            System.out.println("✅ Order status updated to: Canceled");
-            
-            // Restore stock quantities
-            List<OrderDetails> orderDetails = orderDetailsDAO.getByOrderId(orderId);
-            System.out.println("Restoring stock for " + orderDetails.size() + " items...");
-            
-            for (OrderDetails detail : orderDetails) {
-                boolean restored = stoneDAO.increaseStock(detail.getStoneId(), detail.getQuantity());
-                if (restored) {
-                    System.out.println("✅ Stock restored for Stone ID " + detail.getStoneId() + 
-                                     " | Increased by: " + detail.getQuantity());
-                } else {
-                    System.err.println("⚠️ Warning: Failed to restore stock for stone ID: " + detail.getStoneId());
-                }
+        } catch (SQLException e) {
+            LOG.error("Order cancellation error: {}", e.getMessage(), e);
+            return CancellationResult.failed();
+        }
+    }
+
+    /**
+     * Cancel every Pending order older than the given number of days (admin clean-up)
+     * All qualifying orders are canceled and their stock restored in one transaction.
+     *
+     * @param olderThanDays Orders placed more than this many days ago are canceled
+     * @return what was canceled and restored (failed() on error)
+     */
+    public CancellationResult cancelStalePendingOrders(int olderThanDays) {
+        LocalDate orderedBefore = LocalDate.now().minusDays(Math.max(0, olderThanDays));
+        
+        try {
+            CancellationResult result = Transactions.inTx(conn -> orderDAO.cancelStalePendingOrders(conn, orderedBefore));
+            LOG.info("Stale Pending orders canceled (before {}): {} order(s) | {} unit(s) of {} stone(s) restored",
+                    orderedBefore, result.getCanceledCount(), result.getUnitsRestored(), result.getStonesRestored());
+            if (result.isCanceled()) {
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
+                LookupCache.invalidate(LookupCache.Source.STONES);
+                StoneService.getInstance().invalidateCatalog();
             }
-            
-            System.out.println("✅ Order canceled successfully: Order ID " + orderId);
-            System.out.println("═══════════════════════════════════════════════\n");
-            return true;
-            
+            return result;
         } catch (SQLException e) {
-            System.err.println("❌ Order cancellation error: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("═══════════════════════════════════════════════\n");
-            return false;
+            LOG.error("Stale order cancellation error: {}", e.getMessage(), e);
+            return CancellationResult.failed();
         }
     }
 
@@ -495,18 +707,18 @@ public class OrderService {
      */
     public boolean deleteOrder(int orderId) {
         try {
-            // First delete order details
-            orderDetailsDAO.deleteByOrderId(orderId);
-            
-            // Then delete order
-            boolean deleted = orderDAO.delete(orderId);
+            boolean deleted = Transactions.inTx(conn -> {
+                // First delete order details, then the order
+                orderDetailsDAO.deleteByOrderId(conn, orderId);
+                return orderDAO.delete(conn, orderId);
+            });
             if (deleted) {
-                System.out.println("✅ Order deleted: Order ID " + orderId);
+                LOG.info("Order deleted: Order ID {}", orderId);
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
             }
             return deleted;
         } catch (SQLException e) {
-            System.err.println("❌ Order deletion error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Order deletion error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -518,7 +730,7 @@ public class OrderService {
         try {
             return orderDAO.getCount();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting order count: " + e.getMessage());
+            LOG.error("Error getting order count: {}", e.getMessage());
             return 0;
         }
     }
@@ -530,7 +742,7 @@ public class OrderService {
         try {
             return orderDAO.getPendingCount();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting pending order count: " + e.getMessage());
+            LOG.error("Error getting pending order count: {}", e.getMessage());
             return 0;
         }
     }
@@ -542,7 +754,7 @@ public class OrderService {
         try {
             return orderDAO.getTotalRevenue();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting total revenue: " + e.getMessage());
+            LOG.error("Error getting total revenue: {}", e.getMessage());
             return 0.0;
         }
     }
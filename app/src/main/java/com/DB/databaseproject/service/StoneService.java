@@ -2,18 +2,45 @@ package com.DB.databaseproject.service;
 
 import com.DB.databaseproject.dao.StoneDAO;
 import com.DB.databaseproject.model.Stone;
+import com.DB.databaseproject.util.Log;
+import com.DB.databaseproject.util.LookupCache;
+import com.DB.databaseproject.util.Transactions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 /**
  * Stone Service
  * Handles stone-related business logic
+ *
+ * Stone reads (all, in stock, by ID, by type, name search) are served from an in-memory
+ * catalog snapshot, loaded with one query and replaced as a whole (copy-on-write):
+ * - addStone/updateStone/updateStoneQuantity re-read the written stone, deleteStone drops it
+ * - order paths that change stock call invalidateCatalog()
+ * - the snapshot is reloaded after -DstoneCatalog.ttlSeconds (default 30), which picks up
+ *   writes made by other workstations
  */
 public class StoneService {
     
+    private static final Log LOG = Log.get(StoneService.class);
+    
+    private static final long CATALOG_TTL_NANOS =
+            TimeUnit.SECONDS.toNanos(Long.getLong("stoneCatalog.ttlSeconds", 30L));
+    
     private final StoneDAO stoneDAO;
     
+    // Current snapshot (null until loaded or after invalidation)
+    private volatile Catalog catalog;
+    // Bumped by every change to the catalog, so a load that raced a write is not installed (guarded by this)
+    private long catalogGeneration;
+    
     // Singleton instance
     private static StoneService instance;
     
@@ -35,12 +62,13 @@ public class StoneService {
         try {
             int stoneId = stoneDAO.insert(stone);
             if (stoneId > 0) {
-                System.out.println("✅ Stone added successfully: " + stone.getName());
+                LOG.info("Stone added successfully: {}", stone.getName());
+                refreshCatalogStone(stoneId);
+                LookupCache.invalidate(LookupCache.Source.STONES);
             }
             return stoneId;
         } catch (SQLException e) {
-            System.err.println("❌ Stone addition error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Stone addition error: {}", e.getMessage(), e);
             return -1;
         }
     }
@@ -52,12 +80,13 @@ public class StoneService {
         try {
             boolean updated = stoneDAO.update(stone);
             if (updated) {
-                System.out.println("✅ Stone updated successfully: " + stone.getName());
+                LOG.info("Stone updated successfully: {}", stone.getName());
+                refreshCatalogStone(stone.getStoneId());
+                LookupCache.invalidate(LookupCache.Source.STONES);
             }
             return updated;
         } catch (SQLException e) {
-            System.err.println("❌ Stone update error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Stone update error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -69,8 +98,7 @@ public class StoneService {
         try {
             return stoneDAO.countOrdersUsingStone(stoneId);
         } catch (SQLException e) {
-            System.err.println("❌ Error counting orders: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error counting orders: {}", e.getMessage(), e);
             return -1;
         }
     }
@@ -80,40 +108,31 @@ public class StoneService {
      */
     public boolean deleteStone(int stoneId) {
         try {
-            System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-            System.out.println("║         DELETE STONE - SERVICE LAYER                        ║");
-            System.out.println("╚════════════════════════════════════════════════════════════╝");
-            System.out.println("🗑️  Delete Stone Request - Stone ID: " + stoneId);
-            
-            // Step 1: Check if stone is used in orders
-            int orderCount = stoneDAO.countOrdersUsingStone(stoneId);
-            System.out.println("📊 Orders using this stone: " + orderCount);
+            LOG.debug("Delete Stone request - Stone ID: {}", stoneId);
             
-            // Step 2: If used in orders, unassign it first
-            if (orderCount > 0) {
-                System.out.println("⚠️  Stone is used in " + orderCount + " order(s)");
-                System.out.println("🔄 Unassigning stone from orders...");
-                int unassigned = stoneDAO.unassignStoneFromOrders(stoneId);
-                System.out.println("✅ Unassigned from " + unassigned + " order(s)");
-            }
-            
-            // Step 3: Delete the stone
-            System.out.println("🗑️  Deleting stone from database...");
-            boolean deleted = stoneDAO.delete(stoneId);
+            // Unassign it from any orders, then delete it - in one transaction
+            // (no separate count query: a line added in between would otherwise break the delete)
+            boolean deleted = Transactions.inTx(conn -> {
+                int unassigned = stoneDAO.unassignStoneFromOrders(conn, stoneId);
+                LOG.debug("Stone {} unassigned from {} order line(s)", stoneId, unassigned);
+                return stoneDAO.delete(conn, stoneId);
+            });
             
             if (deleted) {
-                System.out.println("✅ ✅ ✅ STONE DELETED SUCCESSFULLY! ✅ ✅ ✅");
-                System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+                LOG.info("Stone deleted: Stone ID {}", stoneId);
+                patchCatalog(stones -> {
+                    stones.removeIf(s -> s.getStoneId() == stoneId);
+                    return stones;
+                });
+                LookupCache.invalidate(LookupCache.Source.STONES);
+                LookupCache.invalidate(LookupCache.Source.ORDERS);
             } else {
-                System.err.println("❌ Stone deletion failed");
-                System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+                LOG.error("Stone deletion failed: Stone ID {}", stoneId);
             }
             
             return deleted;
         } catch (SQLException e) {
-            System.err.println("❌ Stone deletion error: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+            LOG.error("Stone deletion error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -122,63 +141,63 @@ public class StoneService {
      * Get all stones
      */
     public List<Stone> getAllStones() {
-        try {
-            return stoneDAO.getAll();
-        } catch (SQLException e) {
-            System.err.println("❌ Error fetching stones: " + e.getMessage());
-            e.printStackTrace();
-            return List.of();
-        }
+        Catalog current = getCatalog();
+        return current != null ? current.all : List.of();
     }
 
     /**
      * Get all stones in stock
      */
     public List<Stone> getStonesInStock() {
-        try {
-            return stoneDAO.getAllInStock();
-        } catch (SQLException e) {
-            System.err.println("❌ Error fetching stones in stock: " + e.getMessage());
-            e.printStackTrace();
-            return List.of();
-        }
+        Catalog current = getCatalog();
+        return current != null ? current.inStock : List.of();
     }
 
     /**
-     * Search stones by name
+     * Search stones by name (case-insensitive substring)
      */
     public List<Stone> searchStones(String searchTerm) {
-        try {
-            return stoneDAO.searchByName(searchTerm);
-        } catch (SQLException e) {
-            System.err.println("❌ Error searching stones: " + e.getMessage());
-            e.printStackTrace();
+        Catalog current = getCatalog();
+        if (current == null) {
             return List.of();
         }
+        String term = searchTerm == null ? "" : searchTerm.toLowerCase(Locale.ROOT);
+        List<Stone> matches = new ArrayList<>();
+        for (Stone stone : current.all) {
+            if (stone.getName() != null && stone.getName().toLowerCase(Locale.ROOT).contains(term)) {
+                matches.add(stone);
+            }
+        }
+        return matches;
     }
 
     /**
-     * Filter stones by type
+     * Filter stones by type (case-insensitive)
      */
     public List<Stone> filterStonesByType(String type) {
-        try {
-            return stoneDAO.filterByType(type);
-        } catch (SQLException e) {
-            System.err.println("❌ Error filtering stones: " + e.getMessage());
-            e.printStackTrace();
+        Catalog current = getCatalog();
+        if (current == null || type == null) {
             return List.of();
         }
+        return current.byType.getOrDefault(type.toLowerCase(Locale.ROOT), List.of());
     }
 
     /**
      * Get stone by ID
      */
     public Stone getStoneById(int stoneId) {
+        Catalog current = getCatalog();
+        if (current != null) {
+            Stone stone = current.byId.get(stoneId);
+            if (stone != null) {
+                return stone;
+            }
+        }
+        // Not in the snapshot (e.g. added by another workstation since it was loaded)
         try {
             return stoneDAO.getById(stoneId);
         } catch (SQLException e) {
-            System.err.println("❌ Error fetching stone: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error fetching stone: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -190,12 +209,13 @@ public class StoneService {
         try {
             boolean updated = stoneDAO.updateQuantity(stoneId, newQuantity);
             if (updated) {
-                System.out.println("✅ Stone quantity updated: Stone ID " + stoneId);
+                LOG.info("Stone quantity updated: Stone ID {}", stoneId);
+                refreshCatalogStone(stoneId);
+                LookupCache.invalidate(LookupCache.Source.STONES);
             }
             return updated;
         } catch (SQLException e) {
-            System.err.println("❌ Stone quantity update error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Stone quantity update error: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -207,7 +227,7 @@ public class StoneService {
         try {
             return stoneDAO.getCount();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting stone count: " + e.getMessage());
+            LOG.error("Error getting stone count: {}", e.getMessage());
             return 0;
         }
     }
@@ -219,8 +239,125 @@ public class StoneService {
         try {
             return stoneDAO.getTotalInventoryValue();
         } catch (SQLException e) {
-            System.err.println("❌ Error getting inventory value: " + e.getMessage());
+            LOG.error("Error getting inventory value: {}", e.getMessage());
             return 0.0;
         }
     }
+
+    /**
+     * Drop the catalog snapshot (next read reloads it)
+     * Called after writes that change stone rows outside this service (e.g. order stock updates)
+     */
+    public void invalidateCatalog() {
+        synchronized (this) {
+            catalogGeneration++;
+            catalog = null;
+        }
+        LOG.debug("Stone catalog invalidated");
+    }
+
+    /**
+     * Current catalog snapshot, loaded if missing or older than the TTL
+     * @return the snapshot, or null if it could not be loaded
+     */
+    private Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current != null && System.nanoTime() - current.loadedAt <= CATALOG_TTL_NANOS) {
+            return current;
+        }
+
+        long generation;
+        synchronized (this) {
+            generation = catalogGeneration;
+        }
+        try {
+            Catalog loaded = new Catalog(stoneDAO.getAll());
+            synchronized (this) {
+                if (generation == catalogGeneration) {
+                    catalog = loaded;
+                }
+            }
+            LOG.debug("Stone catalog loaded: {} stone(s)", loaded.all.size());
+            return loaded;
+        } catch (SQLException e) {
+            LOG.error("Error fetching stones: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Re-read one stone and replace it in the snapshot (removed if it no longer exists)
+     */
+    private void refreshCatalogStone(int stoneId) {
+        if (catalog == null) {
+            // Nothing to patch; only make sure a load in progress is not installed
+            invalidateCatalog();
+            return;
+        }
+        try {
+            Stone stone = stoneDAO.getById(stoneId);
+            patchCatalog(stones -> {
+                stones.removeIf(s -> s.getStoneId() == stoneId);
+                if (stone != null) {
+                    stones.add(stone);
+                }
+                return stones;
+            });
+        } catch (SQLException e) {
+            LOG.error("Error refreshing stone {} in catalog: {}", stoneId, e.getMessage());
+            invalidateCatalog();
+        }
+    }
+
+    /**
+     * Replace the snapshot with a patched copy (the TTL is not extended)
+     */
+    private synchronized void patchCatalog(UnaryOperator<List<Stone>> patch) {
+        catalogGeneration++;
+        Catalog current = catalog;
+        if (current != null) {
+            catalog = new Catalog(patch.apply(new ArrayList<>(current.all)), current.loadedAt);
+        }
+    }
+
+    /**
+     * Immutable catalog snapshot, indexed by ID, type and in-stock flag
+     */
+    private static final class Catalog {
+        final List<Stone> all;
+        final List<Stone> inStock;
+        final Map<Integer, Stone> byId;
+        // Keyed by lower-case type
+        final Map<String, List<Stone>> byType;
+        final long loadedAt;
+
+        Catalog(List<Stone> stones) {
+            this(stones, System.nanoTime());
+        }
+
+        Catalog(List<Stone> stones, long loadedAt) {
+            List<Stone> sorted = new ArrayList<>(stones);
+            sorted.sort((a, b) -> Integer.compare(a.getStoneId(), b.getStoneId()));
+
+            List<Stone> available = new ArrayList<>();
+            Map<Integer, Stone> ids = new HashMap<>();
+            Map<String, List<Stone>> types = new HashMap<>();
+            for (Stone stone : sorted) {
+                ids.put(stone.getStoneId(), stone);
+                if (stone.getQuantityInStock() > 0) {
+                    available.add(stone);
+                }
+                if (stone.getType() != null) {
+                    types.computeIfAbsent(stone.getType().toLowerCase(Locale.ROOT), t -> new ArrayList<>()).add(stone);
+                }
+            }
+            types.replaceAll((type, list) -> Collections.unmodifiableList(list));
+
+            this.all = Collections.unmodifiableList(sorted);
+            this.inStock = Collections.unmodifiableList(available);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byType = Collections.unmodifiableMap(types);
+            this.loadedAt = loadedAt;
+        }
+    }
 }
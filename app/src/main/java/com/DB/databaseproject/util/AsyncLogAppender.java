@@ -0,0 +1,158 @@
+package com.DB.databaseproject.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous Log Appender
+ * Callers drop events into a bounded ring buffer and return immediately;
+ * one daemon thread formats them and writes them to the console in batches
+ *
+ * - The ring buffer never blocks callers: when it is full the event is dropped and counted
+ * - WARN/ERROR go to System.err, everything else to System.out
+ * - Remaining events are flushed by a shutdown hook
+ */
+final class AsyncLogAppender {
+
+    private static final int MAX_BATCH = 256;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final ArrayBlockingQueue<Event> ring;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    AsyncLogAppender(int capacity) {
+        this.ring = new ArrayBlockingQueue<>(Math.max(capacity, 16));
+        this.writer = new Thread(this::drainLoop, "AsyncLogAppender");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "AsyncLogAppender-Shutdown"));
+    }
+
+    /**
+     * Enqueue an event without blocking
+     */
+    void append(Event event) {
+        if (!ring.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !ring.isEmpty()) {
+            try {
+                Event first = ring.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ring.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown requested - loop drains what is left
+                running = false;
+            }
+        }
+    }
+
+    private void write(List<Event> batch) {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+
+        long droppedNow = dropped.sum();
+        if (droppedNow > droppedReported) {
+            err.append("⚠️ AsyncLogAppender: ").append(droppedNow - droppedReported)
+               .append(" log event(s) dropped (ring buffer full)").append(System.lineSeparator());
+            droppedReported = droppedNow;
+        }
+
+        for (Event event : batch) {
+            StringBuilder target = event.level.ordinal() >= Log.Level.WARN.ordinal() ? err : out;
+            format(event, target);
+        }
+
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+        }
+    }
+
+    private static void format(Event event, StringBuilder sb) {
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(event.timestamp), sb);
+        sb.append(' ').append(String.format("%-5s", event.level))
+          .append(" [").append(event.thread).append("] ")
+          .append(event.logger).append(" - ");
+
+        Object[] args = event.args;
+        String pattern = event.pattern != null ? event.pattern : "null";
+        int argIndex = 0;
+        int start = 0;
+        if (args != null) {
+            int placeholder;
+            while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+                sb.append(pattern, start, placeholder).append(args[argIndex++]);
+                start = placeholder + 2;
+            }
+        }
+        sb.append(pattern, start, pattern.length()).append(System.lineSeparator());
+
+        // Trailing Throwable that was not consumed by a placeholder -> stack trace
+        if (args != null && argIndex < args.length && args[args.length - 1] instanceof Throwable) {
+            StringWriter trace = new StringWriter();
+            ((Throwable) args[args.length - 1]).printStackTrace(new PrintWriter(trace));
+            sb.append(trace);
+        }
+    }
+
+    private void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(2_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One log call, formatted later on the writer thread
+     */
+    static final class Event {
+        final long timestamp;
+        final Log.Level level;
+        final String logger;
+        final String thread;
+        final String pattern;
+        final Object[] args;
+
+        Event(long timestamp, Log.Level level, String logger, String thread, String pattern, Object[] args) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.pattern = pattern;
+            this.args = args;
+        }
+    }
+}
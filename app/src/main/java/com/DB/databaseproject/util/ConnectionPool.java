@@ -0,0 +1,446 @@
+package com.DB.databaseproject.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC Connection Pool
+ * Keeps up to maxSize physical PostgreSQL connections open and lends them to callers
+ *
+ * - Borrowers wait in FIFO order (fair semaphore) and time out when the pool is exhausted
+ * - Idle connections are validated on borrow unless they were used very recently
+ * - Connections held longer than the leak threshold are reported with the borrowing stack trace
+ * - close() on a borrowed connection returns it to the pool (state is reset first)
+ */
+public class ConnectionPool {
+
+    private static final Log LOG = Log.get(ConnectionPool.class);
+
+    // Connections returned within this window are handed out again without an isValid() round trip
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 5_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final long idleTimeoutMillis;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final ScheduledExecutorService housekeeper;
+
+    // Statistics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder discardedCount = new LongAdder();
+
+    /**
+     * @param maxSize Maximum number of physical connections
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before failing
+     * @param leakThresholdMillis Report connections held longer than this (0 disables leak detection)
+     * @param idleTimeoutMillis Close idle connections unused for longer than this
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long borrowTimeoutMillis, long leakThresholdMillis, long idleTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ConnectionPool-Housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MILLIS, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool
+     * The returned connection must be closed by the caller (try-with-resources) to give it back
+     *
+     * @return pooled Connection
+     * @throws SQLTransientConnectionException if no connection becomes free within the borrow timeout
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown.get()) {
+            throw new SQLException("Connection pool has been shut down", "08003");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException(
+                        "Connection pool exhausted: no connection available within " + borrowTimeoutMillis
+                        + " ms (active=" + leased.size() + ", max=" + maxSize
+                        + ", waiters=" + permits.getQueueLength() + ")", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", "08001", e);
+        }
+
+        try {
+            Connection physical = takeIdle();
+            if (physical == null) {
+                physical = openPhysical();
+            }
+
+            Lease lease = new Lease(physical);
+            leased.add(lease);
+            recordBorrow(System.nanoTime() - start);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Pop the most recently returned idle connection, validating it if it has been idle for a while
+     * Broken connections are discarded and the next one is tried
+     */
+    private Connection takeIdle() {
+        IdleConnection candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (System.nanoTime() - candidate.returnedAt < VALIDATION_BYPASS_NANOS) {
+                return candidate.physical;
+            }
+            try {
+                if (candidate.physical.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return candidate.physical;
+                }
+            } catch (SQLException e) {
+                // fall through and discard
+            }
+            LOG.warn("Discarding broken pooled connection");
+            discard(candidate.physical);
+        }
+        return null;
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        openCount.incrementAndGet();
+        createdCount.increment();
+        return physical;
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.increment();
+        borrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Give a leased connection back: close leftover statements, roll back open transactions,
+     * restore auto-commit and push it onto the idle stack (or discard it if it is unusable)
+     */
+    private void release(Lease lease) {
+        leased.remove(lease);
+        Connection physical = lease.physical;
+        try {
+            boolean reusable = !lease.broken && !shutdown.get() && resetState(lease);
+            if (reusable) {
+                idle.offerFirst(new IdleConnection(physical, System.nanoTime()));
+            } else {
+                discard(physical);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean resetState(Lease lease) {
+        Connection physical = lease.physical;
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            lease.closeStatements();
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            LOG.warn("Could not reset pooled connection: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void discard(Connection physical) {
+        openCount.decrementAndGet();
+        discardedCount.increment();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            // Already broken - nothing else to do
+        }
+    }
+
+    /**
+     * Periodic maintenance: report leaked connections and close connections idle too long
+     */
+    private void housekeep() {
+        long now = System.nanoTime();
+
+        if (leakThresholdMillis > 0) {
+            long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+            for (Lease lease : leased) {
+                if (!lease.leakReported && now - lease.borrowedAt > thresholdNanos) {
+                    lease.leakReported = true;
+                    leakCount.increment();
+                    // borrowSite (may be null) is logged as the stack trace of the borrow call
+                    LOG.warn("Possible connection leak: connection held for {} ms by thread {}",
+                            TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAt), lease.borrowerThread, lease.borrowSite);
+                }
+            }
+        }
+
+        if (idleTimeoutMillis > 0) {
+            long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+            for (IdleConnection candidate : idle) {
+                if (now - candidate.returnedAt > idleNanos && idle.remove(candidate)) {
+                    discard(candidate.physical);
+                }
+            }
+        }
+    }
+
+    /**
+     * Close every idle connection and stop accepting new borrows
+     * Connections still in use are closed when they are returned
+     */
+    public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        IdleConnection candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            discard(candidate.physical);
+        }
+    }
+
+    /**
+     * Snapshot of live pool statistics
+     */
+    public Stats getStats() {
+        long borrows = borrowCount.sum();
+        return new Stats(
+                leased.size(),
+                idle.size(),
+                permits.getQueueLength(),
+                openCount.get(),
+                maxSize,
+                borrows,
+                borrows == 0 ? 0.0 : borrowNanos.sum() / (double) borrows / 1_000_000.0,
+                maxBorrowNanos.get() / 1_000_000.0,
+                timeoutCount.sum(),
+                leakCount.sum(),
+                createdCount.sum(),
+                discardedCount.sum()
+        );
+    }
+
+    /**
+     * Immutable pool statistics snapshot
+     */
+    public static final class Stats {
+        private final int active;
+        private final int idle;
+        private final int waiters;
+        private final int open;
+        private final int maxSize;
+        private final long borrowCount;
+        private final double avgBorrowMillis;
+        private final double maxBorrowMillis;
+        private final long timeoutCount;
+        private final long leakCount;
+        private final long createdCount;
+        private final long discardedCount;
+
+        Stats(int active, int idle, int waiters, int open, int maxSize, long borrowCount,
+              double avgBorrowMillis, double maxBorrowMillis, long timeoutCount, long leakCount,
+              long createdCount, long discardedCount) {
+            this.active = active;
+            this.idle = idle;
+            this.waiters = waiters;
+            this.open = open;
+            this.maxSize = maxSize;
+            this.borrowCount = borrowCount;
+            this.avgBorrowMillis = avgBorrowMillis;
+            this.maxBorrowMillis = maxBorrowMillis;
+            this.timeoutCount = timeoutCount;
+            this.leakCount = leakCount;
+            this.createdCount = createdCount;
+            this.discardedCount = discardedCount;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getWaiters() { return waiters; }
+        public int getOpen() { return open; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public double getAvgBorrowMillis() { return avgBorrowMillis; }
+        public double getMaxBorrowMillis() { return maxBorrowMillis; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getLeakCount() { return leakCount; }
+        public long getCreatedCount() { return createdCount; }
+        public long getDiscardedCount() { return discardedCount; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "active=%d idle=%d waiters=%d open=%d/%d borrows=%d avgBorrow=%.3fms maxBorrow=%.3fms "
+                    + "timeouts=%d leaks=%d created=%d discarded=%d",
+                    active, idle, waiters, open, maxSize, borrowCount, avgBorrowMillis, maxBorrowMillis,
+                    timeoutCount, leakCount, createdCount, discardedCount);
+        }
+    }
+
+    /**
+     * Idle physical connection with the time it was returned
+     */
+    private static final class IdleConnection {
+        final Connection physical;
+        final long returnedAt;
+
+        IdleConnection(Connection physical, long returnedAt) {
+            this.physical = physical;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    /**
+     * One borrow of a physical connection
+     * The proxy handed to callers intercepts close() and tracks statements so they can be cleaned up
+     */
+    private final class Lease implements InvocationHandler {
+        final Connection physical;
+        final Connection proxy;
+        final long borrowedAt = System.nanoTime();
+        final String borrowerThread = Thread.currentThread().getName();
+        final Throwable borrowSite;
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final List<Statement> statements = new ArrayList<>();
+        volatile boolean leakReported;
+        volatile boolean broken;
+
+        Lease(Connection physical) {
+            this.physical = physical;
+            this.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed.get()) {
+                throw new SQLException("Connection has already been returned to the pool", "08003");
+            }
+
+            try {
+                Object result = method.invoke(physical, args);
+                if (result instanceof Statement) {
+                    trackStatement((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    // Class 08 = connection exception; don't hand this connection out again
+                    if (state != null && state.startsWith("08")) {
+                        broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+
+        private synchronized void trackStatement(Statement statement) {
+            statements.removeIf(s -> {
+                try {
+                    return s.isClosed();
+                } catch (SQLException e) {
+                    return true;
+                }
+            });
+            statements.add(statement);
+        }
+
+        synchronized void closeStatements() {
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // Ignore - connection is being reset anyway
+                }
+            }
+            statements.clear();
+        }
+    }
+}
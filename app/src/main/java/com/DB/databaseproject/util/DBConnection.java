@@ -8,27 +8,47 @@ import java.sql.SQLException;
  * Database Connection Utility
  * Manages PostgreSQL database connections
  * 
- * IMPORTANT: Creates a NEW connection for each request (no static caching)
- * This prevents connection issues with PostgreSQL + JavaFX
+ * Connections are lent out by a bounded ConnectionPool: closing a connection returns it
+ * to the pool instead of tearing down the TCP/auth session.
+ * Pool settings can be overridden with -Ddb.pool.maxSize, -Ddb.pool.borrowTimeoutMs,
+ * -Ddb.pool.leakThresholdMs and -Ddb.pool.idleTimeoutMs.
+ * Statements created on these connections are measured per DAO method (see QueryMetrics)
+ * and checked against the slow-query threshold (see SlowQueryLog).
  */
 public class DBConnection {
     
+    private static final Log LOG = Log.get(DBConnection.class);
+    
     // PostgreSQL connection details
     // Database: postgres, User: stones, Schema: public
     private static final String URL = "jdbc:postgresql://localhost:5432/postgres?currentSchema=public";
     private static final String USER = "stones";
     private static final String PASSWORD = "123456";
     
+    // Pool settings
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 10);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("db.pool.borrowTimeoutMs", 5_000L);
+    private static final long LEAK_THRESHOLD_MS = Long.getLong("db.pool.leakThresholdMs", 30_000L);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 600_000L);
+    
     // Load JDBC driver once (static initializer)
     static {
         try {
             Class.forName("org.postgresql.Driver");
-            System.out.println("✅ PostgreSQL JDBC Driver loaded successfully!");
+            LOG.debug("PostgreSQL JDBC Driver loaded");
         } catch (ClassNotFoundException e) {
-            System.err.println("❌ CRITICAL: PostgreSQL JDBC Driver not found!");
-            e.printStackTrace();
+            LOG.error("CRITICAL: PostgreSQL JDBC Driver not found!", e);
         }
     }
+    
+    /**
+     * Lazily created pool (holder idiom - created on first getConnection())
+     */
+    private static final class PoolHolder {
+        static final ConnectionPool POOL = new ConnectionPool(
+            URL, USER, PASSWORD, POOL_MAX_SIZE, BORROW_TIMEOUT_MS, LEAK_THRESHOLD_MS, IDLE_TIMEOUT_MS
+        );
+    }
 
     /**
      * Private constructor to prevent instantiation
@@ -37,46 +57,58 @@ public class DBConnection {
     }
 
     /**
-     * Get a NEW database connection
+     * Borrow a database connection from the pool
      * 
-     * IMPORTANT: This method creates a FRESH connection every time!
-     * No connection caching/reuse - this is intentional for PostgreSQL + JavaFX
+     * Callers must close the connection (try-with-resources) to return it to the pool.
+     * Auto-commit is always true on a freshly borrowed connection.
      * 
-     * @return NEW Connection object
-     * @throws SQLException if connection fails
+     * @return pooled Connection object
+     * @throws SQLException if no connection could be obtained
      */
     public static Connection getConnection() throws SQLException {
         try {
-            System.out.println("🔌 Opening NEW database connection...");
-            System.out.println("   Database: postgres");
-            System.out.println("   User: " + USER);
-            System.out.println("   Schema: public");
-            
-            // Create a FRESH connection (no caching!)
-            Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-            
-            if (conn != null && !conn.isClosed()) {
-                System.out.println("✅ Database connection established successfully!");
-                System.out.println("   Connection valid: " + conn.isValid(2));
-                System.out.println("   Catalog: " + conn.getCatalog());
-                System.out.println("   Schema: " + conn.getSchema());
-                return conn;
-            } else {
-                throw new SQLException("Connection is null or closed!");
-            }
-            
+            return QueryMetrics.instrument(PoolHolder.POOL.borrow());
         } catch (SQLException e) {
-            System.err.println("❌ Failed to connect to database!");
-            System.err.println("   URL: " + URL);
-            System.err.println("   User: " + USER);
-            System.err.println("   Error: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
+            LOG.error("Failed to connect to database {} as {} (SQL State {}): {}",
+                    URL, USER, e.getSQLState(), e.getMessage());
             throw e;
         }
     }
 
     /**
-     * Close a database connection
+     * Borrow a pooled connection that is NOT measured
+     * (used by SlowQueryLog so its own EXPLAIN runs are not recorded as queries)
+     */
+    static Connection getUninstrumentedConnection() throws SQLException {
+        return PoolHolder.POOL.borrow();
+    }
+
+    /**
+     * Open a dedicated physical connection outside the pool
+     * (used by DBNotificationListener, which keeps one connection for LISTEN for the whole session)
+     */
+    static Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    /**
+     * Live connection pool statistics (active, idle, waiters, borrow latency)
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return PoolHolder.POOL.getStats();
+    }
+
+    /**
+     * Close all pooled connections (called on application exit)
+     */
+    public static void shutdown() {
+        DBNotificationListener.stop();
+        PoolHolder.POOL.shutdown();
+        LOG.info("Connection pool shut down: {}", PoolHolder.POOL.getStats());
+    }
+
+    /**
+     * Close a database connection (returns it to the pool)
      * 
      * @param conn Connection to close
      */
@@ -85,11 +117,9 @@ public class DBConnection {
             try {
                 if (!conn.isClosed()) {
                     conn.close();
-                    System.out.println("✅ Database connection closed successfully!");
                 }
             } catch (SQLException e) {
-                System.err.println("❌ Error closing database connection!");
-                e.printStackTrace();
+                LOG.error("Error closing database connection", e);
             }
         }
     }
@@ -102,37 +132,27 @@ public class DBConnection {
     public static boolean testConnection() {
         Connection conn = null;
         try {
-            System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-            System.out.println("║         DATABASE CONNECTION TEST                           ║");
-            System.out.println("╚════════════════════════════════════════════════════════════╝");
-            
             conn = getConnection();
             
             if (conn != null && !conn.isClosed() && conn.isValid(5)) {
-                System.out.println("✅ Connection test PASSED!");
-                System.out.println("✅ Can connect to database: " + conn.getCatalog());
-                System.out.println("✅ Using schema: " + conn.getSchema());
-                System.out.println("✅ Connection is valid!");
+                LOG.info("Connection test PASSED - database: {}, schema: {}", conn.getCatalog(), conn.getSchema());
                 
                 // Test query to verify table access
                 var stmt = conn.createStatement();
                 var rs = stmt.executeQuery("SELECT COUNT(*) FROM \"User\"");
                 if (rs.next()) {
-                    System.out.println("✅ Can access User table! Row count: " + rs.getInt(1));
+                    LOG.info("Can access User table - row count: {}", rs.getInt(1));
                 }
                 rs.close();
                 stmt.close();
                 
                 return true;
             } else {
-                System.out.println("❌ Connection test FAILED - connection is invalid!");
+                LOG.error("Connection test FAILED - connection is invalid");
                 return false;
             }
         } catch (SQLException e) {
-            System.err.println("❌ Database connection test FAILED!");
-            System.err.println("   Error: " + e.getMessage());
-            System.err.println("   SQL State: " + e.getSQLState());
-            e.printStackTrace();
+            LOG.error("Database connection test FAILED (SQL State {}): {}", e.getSQLState(), e.getMessage(), e);
             return false;
         } finally {
             closeConnection(conn);
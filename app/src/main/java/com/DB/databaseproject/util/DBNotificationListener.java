@@ -0,0 +1,196 @@
+package com.DB.databaseproject.util;
+
+import javafx.application.Platform;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY Listener
+ * One background thread holds one dedicated connection (not taken from the pool) and LISTENs
+ * on every channel that has subscribers
+ *
+ * - Notifications are drained in batches and handed to subscribers on the FX thread
+ * - If the connection is lost, it is reopened with backoff; subscribers are then told to resync,
+ *   because notifications sent while disconnected are lost
+ * - The thread starts with the first subscription and stops on DBConnection.shutdown()
+ */
+public final class DBNotificationListener {
+
+    private static final Log LOG = Log.get(DBNotificationListener.class);
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Receives notifications of one channel (always called on the FX thread)
+     */
+    public interface Handler {
+        void onNotifications(List<String> payloads);
+
+        /**
+         * Connection was lost and restored: notifications may have been missed
+         */
+        default void onResync() {
+        }
+    }
+
+    /**
+     * Stops delivery to one handler
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Map<String, List<Handler>> HANDLERS = new ConcurrentHashMap<>();
+    private static final Set<String> LISTENING = ConcurrentHashMap.newKeySet();
+    private static Thread thread;
+    private static volatile boolean running;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DBNotificationListener() {
+    }
+
+    /**
+     * Subscribe to a channel (starts the listener thread if needed)
+     * @param channel NOTIFY channel name (lower case identifier)
+     */
+    public static Subscription subscribe(String channel, Handler handler) {
+        HANDLERS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+        start();
+        LOG.debug("subscribe: channel={}, handlers={}", channel, HANDLERS.get(channel).size());
+        return () -> {
+            List<Handler> handlers = HANDLERS.get(channel);
+            if (handlers != null) {
+                handlers.remove(handler);
+            }
+        };
+    }
+
+    /**
+     * Stop the listener thread and close its connection
+     */
+    public static synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private static synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(DBNotificationListener::run, "DBNotificationListener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Listener loop: (re)connect, LISTEN, poll, dispatch
+     */
+    private static void run() {
+        long backoff = 1_000;
+        boolean reconnect = false;
+
+        while (running) {
+            try (Connection conn = DBConnection.openDedicatedConnection()) {
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                LISTENING.clear();
+                LOG.info("Notification listener connected");
+                if (reconnect) {
+                    dispatchResync();
+                }
+                backoff = 1_000;
+
+                while (running) {
+                    listenToNewChannels(conn);
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                LOG.warn("Notification listener disconnected (SQL State {}): {} - retrying in {} ms",
+                        e.getSQLState(), e.getMessage(), backoff);
+                reconnect = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+        LOG.info("Notification listener stopped");
+    }
+
+    private static void listenToNewChannels(Connection conn) throws SQLException {
+        for (String channel : HANDLERS.keySet()) {
+            if (LISTENING.add(channel)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN \"" + channel.replace("\"", "") + "\"");
+                }
+                LOG.debug("listen: channel={}", channel);
+            }
+        }
+    }
+
+    /**
+     * Group a batch by channel and hand it to the FX thread in one runLater per channel
+     */
+    private static void dispatch(PGNotification[] notifications) {
+        Map<String, List<String>> byChannel = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            byChannel.computeIfAbsent(notification.getName(), key -> new ArrayList<>())
+                    .add(notification.getParameter());
+        }
+        byChannel.forEach((channel, payloads) -> {
+            List<Handler> handlers = HANDLERS.get(channel);
+            if (handlers == null || handlers.isEmpty()) {
+                return;
+            }
+            List<String> batch = List.copyOf(payloads);
+            Platform.runLater(() -> {
+                for (Handler handler : handlers) {
+                    try {
+                        handler.onNotifications(batch);
+                    } catch (RuntimeException e) {
+                        LOG.error("Notification handler failed on channel {}", channel, e);
+                    }
+                }
+            });
+        });
+    }
+
+    private static void dispatchResync() {
+        HANDLERS.forEach((channel, handlers) -> Platform.runLater(() -> {
+            for (Handler handler : handlers) {
+                try {
+                    handler.onResync();
+                } catch (RuntimeException e) {
+                    LOG.error("Notification handler failed to resync on channel {}", channel, e);
+                }
+            }
+        }));
+    }
+}
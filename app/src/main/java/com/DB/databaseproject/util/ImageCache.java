@@ -0,0 +1,167 @@
+package com.DB.databaseproject.util;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Image Cache
+ * Decoded images keyed by (path, size), bounded by the memory their pixels take
+ *
+ * - Every image is counted as width x height x 4 bytes
+ * - Least recently used images are evicted once maxBytes is exceeded
+ * - With soft references enabled, evicted images stay reachable until the GC needs the
+ *   memory, so scrolling back to them does not decode them again
+ *
+ * Budget: -DimageCache.maxBytes (default 64 MB); soft references: -DimageCache.softReferences (default true)
+ */
+public final class ImageCache {
+
+    private static final Log LOG = Log.get(ImageCache.class);
+
+    static final long DEFAULT_MAX_BYTES = Long.getLong("imageCache.maxBytes", 64L * 1024 * 1024);
+    static final boolean DEFAULT_SOFT_REFERENCES =
+            Boolean.parseBoolean(System.getProperty("imageCache.softReferences", "true"));
+
+    private final long maxBytes;
+    private final boolean softReferences;
+
+    // Access-ordered: iteration starts at the least recently used image (guarded by this)
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    // Evicted images the GC has not reclaimed yet (guarded by this)
+    private final Map<String, SoftImage> evicted = new HashMap<>();
+    private final ReferenceQueue<Image> reclaimed = new ReferenceQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder softHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ImageCache(long maxBytes, boolean softReferences) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.softReferences = softReferences;
+    }
+
+    /**
+     * Cache key of an image decoded from path to fit size x size (0 = original size)
+     */
+    public static String key(String path, int size) {
+        return size + ":" + path;
+    }
+
+    /**
+     * @return the cached image, or null if it was never cached or has been reclaimed
+     */
+    public synchronized Image get(String key) {
+        Image image = peek(key);
+        if (image == null) {
+            misses.increment();
+        }
+        return image;
+    }
+
+    /**
+     * Same as get, but a miss is not counted (for a re-check right after a counted miss)
+     */
+    public synchronized Image peek(String key) {
+        expungeReclaimed();
+
+        Image image = images.get(key);
+        if (image != null) {
+            hits.increment();
+            return image;
+        }
+
+        SoftImage ref = evicted.remove(key);
+        image = ref != null ? ref.get() : null;
+        if (image != null) {
+            // Still in memory: make it recently used again
+            softHits.increment();
+            store(key, image);
+            return image;
+        }
+        return null;
+    }
+
+    public synchronized void put(String key, Image image) {
+        if (image == null) {
+            return;
+        }
+        expungeReclaimed();
+        evicted.remove(key);
+        store(key, image);
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        evicted.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return bytes held by strongly cached images
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Image cache: %d image(s), %.1f/%.1f MB, %d soft, %d hits, %d soft hits, %d misses",
+                images.size(), bytes / 1048576.0, maxBytes / 1048576.0, evicted.size(),
+                hits.sum(), softHits.sum(), misses.sum());
+    }
+
+    private void store(String key, Image image) {
+        long size = sizeOf(image);
+        Image previous = images.put(key, image);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+
+        // Evict least recently used images (the one just stored last; it may exceed the budget alone)
+        Iterator<Map.Entry<String, Image>> eldest = images.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Image> entry = eldest.next();
+            eldest.remove();
+            bytes -= sizeOf(entry.getValue());
+            if (softReferences) {
+                evicted.put(entry.getKey(), new SoftImage(entry.getKey(), entry.getValue(), reclaimed));
+            }
+        }
+        if (LOG.isDebugEnabled() && !images.containsKey(key)) {
+            LOG.debug("Image larger than the cache budget ({} bytes): {}", size, key);
+        }
+    }
+
+    /**
+     * Drop the entries of images the GC has reclaimed
+     */
+    private void expungeReclaimed() {
+        SoftImage ref;
+        while ((ref = (SoftImage) reclaimed.poll()) != null) {
+            evicted.remove(ref.key, ref);
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4L;
+    }
+
+    private static final class SoftImage extends SoftReference<Image> {
+        final String key;
+
+        SoftImage(String key, Image image, ReferenceQueue<Image> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
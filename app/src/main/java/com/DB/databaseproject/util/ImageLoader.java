@@ -0,0 +1,249 @@
+package com.DB.databaseproject.util;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Image Loader
+ * Decodes stone images on a background pool, downscaled to the size they are shown at
+ *
+ * Usage:
+ *   ImageLoader.load(imageView, stone.getImagePath(), ImageLoader.TABLE_THUMBNAIL);
+ *   ImageLoader.load(path, ImageLoader.FULL_SIZE).thenAccept(...);
+ *
+ * - Sources are tried in order: classpath resource, "/" + path resource, file, http(s) URL
+ * - An ImageView shows a placeholder until its image is decoded; a view reused for another
+ *   path (table cells, cards) ignores the result of its previous request
+ * - Decoded thumbnails are shared by all views through one ImageCache (see there for its budget);
+ *   concurrent requests for the same path and size wait for a single decode
+ * - FULL_SIZE images are not cached: one preview would evict hundreds of thumbnails
+ * - Thumbnails are also kept on disk (ThumbnailDiskCache), so after a restart they are read
+ *   back without decoding the originals
+ *
+ * Pool size: -Dimages.threads (default 2)
+ */
+public final class ImageLoader {
+
+    private static final Log LOG = Log.get(ImageLoader.class);
+
+    /** Stones table thumbnails (px) */
+    public static final int TABLE_THUMBNAIL = 50;
+    /** Shop card thumbnails (px) */
+    public static final int CARD_THUMBNAIL = 180;
+    /** Order popup image (px) */
+    public static final int POPUP_IMAGE = 200;
+    /** Original resolution (image preview) */
+    public static final int FULL_SIZE = 0;
+
+    private static final String PLACEHOLDER_PATH = "/images/stone_placeholder.png";
+    // ImageView property holding the path/size the view currently waits for
+    private static final String REQUEST_KEY = ImageLoader.class.getName() + ".request";
+
+    private static final int THREADS = Math.max(1, Integer.getInteger("images.threads", 2));
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread thread = new Thread(r, "ImageLoader-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Placeholder per size (decoded once)
+    private static final Map<Integer, Image> PLACEHOLDERS = new ConcurrentHashMap<>();
+
+    private static final ImageCache CACHE =
+            new ImageCache(ImageCache.DEFAULT_MAX_BYTES, ImageCache.DEFAULT_SOFT_REFERENCES);
+    private static final ThumbnailDiskCache DISK_CACHE =
+            new ThumbnailDiskCache(ThumbnailDiskCache.DEFAULT_DIR, ThumbnailDiskCache.DEFAULT_MAX_BYTES);
+    // Decodes in progress, by cache key
+    private static final Map<String, CompletableFuture<Image>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ImageLoader() {
+    }
+
+    /**
+     * Get an image from the cache, or decode it in the background
+     * @param size Bounding box in px (aspect ratio kept), or FULL_SIZE
+     * @return future of the image (null if the path is empty or cannot be read);
+     *         already completed if the image was cached (thumbnails only)
+     */
+    public static CompletableFuture<Image> load(String path, int size) {
+        if (path == null || path.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String key = ImageCache.key(path, size);
+        boolean cacheable = size != FULL_SIZE;
+        Image cached = cacheable ? CACHE.get(key) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> decoding = new CompletableFuture<>();
+        CompletableFuture<Image> existing = IN_FLIGHT.putIfAbsent(key, decoding);
+        if (existing != null) {
+            // Someone is decoding it already: share the result
+            return existing;
+        }
+        if (cacheable) {
+            // A decode may have finished between the cache miss and putIfAbsent
+            cached = CACHE.peek(key);
+            if (cached != null) {
+                IN_FLIGHT.remove(key, decoding);
+                decoding.complete(cached);
+                return decoding;
+            }
+        }
+
+        EXECUTOR.execute(() -> {
+            Image image = null;
+            try {
+                image = decode(path, size);
+                if (cacheable) {
+                    CACHE.put(key, image);
+                }
+            } finally {
+                // Cached before it leaves IN_FLIGHT: a request that missed the cache either joins
+                // this decode or, once it is gone from IN_FLIGHT, finds the image on its re-check
+                IN_FLIGHT.remove(key, decoding);
+                decoding.complete(image);
+            }
+        });
+        return decoding;
+    }
+
+    /**
+     * Show an image in a view: the placeholder now, the decoded image once ready (FX thread)
+     * @param size Bounding box in px (aspect ratio kept), or FULL_SIZE
+     */
+    public static void load(ImageView view, String path, int size) {
+        String request = ImageCache.key(path, size);
+        view.getProperties().put(REQUEST_KEY, request);
+
+        CompletableFuture<Image> loading = load(path, size);
+        Image cached = loading.getNow(null);
+        if (cached != null) {
+            view.setImage(cached);
+            return;
+        }
+        view.setImage(placeholder(size));
+
+        loading.thenAccept(image -> {
+            if (image == null) {
+                return;
+            }
+            Platform.runLater(() -> {
+                // The view may have been reused for another stone meanwhile
+                if (request.equals(view.getProperties().get(REQUEST_KEY))) {
+                    view.setImage(image);
+                }
+            });
+        });
+    }
+
+    /**
+     * Stone placeholder image at the given size
+     */
+    public static Image placeholder(int size) {
+        return PLACEHOLDERS.computeIfAbsent(size, s -> {
+            InputStream stream = ImageLoader.class.getResourceAsStream(PLACEHOLDER_PATH);
+            if (stream == null) {
+                LOG.warn("Placeholder image missing: {}", PLACEHOLDER_PATH);
+                return null;
+            }
+            try (InputStream in = stream) {
+                return new Image(in, s, s, true, true);
+            } catch (Exception e) {
+                LOG.warn("Placeholder image could not be read: {}", e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Memory use and hit counts of the shared image cache
+     */
+    public static String cacheStats() {
+        return CACHE.toString();
+    }
+
+    /**
+     * Stop the pool threads (called on application exit)
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Decode an image, downscaled to fit size x size (runs on the pool)
+     * Thumbnails of classpath and file images go through the on-disk thumbnail cache
+     */
+    private static Image decode(String path, int size) {
+        try {
+            Image image;
+            if (path.startsWith("http://") || path.startsWith("https://")) {
+                image = new Image(path, size, size, true, true, false);
+            } else if (size != FULL_SIZE) {
+                image = DISK_CACHE.load(path, size, (in, s) -> new Image(in, s, s, true, true));
+            } else {
+                image = decodeOriginal(path);
+            }
+
+            if (image == null) {
+                LOG.warn("Image not found: {}", path);
+                return null;
+            }
+            if (image.isError()) {
+                LOG.warn("Image could not be decoded: {} ({})", path,
+                        image.getException() != null ? image.getException().getMessage() : "unknown error");
+                return null;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Image loaded: {} -> {}x{}", path, (int) image.getWidth(), (int) image.getHeight());
+            }
+            return image;
+        } catch (Exception e) {
+            LOG.warn("Image load failed: {} ({})", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Decode a classpath or file image at its original size
+     * @return the image, or null if the path is neither
+     */
+    private static Image decodeOriginal(String path) throws IOException {
+        // Classpath resource (paths like /images/stone.jpg), then with a leading slash
+        InputStream stream = ImageLoader.class.getResourceAsStream(path);
+        if (stream == null && !path.startsWith("/")) {
+            stream = ImageLoader.class.getResourceAsStream("/" + path);
+        }
+
+        if (stream != null) {
+            try (InputStream in = stream) {
+                return new Image(in);
+            }
+        }
+        if (Files.isRegularFile(Path.of(path))) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                return new Image(in);
+            }
+        }
+        return null;
+    }
+}
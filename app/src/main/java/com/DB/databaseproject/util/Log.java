@@ -0,0 +1,282 @@
+package com.DB.databaseproject.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logging Facade
+ * Level-gated, parameterized logging written by a background thread (AsyncLogAppender)
+ *
+ * Usage:
+ *   private static final Log LOG = Log.get(StoneDAO.class);
+ *   LOG.debug("decreaseStock: Stone_ID={} by {}", stoneId, quantity);
+ *
+ * - Disabled levels return after one int comparison: the message is never formatted,
+ *   and with up to 3 arguments no argument array is allocated
+ * - Primitive arguments (IDs, counts) are still boxed by the caller before the level check;
+ *   use isDebugEnabled() around calls on hot paths (per page, per image, in loops), around
+ *   more than 3 arguments, or when computing an argument is itself expensive
+ * - "{}" placeholders are replaced on the writer thread, not the caller's thread
+ * - A trailing Throwable argument is printed with its stack trace
+ * - Levels are configured per package in /logging.properties and can be overridden
+ *   with -Dlog.level.<package>=LEVEL or at runtime with setLevel()
+ */
+public final class Log {
+
+    /**
+     * Log levels in increasing severity
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final String CONFIG_RESOURCE = "/logging.properties";
+    private static final String LEVEL_PREFIX = "level";
+
+    // Configured level per package/class prefix ("" = root)
+    private static final Map<String, Level> CONFIGURED = new ConcurrentHashMap<>();
+    private static final Map<String, Log> LOGGERS = new ConcurrentHashMap<>();
+    private static final AsyncLogAppender APPENDER;
+
+    static {
+        Properties props = loadConfiguration();
+        APPENDER = new AsyncLogAppender(Integer.parseInt(props.getProperty("buffer.size", "8192").trim()));
+    }
+
+    private final String name;
+    private final String shortName;
+    private volatile int threshold;
+
+    private Log(String name) {
+        this.name = name;
+        this.shortName = name.substring(name.lastIndexOf('.') + 1);
+        this.threshold = effectiveLevel(name).ordinal();
+    }
+
+    /**
+     * Get the logger for a class
+     */
+    public static Log get(Class<?> type) {
+        return LOGGERS.computeIfAbsent(type.getName(), Log::new);
+    }
+
+    /**
+     * Change the level of a package (or class) at runtime
+     * @param prefix Package or class name, e.g. "com.DB.databaseproject.dao" ("" for root)
+     */
+    public static void setLevel(String prefix, Level level) {
+        CONFIGURED.put(prefix, level);
+        for (Log log : LOGGERS.values()) {
+            log.threshold = effectiveLevel(log.name).ordinal();
+        }
+    }
+
+    /**
+     * Number of events dropped because the ring buffer was full
+     */
+    public static long getDroppedCount() {
+        return APPENDER.getDroppedCount();
+    }
+
+    // ==================== Level checks ====================
+
+    public boolean isDebugEnabled() {
+        return Level.DEBUG.ordinal() >= threshold;
+    }
+
+    public boolean isInfoEnabled() {
+        return Level.INFO.ordinal() >= threshold;
+    }
+
+    public boolean isWarnEnabled() {
+        return Level.WARN.ordinal() >= threshold;
+    }
+
+    public boolean isErrorEnabled() {
+        return Level.ERROR.ordinal() >= threshold;
+    }
+
+    // ==================== DEBUG ====================
+
+    public void debug(String message) {
+        if (isDebugEnabled()) {
+            append(Level.DEBUG, message, null);
+        }
+    }
+
+    public void debug(String pattern, Object arg) {
+        if (isDebugEnabled()) {
+            append(Level.DEBUG, pattern, new Object[]{arg});
+        }
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            append(Level.DEBUG, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled()) {
+            append(Level.DEBUG, pattern, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void debug(String pattern, Object... args) {
+        if (isDebugEnabled()) {
+            append(Level.DEBUG, pattern, args);
+        }
+    }
+
+    // ==================== INFO ====================
+
+    public void info(String message) {
+        if (isInfoEnabled()) {
+            append(Level.INFO, message, null);
+        }
+    }
+
+    public void info(String pattern, Object arg) {
+        if (isInfoEnabled()) {
+            append(Level.INFO, pattern, new Object[]{arg});
+        }
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (isInfoEnabled()) {
+            append(Level.INFO, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void info(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled()) {
+            append(Level.INFO, pattern, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void info(String pattern, Object... args) {
+        if (isInfoEnabled()) {
+            append(Level.INFO, pattern, args);
+        }
+    }
+
+    // ==================== WARN ====================
+
+    public void warn(String message) {
+        if (isWarnEnabled()) {
+            append(Level.WARN, message, null);
+        }
+    }
+
+    public void warn(String pattern, Object arg) {
+        if (isWarnEnabled()) {
+            append(Level.WARN, pattern, new Object[]{arg});
+        }
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (isWarnEnabled()) {
+            append(Level.WARN, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled()) {
+            append(Level.WARN, pattern, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void warn(String pattern, Object... args) {
+        if (isWarnEnabled()) {
+            append(Level.WARN, pattern, args);
+        }
+    }
+
+    // ==================== ERROR ====================
+
+    public void error(String message) {
+        if (isErrorEnabled()) {
+            append(Level.ERROR, message, null);
+        }
+    }
+
+    public void error(String pattern, Object arg) {
+        if (isErrorEnabled()) {
+            append(Level.ERROR, pattern, new Object[]{arg});
+        }
+    }
+
+    public void error(String pattern, Object arg1, Object arg2) {
+        if (isErrorEnabled()) {
+            append(Level.ERROR, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void error(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isErrorEnabled()) {
+            append(Level.ERROR, pattern, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void error(String pattern, Object... args) {
+        if (isErrorEnabled()) {
+            append(Level.ERROR, pattern, args);
+        }
+    }
+
+    // ==================== Internals ====================
+
+    private void append(Level level, String pattern, Object[] args) {
+        APPENDER.append(new AsyncLogAppender.Event(
+                System.currentTimeMillis(), level, shortName, Thread.currentThread().getName(), pattern, args));
+    }
+
+    /**
+     * Longest configured prefix wins; falls back to the root level
+     */
+    private static Level effectiveLevel(String loggerName) {
+        String bestMatch = null;
+        for (String prefix : CONFIGURED.keySet()) {
+            boolean matches = prefix.isEmpty() || loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (bestMatch == null || prefix.length() > bestMatch.length())) {
+                bestMatch = prefix;
+            }
+        }
+        return bestMatch != null ? CONFIGURED.get(bestMatch) : Level.INFO;
+    }
+
+    /**
+     * Read /logging.properties, then apply -Dlog.* system property overrides
+     */
+    private static Properties loadConfiguration() {
+        Properties props = new Properties();
+        try (InputStream in = Log.class.getResourceAsStream(CONFIG_RESOURCE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not read " + CONFIG_RESOURCE + ": " + e.getMessage());
+        }
+
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("log.")) {
+                props.setProperty(key.substring("log.".length()), System.getProperty(key));
+            }
+        }
+
+        for (String key : props.stringPropertyNames()) {
+            if (key.equals(LEVEL_PREFIX) || key.startsWith(LEVEL_PREFIX + ".")) {
+                String prefix = key.equals(LEVEL_PREFIX) ? "" : key.substring(LEVEL_PREFIX.length() + 1);
+                try {
+                    CONFIGURED.put(prefix, Level.valueOf(props.getProperty(key).trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️ Unknown log level '" + props.getProperty(key) + "' for " + key);
+                }
+            }
+        }
+        return props;
+    }
+}
@@ -0,0 +1,246 @@
+package com.DB.databaseproject.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup Cache
+ * Bounded, time-limited cache of lookup results (e.g. the admin dashboard's Quick Lookup)
+ *
+ * - Least recently used entries are evicted once maxEntries is reached
+ * - Entries expire ttl after they were loaded
+ * - Each cache names the data it was built from (Source); the services call
+ *   invalidate(Source) after every successful write, which empties the caches that depend on it
+ * - A result loaded while such a write happened is not stored (see generation())
+ *
+ * Writes made by other workstations are only picked up when entries expire.
+ * Hit/miss counters of every cache are available through stats().
+ */
+public final class LookupCache<K, V> {
+
+    /**
+     * Data a cached result is built from
+     */
+    public enum Source {
+        ORDERS,
+        CUSTOMERS,
+        EMPLOYEES,
+        STONES
+    }
+
+    private static final Log LOG = Log.get(LookupCache.class);
+
+    private static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("lookupCache.maxEntries", 200);
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(Long.getLong("lookupCache.ttlSeconds", 60L));
+
+    private static final List<LookupCache<?, ?>> CACHES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final EnumSet<Source> sources;
+
+    // Access-ordered: iteration starts at the least recently used entry (guarded by this)
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Bumped by every invalidation (guarded by this)
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private LookupCache(String name, int maxEntries, Duration ttl, EnumSet<Source> sources) {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.sources = sources;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LookupCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Create a cache with the default size and TTL (-DlookupCache.maxEntries, -DlookupCache.ttlSeconds)
+     * @param name Name shown in stats()
+     * @param source Data the cached results are built from
+     */
+    public static <K, V> LookupCache<K, V> create(String name, Source source, Source... moreSources) {
+        return create(name, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, source, moreSources);
+    }
+
+    /**
+     * Create a cache
+     * @param name Name shown in stats()
+     * @param maxEntries Entries kept before the least recently used one is evicted
+     * @param ttl Time an entry is served after it was loaded
+     * @param source Data the cached results are built from
+     */
+    public static <K, V> LookupCache<K, V> create(String name, int maxEntries, Duration ttl,
+                                                  Source source, Source... moreSources) {
+        LookupCache<K, V> cache = new LookupCache<>(name, maxEntries, ttl, EnumSet.of(source, moreSources));
+        CACHES.add(cache);
+        return cache;
+    }
+
+    /**
+     * Called by the services after a successful write: empty every cache built from this data
+     */
+    public static void invalidate(Source source) {
+        for (LookupCache<?, ?> cache : CACHES) {
+            if (cache.sources.contains(source)) {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Hit/miss counters of every cache
+     */
+    public static List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>();
+        for (LookupCache<?, ?> cache : CACHES) {
+            stats.add(cache.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Clear the hit/miss/eviction counters of every cache (cached entries are kept)
+     */
+    public static void resetStats() {
+        for (LookupCache<?, ?> cache : CACHES) {
+            cache.hits.reset();
+            cache.misses.reset();
+            cache.evictions.reset();
+        }
+    }
+
+    /**
+     * @return the cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Read before loading a value; pass it to put() so a value loaded while the cache
+     * was invalidated is not stored
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a loaded value (ignored if the cache was invalidated since loadGeneration was read)
+     */
+    public synchronized void put(K key, V value, long loadGeneration) {
+        if (value == null || loadGeneration != generation) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            LOG.debug("{}: {} entr(ies) invalidated", name, entries.size());
+            entries.clear();
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(name, entries.size(), maxEntries, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Point-in-time counters of one cache
+     */
+    public static final class Stats {
+        private final String name;
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        private Stats(String name, int size, int maxEntries, long hits, long misses, long evictions) {
+            this.name = name;
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * @return hits / (hits + misses), 0 before the first lookup
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d/%d entries, %d hits, %d misses (%.0f%% hit rate), %d evicted",
+                    name, size, maxEntries, hits, misses, getHitRate() * 100, evictions);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.DB.databaseproject.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lookup Executor
+ * Shared, bounded thread pool for interactive lookups made of several independent queries
+ *
+ * Usage:
+ *   LookupExecutor.Scope scope = LookupExecutor.openScope();
+ *   CompletableFuture<Stone> stone = scope.fork(st -> queryStone(st, id));
+ *   CompletableFuture<List<Row>> usage = scope.fork(st -> queryUsage(st, id));
+ *   stone.thenCombine(usage, ...)    // done after the slowest query, not the sum of all
+ *   ...
+ *   scope.cancel();                  // e.g. when the user starts a new search
+ *
+ * - Each forked query runs on its own pooled connection, so the queries of one lookup run in parallel
+ * - Statements must be prepared through the Statements handed to the query; cancel() calls
+ *   Statement.cancel() on every statement still executing, so the server stops working on it
+ * - If one query of a scope fails, the other queries of the scope are canceled
+ *
+ * Pool size: -Dlookup.threads (default 4; keep it below db.pool.maxSize)
+ */
+public final class LookupExecutor {
+
+    private static final Log LOG = Log.get(LookupExecutor.class);
+
+    private static final int THREADS = Math.max(1, Integer.getInteger("lookup.threads", 4));
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread thread = new Thread(r, "Lookup-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A query of a lookup (runs on a pool thread with its own connection)
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T run(Statements statements) throws SQLException;
+    }
+
+    /**
+     * Prepares the statements of one query on its connection (so they can be canceled)
+     */
+    @FunctionalInterface
+    public interface Statements {
+        PreparedStatement prepare(String sql) throws SQLException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LookupExecutor() {
+    }
+
+    /**
+     * Start a new lookup
+     */
+    public static Scope openScope() {
+        return new Scope();
+    }
+
+    /**
+     * Stop the pool threads (called on application exit)
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Error a lookup future failed with, without the CompletionException wrapper
+     */
+    public static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * The queries of one lookup; canceled together
+     */
+    public static final class Scope {
+        private final List<CompletableFuture<?>> forks = new CopyOnWriteArrayList<>();
+        // Statements of this scope that may be executing right now
+        private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+        private volatile boolean canceled;
+        // First query error (the other queries were canceled because of it)
+        private volatile Throwable failure;
+
+        private Scope() {
+        }
+
+        /**
+         * Run a query on the lookup pool
+         * @return future of the query's result (canceled if the scope is canceled first)
+         */
+        public <T> CompletableFuture<T> fork(Query<T> query) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            forks.add(future);
+            if (canceled) {
+                future.cancel(false);
+                return future;
+            }
+
+            EXECUTOR.execute(() -> {
+                if (canceled || future.isDone()) {
+                    future.cancel(false);
+                    return;
+                }
+                List<Statement> prepared = new ArrayList<>();
+                try (Connection conn = DBConnection.getConnection()) {
+                    future.complete(query.run(sql -> prepare(conn, sql, prepared)));
+                } catch (Exception e) {
+                    if (canceled) {
+                        future.cancel(false);
+                    } else {
+                        LOG.error("Lookup query failed: {}", e.getMessage());
+                        synchronized (this) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                        }
+                        future.completeExceptionally(e);
+                        // The lookup cannot complete: stop its other queries
+                        cancel();
+                    }
+                } finally {
+                    running.removeAll(prepared);
+                }
+            });
+            return future;
+        }
+
+        /**
+         * Cancel every query of this lookup: queued ones do not start, running statements are
+         * canceled on the server, and all futures complete as canceled
+         */
+        public void cancel() {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+
+            for (Statement statement : running) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    LOG.debug("Statement cancel failed: {}", e.getMessage());
+                }
+            }
+            for (CompletableFuture<?> fork : forks) {
+                fork.cancel(false);
+            }
+        }
+
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        /**
+         * @return the error that failed this lookup, or null if it succeeded or was canceled by the caller
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        private PreparedStatement prepare(Connection conn, String sql, List<Statement> prepared) throws SQLException {
+            PreparedStatement statement = conn.prepareStatement(sql);
+            prepared.add(statement);
+            running.add(statement);
+            // Registered before the check: a concurrent cancel() either sees it or is seen here
+            if (canceled) {
+                statement.close();
+                throw new SQLException("Lookup canceled", "57014");
+            }
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.DB.databaseproject.util;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lazily paged TableView
+ * Loads keyset pages (newest first) as the user scrolls and keeps at most maxPages pages in memory
+ *
+ * - Scrolling to the bottom fetches the page after the last loaded row
+ * - When the window is full, the page at the other end is dropped; pages dropped above are
+ *   fetched again when the user scrolls back to the top, as exactly the key range they covered
+ *   (from their remembered cursor down to the top of the window), so rows that appeared or
+ *   disappeared meanwhile leave neither duplicates nor gaps
+ * - Column header sorting orders the rows currently loaded
+ * - Pages are tracked by the key they were fetched after (not by row count), so rows may be
+ *   inserted into or removed from the backing list in place (e.g. by OrderDelta.applyTo)
+ *
+ * The backing list stays owned by the controller: detach() stops paging so the controller can
+ * fill the list itself (e.g. with search results).
+ */
+public class PagedTableLoader<T> {
+
+    /**
+     * Fetches at most pageSize rows after lastSeenKey (0 = first page), down to stopKey
+     * included (0 = no lower bound)
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        List<T> fetch(int lastSeenKey, int stopKey, int pageSize);
+    }
+
+    // Scroll position (0..1) treated as "at the top" / "at the bottom"
+    private static final double EDGE = 0.02;
+
+    private final TableView<T> table;
+    private final ObservableList<T> items;
+    private final ToIntFunction<T> keyOf;
+    private final int pageSize;
+    private final int maxPages;
+
+    // Cursors of the pages currently in items, top to bottom
+    private final Deque<Integer> window = new ArrayDeque<>();
+    // Cursors of the pages dropped above the window (last = closest to the window)
+    private final Deque<Integer> droppedAbove = new ArrayDeque<>();
+
+    private PageSource<T> source;
+    private boolean exhausted = true;
+    private boolean loading;
+    private VirtualFlow<?> flow;
+
+    /**
+     * @param table    Table to page (its items are set to a sorted view of the backing list)
+     * @param items    Backing list the pages are loaded into
+     * @param keyOf    Keyset column of a row (e.g. Order::getOrderId)
+     * @param pageSize Rows per page
+     * @param maxPages Pages kept in memory at once
+     */
+    public PagedTableLoader(TableView<T> table, ObservableList<T> items, ToIntFunction<T> keyOf,
+                            int pageSize, int maxPages) {
+        this.table = table;
+        this.items = items;
+        this.keyOf = keyOf;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+
+        SortedList<T> sorted = new SortedList<>(items);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+
+        table.skinProperty().addListener((observable, oldSkin, newSkin) -> hookScrolling());
+        hookScrolling();
+    }
+
+    /**
+     * Start paging from the first page of a new source
+     */
+    public void load(PageSource<T> source) {
+        this.source = source;
+        reload();
+    }
+
+    /**
+     * Drop everything and load the first page of the current source again
+     */
+    public void reload() {
+        window.clear();
+        droppedAbove.clear();
+        items.clear();
+        exhausted = source == null;
+        appendPage();
+        fillViewport();
+    }
+
+    /**
+     * Stop paging; the backing list is left to the caller
+     */
+    public void detach() {
+        source = null;
+        window.clear();
+        droppedAbove.clear();
+        exhausted = true;
+    }
+
+    /**
+     * @return true if every row of the current source has been fetched
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * @return true if a row with this key would sit inside the loaded window
+     * (rows above a dropped page or below a page not fetched yet are left to paging)
+     */
+    public boolean isInWindow(int key) {
+        if (items.isEmpty()) {
+            return exhausted && droppedAbove.isEmpty();
+        }
+        boolean belowTop = droppedAbove.isEmpty() || key < window.getFirst();
+        boolean aboveBottom = exhausted || key >= keyOf.applyAsInt(items.get(items.size() - 1));
+        return belowTop && aboveBottom;
+    }
+
+    private void hookScrolling() {
+        if (flow != null) {
+            return;
+        }
+        Node node = table.lookup(".virtual-flow");
+        if (node instanceof VirtualFlow) {
+            flow = (VirtualFlow<?>) node;
+            flow.positionProperty().addListener((observable, oldValue, newValue) -> {
+                double position = newValue.doubleValue();
+                // Change the list after the current layout pass, not inside it
+                if (position >= 1.0 - EDGE && !exhausted) {
+                    Platform.runLater(this::appendPage);
+                } else if (position <= EDGE && !droppedAbove.isEmpty()) {
+                    Platform.runLater(this::prependPage);
+                }
+            });
+        }
+    }
+
+    /**
+     * Fetch the page after the last loaded row; drop the top page if the window is full
+     */
+    private void appendPage() {
+        if (source == null || exhausted || loading) {
+            return;
+        }
+        loading = true;
+        try {
+            int cursor = items.isEmpty() ? 0 : keyOf.applyAsInt(items.get(items.size() - 1));
+            List<T> page = source.fetch(cursor, 0, pageSize);
+            exhausted = page.size() < pageSize;
+            if (page.isEmpty()) {
+                return;
+            }
+
+            int firstVisible = firstVisibleIndex();
+            items.addAll(page);
+            window.addLast(cursor);
+
+            if (window.size() > maxPages) {
+                droppedAbove.addLast(window.removeFirst());
+                // The top page holds every row down to the next page's cursor (its own last row)
+                int boundary = window.getFirst();
+                int count = 0;
+                while (count < items.size() && keyOf.applyAsInt(items.get(count)) >= boundary) {
+                    count++;
+                }
+                items.remove(0, count);
+                if (firstVisible >= 0) {
+                    table.scrollTo(Math.max(0, firstVisible - count));
+                }
+            }
+        } finally {
+            loading = false;
+        }
+    }
+
+    /**
+     * Fetch the closest page dropped above the window; drop the bottom page if the window is full
+     */
+    private void prependPage() {
+        if (source == null || droppedAbove.isEmpty() || loading) {
+            return;
+        }
+        loading = true;
+        try {
+            int cursor = droppedAbove.removeLast();
+            // Exactly the rows between the dropped cursor and the top of the window
+            int stop = window.getFirst();
+            List<T> page = source.fetch(cursor, stop, pageSize);
+            if (page.size() >= pageSize && keyOf.applyAsInt(page.get(page.size() - 1)) > stop) {
+                // More rows than a page fell into the range meanwhile; they cannot be
+                // placed without a gap, so start over from the first page
+                loading = false;
+                reload();
+                return;
+            }
+
+            int firstVisible = firstVisibleIndex();
+            items.addAll(0, page);
+            window.addFirst(cursor);
+
+            if (window.size() > maxPages) {
+                // The bottom page holds every row below its cursor
+                int boundary = window.removeLast();
+                int from = items.size();
+                while (from > 0 && keyOf.applyAsInt(items.get(from - 1)) < boundary) {
+                    from--;
+                }
+                items.remove(from, items.size());
+                exhausted = false;
+            }
+            table.scrollTo(Math.max(0, firstVisible) + page.size());
+        } finally {
+            loading = false;
+        }
+    }
+
+    /**
+     * Keep loading pages while the loaded rows do not fill the table (no scroll bar to trigger paging)
+     */
+    private void fillViewport() {
+        Platform.runLater(() -> {
+            if (flow == null || exhausted || window.size() >= maxPages) {
+                return;
+            }
+            IndexedCell<?> last = flow.getLastVisibleCell();
+            if (last != null && last.getIndex() >= items.size() - 1) {
+                appendPage();
+                fillViewport();
+            }
+        });
+    }
+
+    private int firstVisibleIndex() {
+        IndexedCell<?> first = flow != null ? flow.getFirstVisibleCell() : null;
+        return first != null ? first.getIndex() : -1;
+    }
+}
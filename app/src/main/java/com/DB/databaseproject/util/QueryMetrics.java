@@ -0,0 +1,399 @@
+package com.DB.databaseproject.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Query Metrics
+ * Per-DAO-method latency histogram (p50/p95/p99/max), execution count, error count and row count
+ * All figures are per statement execution: a DAO method that runs several statements
+ * (bulk paths, a page plus its count) records one execution, and one latency sample, for each
+ *
+ * Every connection handed out by DBConnection is wrapped here, so DAOs are measured
+ * without being edited:
+ * - The statement is attributed to the DAO method that prepared it ("StoneDAO.getAll"),
+ *   found by walking the stack once per prepareStatement()/createStatement()
+ * - Each execute call is timed; rows are counted from ResultSet.next() and update counts
+ * - All counters are LongAdders, so recording is lock-free
+ *
+ * Disable with -Ddb.metrics.enabled=false. The same wrapper feeds SlowQueryLog, which also
+ * sees the SQL text and bound parameters of each statement.
+ */
+public final class QueryMetrics {
+
+    private static final Log LOG = Log.get(QueryMetrics.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("db.metrics.enabled", "true"));
+    private static final String APP_PACKAGE = "com.DB.databaseproject.";
+    private static final String UTIL_PACKAGE = APP_PACKAGE + "util.";
+    private static final String DAO_PACKAGE = APP_PACKAGE + "dao.";
+
+    private static final Map<String, MethodMetrics> METHODS = new ConcurrentHashMap<>();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static volatile long since = System.currentTimeMillis();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private QueryMetrics() {
+    }
+
+    /**
+     * Wrap a connection so the statements it creates are measured
+     */
+    public static Connection instrument(Connection conn) {
+        if ((!ENABLED && !SlowQueryLog.isEnabled()) || conn == null) {
+            return conn;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(conn));
+    }
+
+    /**
+     * Current metrics, slowest p95 first
+     */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        METHODS.forEach((name, metrics) -> snapshots.add(new Snapshot(name, metrics)));
+        snapshots.sort(Comparator.comparingLong(Snapshot::getP95Micros).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Clear all counters (e.g. before measuring one screen)
+     */
+    public static void reset() {
+        METHODS.values().forEach(MethodMetrics::reset);
+        since = System.currentTimeMillis();
+    }
+
+    /**
+     * Write the current metrics as a text table
+     * @param file Target file (parent directories are created)
+     * @return the file that was written
+     */
+    public static Path dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.printf("Query metrics dumped %s (collected since %s)%n",
+                    LocalDateTime.now(), Instant.ofEpochMilli(since));
+            out.printf("%-45s %10s %8s %12s %10s %10s %10s %10s %10s%n",
+                    "DAO method", "executions", "errors", "rows", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (Snapshot s : snapshot()) {
+                out.printf("%-45s %10d %8d %12d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                        s.getMethod(), s.getExecutions(), s.getErrors(), s.getRows(),
+                        s.getMeanMicros() / 1000.0, s.getP50Micros() / 1000.0, s.getP95Micros() / 1000.0,
+                        s.getP99Micros() / 1000.0, s.getMaxMicros() / 1000.0);
+            }
+        }
+        LOG.info("Query metrics written to {}", file.toAbsolutePath());
+        return file;
+    }
+
+    /**
+     * Metrics of the DAO method (or other app class) that is creating a statement right now
+     */
+    static MethodMetrics forCaller() {
+        String name = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE) && !f.getClassName().startsWith(UTIL_PACKAGE))
+                .findFirst()
+                .map(QueryMetrics::frameName)
+                .orElse("(unknown)"));
+        return METHODS.computeIfAbsent(name, MethodMetrics::new);
+    }
+
+    private static String frameName(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        // Non-DAO callers (e.g. controllers running their own SQL) are still recorded, but marked
+        return (className.startsWith(DAO_PACKAGE) ? "" : "* ") + simple + "." + frame.getMethodName();
+    }
+
+    /**
+     * Counters of one DAO method
+     */
+    static final class MethodMetrics {
+        final String name;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+
+        MethodMetrics(String name) {
+            this.name = name;
+        }
+
+        void record(long elapsedNanos, boolean failed) {
+            if (!ENABLED) {
+                return;
+            }
+            latency.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            rows.reset();
+        }
+    }
+
+    /**
+     * Point-in-time view of one DAO method (getters are used by the admin TableView)
+     */
+    public static final class Snapshot {
+        private final String method;
+        private final long executions;
+        private final long errors;
+        private final long rows;
+        private final double meanMicros;
+        private final long p50Micros;
+        private final long p95Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+
+        private Snapshot(String method, MethodMetrics metrics) {
+            this.method = method;
+            this.executions = metrics.latency.getCount();
+            this.errors = metrics.errors.sum();
+            this.rows = metrics.rows.sum();
+            this.meanMicros = metrics.latency.getMeanMicros();
+            this.p50Micros = metrics.latency.getPercentileMicros(0.50);
+            this.p95Micros = metrics.latency.getPercentileMicros(0.95);
+            this.p99Micros = metrics.latency.getPercentileMicros(0.99);
+            this.maxMicros = metrics.latency.getMaxMicros();
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getMeanMicros() {
+            return meanMicros;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP95Micros() {
+            return p95Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+    }
+
+    // ==================== Proxies ====================
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Connection wrapper: hands out measured statements
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented[" + target + "]";
+                default:
+                    break;
+            }
+
+            Object result = QueryMetrics.invoke(target, method, args);
+            if (result instanceof Statement) {
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                // prepareStatement(sql, ...) / prepareCall(sql, ...): the SQL is known up front
+                String sql = type != Statement.class && args != null && args[0] instanceof String
+                        ? (String) args[0] : null;
+                return Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[]{type},
+                        new StatementHandler((Statement) result, proxy, forCaller(), sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Statement wrapper: times every execute call
+     * (and, while the slow-query log is on, remembers the bound parameters)
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Object connectionProxy;
+        private final MethodMetrics metrics;
+        private final String preparedSql;
+        private Object[] parameters;
+        private int parameterCount;
+
+        StatementHandler(Statement target, Object connectionProxy, MethodMetrics metrics, String preparedSql) {
+            this.target = target;
+            this.connectionProxy = connectionProxy;
+            this.metrics = metrics;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connectionProxy;
+                case "getResultSet":
+                    return countRows((ResultSet) QueryMetrics.invoke(target, method, args));
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                if (SlowQueryLog.isEnabled()) {
+                    captureParameter(name, args);
+                }
+                return QueryMetrics.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = QueryMetrics.invoke(target, method, args);
+                failed = false;
+                if (result instanceof ResultSet) {
+                    return countRows((ResultSet) result);
+                }
+                addUpdateCounts(result);
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                metrics.record(elapsed, failed);
+                // Plain Statement: execute(sql) / executeQuery(sql) / executeUpdate(sql, ...)
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                SlowQueryLog.record(metrics.name, sql, parameters, parameterCount, elapsed);
+            }
+        }
+
+        /**
+         * setInt(1, x), setString(2, s), setNull(3, type) ... -> parameters[index - 1]
+         */
+        private void captureParameter(String name, Object[] args) {
+            if ("clearParameters".equals(name)) {
+                parameterCount = 0;
+                return;
+            }
+            if (!name.startsWith("set") || args == null || args.length < 2 || !(args[0] instanceof Integer)) {
+                return;
+            }
+            int index = (Integer) args[0];
+            if (index < 1) {
+                return;
+            }
+            if (parameters == null) {
+                parameters = new Object[Math.max(index, 8)];
+            } else if (parameters.length < index) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            } else if (index > parameterCount) {
+                Arrays.fill(parameters, parameterCount, index - 1, null);
+            }
+            parameters[index - 1] = "setNull".equals(name) ? null : args[1];
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private void addUpdateCounts(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                metrics.rows.add(Math.max(((Number) result).longValue(), 0));
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    metrics.rows.add(Math.max(count, 0));
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    metrics.rows.add(Math.max(count, 0));
+                }
+            }
+        }
+
+        private ResultSet countRows(ResultSet rs) {
+            if (rs == null) {
+                return null;
+            }
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (rsProxy, method, args) -> {
+                        Object result = QueryMetrics.invoke(rs, method, args);
+                        if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                            metrics.rows.increment();
+                        }
+                        return result;
+                    });
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.DB.databaseproject.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Slow Query Log
+ * Statements slower than a threshold are logged (WARN) with the DAO method, elapsed time,
+ * SQL text and bound parameters (passwords redacted)
+ *
+ * - The first time a distinct SQL text is slow, its plan is captured on a background thread,
+ *   on a separate connection, inside a transaction that is always rolled back:
+ *   EXPLAIN (ANALYZE, BUFFERS) for a plain SELECT, plain EXPLAIN for anything that writes or
+ *   locks rows (ANALYZE would execute it again: take its row locks, fire its triggers, use sequence values)
+ * - Later slow executions of the same SQL are rate-limited to one entry per interval,
+ *   with a count of the suppressed ones
+ *
+ * Settings: -Ddb.slowQuery.thresholdMs (default 250, 0 disables),
+ * -Ddb.slowQuery.explain (default true), -Ddb.slowQuery.intervalMs (default 60000).
+ * Statements are seen through the QueryMetrics connection wrapper.
+ */
+public final class SlowQueryLog {
+
+    private static final Log LOG = Log.get(SlowQueryLog.class);
+
+    private static final long THRESHOLD_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("db.slowQuery.thresholdMs", 250L));
+    private static final boolean EXPLAIN = Boolean.parseBoolean(System.getProperty("db.slowQuery.explain", "true"));
+    private static final long INTERVAL_MILLIS = Long.getLong("db.slowQuery.intervalMs", 60_000L);
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    // Column names whose bound values are never written to the log
+    private static final Pattern SENSITIVE_COLUMN = Pattern.compile("(?i).*(password|passwd|pwd|secret|token).*");
+    private static final Pattern COMPARED_COLUMN =
+            Pattern.compile("\"?(\\w+)\"?\\s*(?:=|<>|!=|<=|>=|<|>|(?:NOT\\s+)?I?LIKE)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ROW_LOCK =
+            Pattern.compile("(?is).*\\bFOR\\s+(?:NO\\s+KEY\\s+)?(?:UPDATE|SHARE|KEY\\s+SHARE)\\b.*");
+    private static final Pattern INSERT_COLUMNS =
+            Pattern.compile("(?is)INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(");
+
+    private static final Map<String, Entry> STATEMENTS = new ConcurrentHashMap<>();
+
+    // One background thread for EXPLAIN; plans are dropped rather than queued without bound
+    private static final ThreadPoolExecutor EXPLAIN_EXECUTOR = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+            r -> {
+                Thread thread = new Thread(r, "SlowQueryExplain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SlowQueryLog() {
+    }
+
+    /**
+     * @return true if statements should be checked (and their parameters captured)
+     */
+    public static boolean isEnabled() {
+        return THRESHOLD_NANOS > 0;
+    }
+
+    /**
+     * Called after every execute call with its elapsed time
+     *
+     * @param method     DAO method that prepared the statement
+     * @param sql        SQL text (may be null for a plain Statement without SQL)
+     * @param bound      bound parameters, index 0 = parameter 1 (may be null)
+     * @param boundCount number of valid entries in bound
+     */
+    static void record(String method, String sql, Object[] bound, int boundCount, long elapsedNanos) {
+        if (!isEnabled() || elapsedNanos < THRESHOLD_NANOS || sql == null) {
+            return;
+        }
+        Object[] parameters = bound != null ? Arrays.copyOf(bound, boundCount) : new Object[0];
+
+        Entry entry = STATEMENTS.computeIfAbsent(sql, key -> new Entry());
+        long now = System.currentTimeMillis();
+        long last = entry.lastLoggedAt.get();
+        if (last != 0 && now - last < INTERVAL_MILLIS) {
+            entry.suppressed.incrementAndGet();
+            return;
+        }
+        if (!entry.lastLoggedAt.compareAndSet(last, now)) {
+            entry.suppressed.incrementAndGet();
+            return;
+        }
+
+        long suppressed = entry.suppressed.getAndSet(0);
+        String shownParameters = describeParameters(sql, parameters);
+        LOG.warn("Slow query in {}: {} ms{}\n{}\nParameters: {}",
+                method,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                suppressed > 0 ? " (" + suppressed + " more slow executions since last entry)" : "",
+                sql.strip(),
+                shownParameters);
+
+        if (EXPLAIN && isExplainable(sql) && entry.explained.compareAndSet(false, true)) {
+            EXPLAIN_EXECUTOR.execute(() -> explain(method, sql, parameters));
+        }
+    }
+
+    /**
+     * Bound parameters as text, with sensitive columns redacted and long values shortened
+     */
+    static String describeParameters(String sql, Object[] parameters) {
+        if (parameters.length == 0) {
+            return "[]";
+        }
+        boolean[] sensitive = sensitiveParameters(sql, parameters.length);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i + 1).append('=');
+            if (sensitive[i]) {
+                sb.append("*****");
+                continue;
+            }
+            String value = String.valueOf(parameters[i]);
+            if (value.length() > MAX_PARAMETER_LENGTH) {
+                value = value.substring(0, MAX_PARAMETER_LENGTH) + "...";
+            }
+            sb.append(parameters[i] instanceof String ? "'" + value + "'" : value);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Which "?" placeholders bind a sensitive column
+     * ("Password" = ?, or the matching position of an INSERT column list)
+     */
+    private static boolean[] sensitiveParameters(String sql, int count) {
+        boolean[] sensitive = new boolean[count];
+
+        List<Integer> placeholders = new ArrayList<>();
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?' && (i + 1 >= sql.length() || sql.charAt(i + 1) != ':')) {
+                placeholders.add(i);
+            }
+        }
+
+        for (int p = 0; p < placeholders.size() && p < count; p++) {
+            Matcher compared = COMPARED_COLUMN.matcher(sql.substring(0, placeholders.get(p)));
+            if (compared.find() && SENSITIVE_COLUMN.matcher(compared.group(1)).matches()) {
+                sensitive[p] = true;
+            }
+        }
+
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            String[] columns = insert.group(1).split(",");
+            int first = 0;
+            while (first < placeholders.size() && placeholders.get(first) < insert.end()) {
+                first++;
+            }
+            for (int c = 0; c < columns.length && first + c < count; c++) {
+                if (SENSITIVE_COLUMN.matcher(columns[c]).matches()) {
+                    sensitive[first + c] = true;
+                }
+            }
+        }
+        return sensitive;
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toUpperCase();
+        return head.startsWith("SELECT") || head.startsWith("WITH") || head.startsWith("INSERT")
+                || head.startsWith("UPDATE") || head.startsWith("DELETE");
+    }
+
+    /**
+     * A plain SELECT (no data-modifying CTE, no row locks) can safely be executed again by ANALYZE
+     */
+    private static boolean isReadOnly(String sql) {
+        return sql.stripLeading().toUpperCase().startsWith("SELECT") && !ROW_LOCK.matcher(sql).matches();
+    }
+
+    /**
+     * Capture the plan with the same parameters and roll back
+     * (EXPLAIN ANALYZE for read-only statements, plain EXPLAIN otherwise)
+     */
+    private static void explain(String method, String sql, Object[] parameters) {
+        String explain = isReadOnly(sql) ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ";
+        try (Connection conn = DBConnection.getUninstrumentedConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(explain + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    pstmt.setObject(i + 1, parameters[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(System.lineSeparator()).append("    ").append(rs.getString(1));
+                    }
+                }
+                LOG.warn("{}for slow query in {}:{}", explain, method, plan);
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOG.warn("Could not capture plan for slow query in {}: {}", method, e.getMessage());
+        }
+    }
+
+    /**
+     * Per-SQL state: plan captured once, log entries rate-limited
+     */
+    private static final class Entry {
+        final AtomicLong lastLoggedAt = new AtomicLong();
+        final AtomicLong suppressed = new AtomicLong();
+        final AtomicBoolean explained = new AtomicBoolean();
+    }
+}
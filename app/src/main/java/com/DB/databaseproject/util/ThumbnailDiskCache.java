@@ -0,0 +1,454 @@
+package com.DB.databaseproject.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thumbnail Disk Cache
+ * Pre-scaled stone thumbnails kept on disk, so a restart shows them without decoding the originals
+ *
+ * Files in the cache directory:
+ * - <sha256 of the original>-<size>.thumb: header (magic, width, height) + premultiplied BGRA pixels,
+ *   read straight into a WritableImage (no image codec involved; read into a heap buffer, not
+ *   memory-mapped, so the file can be replaced or pruned right away, also on Windows)
+ * - sources.idx: append-only "path, mtime, length, sha256" lines; an original is re-hashed only
+ *   when its modification time or length no longer match
+ *
+ * Least recently read thumbnails are deleted once the directory exceeds its budget.
+ * Only classpath and file images are cached (not http(s) URLs).
+ *
+ * Directory: -Dthumbnails.dir (default cache/thumbnails); budget: -Dthumbnails.maxBytes (default 256 MB)
+ */
+public final class ThumbnailDiskCache {
+
+    private static final Log LOG = Log.get(ThumbnailDiskCache.class);
+
+    static final Path DEFAULT_DIR = Paths.get(System.getProperty("thumbnails.dir", "cache/thumbnails"));
+    static final long DEFAULT_MAX_BYTES = Long.getLong("thumbnails.maxBytes", 256L * 1024 * 1024);
+
+    private static final int MAGIC = 0x53544831; // "STH1"
+    private static final int HEADER_BYTES = 12;
+    private static final String SUFFIX = ".thumb";
+    private static final String INDEX_FILE = "sources.idx";
+    // Reads refresh a thumbnail's mtime (its LRU position) at most this often
+    private static final long TOUCH_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Decodes an original (given its bytes) to fit size x size
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        Image decode(InputStream original, int size) throws IOException;
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+
+    // Source path -> identity and content hash (loaded from sources.idx on first use)
+    private final Map<String, SourceEntry> sources = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile boolean initialized;
+    private volatile boolean disabled;
+
+    public ThumbnailDiskCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Get a thumbnail from disk, or decode the original and store the thumbnail
+     * Runs on the caller's (background) thread; never call it on the FX thread
+     * @return the thumbnail, or null if the original cannot be found or decoded
+     */
+    public Image load(String path, int size, Decoder decoder) throws IOException {
+        Source source = Source.resolve(path);
+        if (source == null) {
+            return null;
+        }
+        init();
+        if (disabled) {
+            try (InputStream in = source.open()) {
+                return decoder.decode(in, size);
+            }
+        }
+
+        // Known original, unchanged since it was hashed: no need to hash it again
+        SourceEntry known = sources.get(path);
+        String hash;
+        byte[] original = null;
+        if (known != null && known.lastModified == source.lastModified && known.length == source.length) {
+            hash = known.hash;
+        } else {
+            try (InputStream in = source.open()) {
+                original = in.readAllBytes();
+            }
+            hash = sha256(original);
+            remember(path, new SourceEntry(source.lastModified, source.length, hash));
+        }
+
+        // Also finds the same content cached under another path or an older mtime
+        Path file = thumbnailFile(hash, size);
+        Image thumbnail = read(file);
+        if (thumbnail != null) {
+            return thumbnail;
+        }
+
+        Image image;
+        if (original != null) {
+            image = decoder.decode(new ByteArrayInputStream(original), size);
+        } else {
+            // Only this size is missing: read the original just to decode it
+            try (InputStream in = source.open()) {
+                image = decoder.decode(in, size);
+            }
+        }
+        if (image != null && !image.isError()) {
+            write(file, image);
+        }
+        return image;
+    }
+
+    private Path thumbnailFile(String hash, int size) {
+        return dir.resolve(hash + "-" + size + SUFFIX);
+    }
+
+    /**
+     * Create the directory, load the source index and measure the cache (once)
+     */
+    private synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        try {
+            Files.createDirectories(dir);
+            loadIndex();
+            long total = 0;
+            for (Path file : listThumbnails()) {
+                total += Files.size(file);
+            }
+            bytes.set(total);
+            LOG.info("Thumbnail cache: {} ({} source(s), {} KB)", dir.toAbsolutePath(), sources.size(), total / 1024);
+            if (total > maxBytes) {
+                prune();
+            }
+        } catch (IOException e) {
+            LOG.warn("Thumbnail cache disabled ({}): {}", dir.toAbsolutePath(), e.getMessage());
+            disabled = true;
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        Path index = dir.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            // path \t mtime \t length \t hash (later lines replace earlier ones)
+            String[] fields = line.split("\t");
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                sources.put(fields[0], new SourceEntry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+            } catch (NumberFormatException e) {
+                LOG.debug("Skipping bad thumbnail index line: {}", line);
+            }
+        }
+
+        // Compact an index that is mostly superseded lines
+        if (lines.size() > 2 * sources.size() + 100) {
+            StringBuilder compacted = new StringBuilder();
+            sources.forEach((path, entry) -> compacted.append(entry.toLine(path)));
+            Path tmp = dir.resolve(INDEX_FILE + ".tmp");
+            Files.writeString(tmp, compacted, StandardCharsets.UTF_8);
+            move(tmp, index);
+        }
+    }
+
+    private synchronized void remember(String path, SourceEntry entry) {
+        sources.put(path, entry);
+        if (path.indexOf('\t') >= 0 || path.indexOf('\n') >= 0) {
+            return;
+        }
+        try {
+            Files.writeString(dir.resolve(INDEX_FILE), entry.toLine(path), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOG.warn("Thumbnail index not updated: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the thumbnail, or null if the file is missing or unreadable (unreadable files are deleted)
+     */
+    private Image read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("truncated header");
+            }
+
+            // Thumbnails are small (a 200 px thumbnail is 160 KB)
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("too large");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole file
+            }
+            buffer.flip();
+
+            int magic = buffer.getInt();
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (magic != MAGIC || width <= 0 || height <= 0
+                    || length != HEADER_BYTES + (long) width * height * 4) {
+                throw new IOException("bad header");
+            }
+
+            WritableImage image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height,
+                    PixelFormat.getByteBgraPreInstance(), buffer.slice(), width * 4);
+            touch(file);
+            return image;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Dropping unreadable thumbnail {}: {}", file.getFileName(), e.getMessage());
+            delete(file);
+            return null;
+        }
+    }
+
+    private void write(Path file, Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        if (width <= 0 || height <= 0 || image.getPixelReader() == null) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + width * height * 4);
+        buffer.putInt(MAGIC).putInt(width).putInt(height);
+        image.getPixelReader().getPixels(0, 0, width, height,
+                PixelFormat.getByteBgraPreInstance(), buffer.array(), HEADER_BYTES, width * 4);
+
+        // Written under a temporary name: a reader never sees a partial file
+        Path tmp = dir.resolve(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            LOG.warn("Thumbnail not stored: {}", e.getMessage());
+            delete(tmp);
+            return;
+        }
+
+        try {
+            move(tmp, file);
+        } catch (IOException e) {
+            LOG.warn("Thumbnail not stored: {}", e.getMessage());
+            delete(tmp);
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Thumbnail stored: {} ({}x{})", file.getFileName(), width, height);
+        }
+
+        if (bytes.addAndGet(buffer.capacity()) > maxBytes) {
+            prune();
+        }
+    }
+
+    /**
+     * Delete least recently read thumbnails until the cache is below 90% of its budget
+     */
+    private synchronized void prune() {
+        if (bytes.get() <= maxBytes) {
+            return;
+        }
+        try {
+            List<Path> files = listThumbnails();
+            Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+            long total = 0;
+            for (Path file : files) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                attributes.put(file, attrs);
+                total += attrs.size();
+            }
+            files.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+
+            long target = maxBytes / 10 * 9;
+            int deleted = 0;
+            for (Path file : files) {
+                if (total <= target) {
+                    break;
+                }
+                if (delete(file)) {
+                    total -= attributes.get(file).size();
+                    deleted++;
+                }
+            }
+            bytes.set(total);
+            LOG.info("Thumbnail cache pruned: {} file(s) deleted, {} KB kept", deleted, total / 1024);
+        } catch (IOException e) {
+            LOG.warn("Thumbnail cache prune failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Path> listThumbnails() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static void touch(Path file) {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - Files.getLastModifiedTime(file).toMillis() > TOUCH_INTERVAL_MS) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+            }
+        } catch (IOException e) {
+            // Only the LRU order is affected
+        }
+    }
+
+    private static boolean delete(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Identity of an original when it was hashed
+     */
+    private static final class SourceEntry {
+        final long lastModified;
+        final long length;
+        final String hash;
+
+        SourceEntry(long lastModified, long length, String hash) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        String toLine(String path) {
+            return path + "\t" + lastModified + "\t" + length + "\t" + hash + "\n";
+        }
+    }
+
+    /**
+     * An original image: classpath resource or file, with its current mtime and length
+     */
+    private static final class Source {
+        final URL resource;
+        final Path file;
+        final long lastModified;
+        final long length;
+
+        private Source(URL resource, Path file, long lastModified, long length) {
+            this.resource = resource;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        /**
+         * Same lookup order as ImageLoader: resource, "/" + resource, file
+         * @return the source, or null if the path is neither
+         */
+        static Source resolve(String path) throws IOException {
+            URL resource = ThumbnailDiskCache.class.getResource(path);
+            if (resource == null && !path.startsWith("/")) {
+                resource = ThumbnailDiskCache.class.getResource("/" + path);
+            }
+            if (resource != null && "file".equals(resource.getProtocol())) {
+                // Exploded classpath (IDE, mvn javafx:run): read the file attributes directly
+                try {
+                    return ofFile(Path.of(resource.toURI()));
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    throw new IOException("Bad resource URL: " + resource, e);
+                }
+            }
+            if (resource != null) {
+                // Reading the headers connects the URL (e.g. opens the jar entry): close what it opened
+                URLConnection connection = resource.openConnection();
+                long lastModified = connection.getLastModified();
+                long length = connection.getContentLengthLong();
+                try (InputStream ignored = connection.getInputStream()) {
+                    return new Source(resource, null, lastModified, length);
+                }
+            }
+
+            Path file = Paths.get(path);
+            return Files.isRegularFile(file) ? ofFile(file) : null;
+        }
+
+        private static Source ofFile(Path file) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Source(null, file, attrs.lastModifiedTime().toMillis(), attrs.size());
+        }
+
+        InputStream open() throws IOException {
+            return resource != null ? resource.openStream() : Files.newInputStream(file);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.DB.databaseproject.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Transaction Utility (unit of work)
+ * Runs a block of DAO calls on ONE pooled connection inside ONE transaction
+ *
+ * Usage:
+ *   int orderId = Transactions.inTx(conn -> {
+ *       int id = orderDAO.insert(conn, order, customerId, null);
+ *       orderDetailsDAO.insertBatch(conn, details);
+ *       return id;
+ *   });
+ *
+ * DAOs join the transaction through their Connection-accepting overloads.
+ * The block commits when it returns normally and rolls back when it throws.
+ * Nested inTx calls on the same thread join the outer transaction.
+ */
+public final class Transactions {
+
+    private static final Log LOG = Log.get(Transactions.class);
+
+    // Connection of the transaction currently open on this thread (for nested inTx calls)
+    private static final ThreadLocal<Connection> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Work executed inside a transaction
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Transactions() {
+    }
+
+    /**
+     * Run work in a transaction and return its result
+     *
+     * @param work DAO calls to run on the transaction connection
+     * @return value returned by the work
+     * @throws SQLException if the work fails (the transaction is rolled back)
+     */
+    public static <T> T inTx(SqlWork<T> work) throws SQLException {
+        Connection outer = CURRENT.get();
+        if (outer != null) {
+            return work.execute(outer);
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            CURRENT.set(conn);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(conn, e);
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return true if the calling thread is inside inTx
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    private static void rollbackQuietly(Connection conn, Exception cause) {
+        try {
+            conn.rollback();
+            LOG.warn("Transaction rolled back: {}", cause.getMessage());
+        } catch (SQLException rollbackEx) {
+            cause.addSuppressed(rollbackEx);
+            LOG.error("Error rolling back transaction: {}", rollbackEx.getMessage());
+        }
+    }
+}
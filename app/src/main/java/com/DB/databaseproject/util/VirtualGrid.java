@@ -0,0 +1,157 @@
+package com.DB.databaseproject.util;
+
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Virtualized grid of cards
+ * A ListView whose rows hold as many cards as fit the width; only the rows in (or next to)
+ * the viewport exist, and their cards are reused as the user scrolls
+ *
+ * Usage:
+ *   grid.setCardFactory(StoneCard::new);   // a card builds its nodes once
+ *   grid.setGridItems(stones);             // cards on screen are updated in place
+ *
+ * - Layout cost depends on the viewport size, not on the number of items
+ * - Resizing re-splits the items into rows of the new column count
+ *
+ * Usable from FXML: <VirtualGrid fx:id="..." cardWidth="220" hgap="20" vgap="20"/>
+ */
+public class VirtualGrid<T> extends ListView<List<T>> {
+
+    /**
+     * A reusable card: its nodes are created once and show() fills them for an item
+     */
+    public interface Card<T> {
+        Node getNode();
+
+        void show(T item);
+    }
+
+    // Width reserved for the vertical scroll bar when computing the column count
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+
+    private Supplier<? extends Card<T>> cardFactory;
+    private List<T> gridItems = List.of();
+    private double cardWidth = 220;
+    private double hgap = 20;
+    private double vgap = 20;
+    private int columns = 1;
+
+    public VirtualGrid() {
+        getStyleClass().add("virtual-grid");
+        setFocusTraversable(false);
+        setCellFactory(list -> new RowCell());
+        widthProperty().addListener((obs, oldWidth, newWidth) -> updateColumns());
+    }
+
+    public void setCardFactory(Supplier<? extends Card<T>> cardFactory) {
+        this.cardFactory = cardFactory;
+        refresh();
+    }
+
+    /**
+     * Show these items (the list is copied)
+     */
+    public void setGridItems(List<? extends T> items) {
+        gridItems = new ArrayList<>(items);
+        rebuildRows();
+    }
+
+    public List<T> getGridItems() {
+        return gridItems;
+    }
+
+    public double getCardWidth() {
+        return cardWidth;
+    }
+
+    public void setCardWidth(double cardWidth) {
+        this.cardWidth = cardWidth;
+        updateColumns();
+    }
+
+    public double getHgap() {
+        return hgap;
+    }
+
+    public void setHgap(double hgap) {
+        this.hgap = hgap;
+        updateColumns();
+        refresh();
+    }
+
+    public double getVgap() {
+        return vgap;
+    }
+
+    public void setVgap(double vgap) {
+        this.vgap = vgap;
+        refresh();
+    }
+
+    private void updateColumns() {
+        double available = getWidth() - snappedLeftInset() - snappedRightInset() - SCROLL_BAR_ALLOWANCE;
+        int fitting = Math.max(1, (int) ((available + hgap) / (cardWidth + hgap)));
+        if (fitting != columns) {
+            columns = fitting;
+            rebuildRows();
+        }
+    }
+
+    /**
+     * Split the items into rows of the current column count (no nodes are created here)
+     */
+    private void rebuildRows() {
+        List<List<T>> rows = new ArrayList<>((gridItems.size() + columns - 1) / columns);
+        for (int start = 0; start < gridItems.size(); start += columns) {
+            rows.add(gridItems.subList(start, Math.min(start + columns, gridItems.size())));
+        }
+        getItems().setAll(rows);
+    }
+
+    /**
+     * One row of cards; keeps its cards when it is reused for another row
+     */
+    private final class RowCell extends ListCell<List<T>> {
+        private final HBox row = new HBox(hgap);
+        private final List<Card<T>> cards = new ArrayList<>();
+
+        RowCell() {
+            // Gaps are fixed per cell; changing them calls refresh(), which recreates the cells
+            setPadding(new Insets(0, 0, vgap, 0));
+        }
+
+        @Override
+        protected void updateItem(List<T> rowItems, boolean empty) {
+            super.updateItem(rowItems, empty);
+            setText(null);
+            if (empty || rowItems == null || cardFactory == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (cards.size() < rowItems.size()) {
+                cards.add(cardFactory.get());
+            }
+            if (row.getChildren().size() != rowItems.size()) {
+                List<Node> nodes = new ArrayList<>(rowItems.size());
+                for (int i = 0; i < rowItems.size(); i++) {
+                    nodes.add(cards.get(i).getNode());
+                }
+                row.getChildren().setAll(nodes);
+            }
+            for (int i = 0; i < rowItems.size(); i++) {
+                cards.get(i).show(rowItems.get(i));
+            }
+            setGraphic(row);
+        }
+    }
+}